@@ -15,136 +15,54 @@
  */
 package io.github.smart.cloud.starter.rate.limit;
 
-import io.github.smart.cloud.constants.SymbolConstant;
-import io.github.smart.cloud.starter.core.util.ReflectionUtil;
-import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
-import io.github.smart.cloud.starter.rate.limit.properties.RateLimitProperties;
-import io.github.smart.cloud.starter.rate.limit.util.RateLimitUtil;
+import io.github.smart.cloud.starter.rate.limit.limiter.KeyedLimiter;
+import io.github.smart.cloud.starter.rate.limit.limiter.Limiter;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.InitializingBean;
-import org.springframework.util.CollectionUtils;
 
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
-import java.util.stream.Collectors;
 
 /**
  * 信号量限流实例工厂
  *
+ * <p>限流器由{@link RateLimiterRegistry}统一维护，配置刷新（{@link org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent}）时由注册表原地调整；本工厂只负责查询</p>
+ *
  * @author collin
  * @date 2024-02-28
  */
-@Slf4j
 @RequiredArgsConstructor
-public class RateLimitInstanceFactory implements InitializingBean {
-
-    private final RateLimitProperties rateLimitProperties;
-    private static final Map<String, Semaphore> RATE_LIMIT_INSTANCES = new ConcurrentHashMap<>(4);
+public class RateLimitInstanceFactory {
 
-    @Override
-    public void afterPropertiesSet() throws Exception {
-        initRateLimitBeans();
-    }
-
-    public Semaphore get(String name) {
-        return RATE_LIMIT_INSTANCES.get(name);
-    }
+    private final RateLimiterRegistry rateLimiterRegistry;
 
     /**
-     * 初始化限流bean实例
+     * 获取并发数限流的信号量
+     *
+     * @param name
+     * @return 不存在或不是并发数限流时返回null
      */
-    private void initRateLimitBeans() {
-        Map<String, Integer> rateLimitConfig = new HashMap<>(4);
-
-        // 注解限流
-        Set<Method> methods = ReflectionUtil.getMethodsAnnotatedWith(RateLimiter.class);
-        if (!CollectionUtils.isEmpty(methods)) {
-            methods.forEach(method -> {
-                RateLimiter rateLimiter = method.getAnnotation(RateLimiter.class);
-                rateLimitConfig.put(RateLimitUtil.getSemaphoreBeanName(method), rateLimiter.permits());
-            });
-        }
-
-        // 配置限流
-        Map<String, Integer> config = rateLimitProperties.getConfig();
-        if (!CollectionUtils.isEmpty(config)) {
-            removeInvalidRateLimitRule(config);
-            if (!CollectionUtils.isEmpty(config)) {
-                rateLimitConfig.putAll(config);
-            }
-        }
-
-        if (CollectionUtils.isEmpty(rateLimitConfig)) {
-            log.warn("rate limit config is empty.");
-            return;
-        }
-
-        // 移除待删除掉的
-        Set<String> oldNames = RATE_LIMIT_INSTANCES.keySet();
-        Set<String> needRemoveBeanNames = oldNames.stream().filter(name -> !rateLimitConfig.containsKey(name)).collect(Collectors.toSet());
-        if (!CollectionUtils.isEmpty(needRemoveBeanNames)) {
-            needRemoveBeanNames.forEach(RATE_LIMIT_INSTANCES::remove);
-        }
-
-        // 添加/更新新的
-        log.info("---->refresh ratelimit rule start");
-        rateLimitConfig.forEach((name, permits) -> RATE_LIMIT_INSTANCES.put(name, new Semaphore(permits)));
-        log.info("---->refresh ratelimit rule end");
+    public Semaphore get(String name) {
+        Limiter limiter = rateLimiterRegistry.getLimiter(name);
+        return limiter instanceof Semaphore ? (Semaphore) limiter : null;
     }
 
     /**
-     * 移除配置无效的限流规则
+     * 获取限流器
      *
-     * @param rateLimitConfig
+     * @param name
+     * @return
      */
-    private void removeInvalidRateLimitRule(Map<String, Integer> rateLimitConfig) {
-        Set<String> rateLimitBeanNames = rateLimitConfig.keySet();
-        for (String rateLimitBeanName : rateLimitBeanNames) {
-            int lastDotIndex = rateLimitBeanName.lastIndexOf(SymbolConstant.DOT);
-            if (lastDotIndex == -1) {
-                log.warn("The format of bean name[{}] is error", rateLimitBeanName);
-                rateLimitConfig.remove(rateLimitBeanName);
-                continue;
-            }
-
-            String className = rateLimitBeanName.substring(0, lastDotIndex);
-            Class<?> c = null;
-            try {
-                c = Class.forName(className, false, RateLimitInstanceFactory.class.getClassLoader());
-            } catch (ClassNotFoundException e) {
-                log.warn("The class of bean name[{}] is not found", rateLimitBeanName);
-                rateLimitConfig.remove(rateLimitBeanName);
-                continue;
-            }
-
-            Method[] methods = c.getMethods();
-            String methodName = rateLimitBeanName.substring(lastDotIndex + 1);
-            if (!existMatchMethod(methods, methodName)) {
-                log.warn("The method of bean name[{}] is not found", rateLimitBeanName);
-                rateLimitConfig.remove(rateLimitBeanName);
-            }
-        }
+    public Limiter getLimiter(String name) {
+        return rateLimiterRegistry.getLimiter(name);
     }
 
     /**
-     * 是否存在有匹配的方法
+     * 获取按调用方区分的限流器
      *
-     * @param methods
-     * @param methodName
-     * @return
+     * @param name
+     * @return 不存在或未配置key时返回null
      */
-    private boolean existMatchMethod(Method[] methods, String methodName) {
-        for (Method method : methods) {
-            if (methodName.equals(method.getName())) {
-                return true;
-            }
-        }
-        return false;
+    public KeyedLimiter getKeyedLimiter(String name) {
+        return rateLimiterRegistry.getKeyedLimiter(name);
     }
 
 }
\ No newline at end of file
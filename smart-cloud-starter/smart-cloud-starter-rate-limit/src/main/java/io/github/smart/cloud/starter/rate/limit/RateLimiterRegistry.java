@@ -0,0 +1,480 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit;
+
+import io.github.smart.cloud.constants.SymbolConstant;
+import io.github.smart.cloud.starter.core.util.ReflectionUtil;
+import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
+import io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode;
+import io.github.smart.cloud.starter.rate.limit.limiter.*;
+import io.github.smart.cloud.starter.rate.limit.metrics.RateLimitMetricsRecorder;
+import io.github.smart.cloud.starter.rate.limit.properties.RateLimitProperties;
+import io.github.smart.cloud.starter.rate.limit.properties.RateLimitRule;
+import io.github.smart.cloud.starter.rate.limit.util.RateLimitUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.CollectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 限流器注册表
+ *
+ * <p>拦截器按{@link Method}查表获取限流器，每个方法只在首次调用时解析一次，之后不再拼接名称；
+ * 配置刷新时生成新表，规则未变的限流器原样保留，并发数限流、自适应限流在原实例上调整上限，已占用的许可不丢失</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class RateLimiterRegistry implements InitializingBean, ApplicationListener<RefreshScopeRefreshedEvent> {
+
+    /**
+     * 集群限流默认租借比例（permits的1/10）
+     */
+    private static final int DEFAULT_LEASE_DIVISOR = 10;
+    /**
+     * 自适应限流默认最大并发上限（permits的10倍）
+     */
+    private static final int DEFAULT_MAX_LIMIT_MULTIPLE = 10;
+
+    private final RateLimitProperties rateLimitProperties;
+    /**
+     * 集群限流使用的redis令牌桶（未引入redis时为null）
+     */
+    private final RedisTokenBucket redisTokenBucket;
+    private final RateLimitMetricsRecorder rateLimitMetricsRecorder;
+    /**
+     * 加了{@link RateLimiter}注解的方法（只扫描一次）
+     */
+    private Set<Method> annotatedMethods;
+    private volatile LimiterTable table = new LimiterTable(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    public RateLimiterRegistry(RateLimitProperties rateLimitProperties, RedisTokenBucket redisTokenBucket,
+                               RateLimitMetricsRecorder rateLimitMetricsRecorder) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.redisTokenBucket = redisTokenBucket;
+        this.rateLimitMetricsRecorder = rateLimitMetricsRecorder;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshScopeRefreshedEvent event) {
+        refresh();
+    }
+
+    /**
+     * 获取方法对应的限流器
+     *
+     * @param method
+     * @return 未配置限流时返回{@link MethodLimiter#NONE}
+     */
+    public MethodLimiter getMethodLimiter(Method method) {
+        return table.getMethodLimiter(method);
+    }
+
+    /**
+     * 获取限流器
+     *
+     * @param name
+     * @return
+     */
+    public Limiter getLimiter(String name) {
+        return table.limiters.get(name);
+    }
+
+    /**
+     * 获取按调用方区分的限流器
+     *
+     * @param name
+     * @return 不存在或未配置key时返回null
+     */
+    public KeyedLimiter getKeyedLimiter(String name) {
+        return table.keyedLimiters.get(name);
+    }
+
+    /**
+     * 按最新配置刷新限流器
+     */
+    public synchronized void refresh() {
+        Map<String, RateLimitRule> rateLimitConfig = loadRules();
+        if (CollectionUtils.isEmpty(rateLimitConfig)) {
+            log.warn("rate limit config is empty.");
+        }
+
+        log.info("---->refresh ratelimit rule start");
+        LimiterTable oldTable = table;
+        Map<String, Limiter> limiters = new HashMap<>(rateLimitConfig.size());
+        Map<String, KeyedLimiter> keyedLimiters = new HashMap<>(4);
+        Map<String, RateLimitRule> resizedKeyedRules = new HashMap<>(4);
+        rateLimitConfig.forEach((name, rule) -> {
+            RateLimitRule oldRule = oldTable.rules.get(name);
+            if (StringUtils.isNotBlank(rule.getKey())) {
+                KeyedLimiter oldKeyedLimiter = oldTable.keyedLimiters.get(name);
+                if (oldKeyedLimiter != null && isSameKeyedLimiter(oldRule, rule)) {
+                    keyedLimiters.put(name, oldKeyedLimiter);
+                    if (!rule.equals(oldRule)) {
+                        resizedKeyedRules.put(name, rule);
+                    }
+                } else {
+                    // 新的key读取最新规则创建限流器
+                    keyedLimiters.put(name, new KeyedLimiter(rule.getKey(), rule.getMaxKeys(), rule.getKeyExpireMillis(),
+                            key -> createLimiter(name + SymbolConstant.COLON + key, getRule(name, rule))));
+                }
+                return;
+            }
+
+            limiters.put(name, updateLimiter(name, oldRule, oldTable.limiters.get(name), rule));
+            if (rule.getMode() == RateLimitMode.ADAPTIVE) {
+                rateLimitMetricsRecorder.bindAdaptiveLimit(name, () -> getAdaptiveLimit(name));
+            }
+        });
+        table = new LimiterTable(rateLimitConfig, limiters, keyedLimiters);
+
+        // 新表生效后（新的key已按新规则创建），再调整已有key的限流器，保留其已占用的许可
+        resizedKeyedRules.forEach((name, rule) -> keyedLimiters.get(name).update(limiter -> resize(limiter, rule)));
+        log.info("---->refresh ratelimit rule end");
+    }
+
+    /**
+     * 获取当前生效的规则
+     *
+     * @param name
+     * @param defaultRule 不存在时返回的规则
+     * @return
+     */
+    private RateLimitRule getRule(String name, RateLimitRule defaultRule) {
+        RateLimitRule rule = table.rules.get(name);
+        return rule != null ? rule : defaultRule;
+    }
+
+    /**
+     * 规则变化后是否可以沿用原来的按调用方限流器（key、模式、容量、过期时间均未变化）
+     *
+     * @param oldRule
+     * @param rule
+     * @return
+     */
+    private static boolean isSameKeyedLimiter(RateLimitRule oldRule, RateLimitRule rule) {
+        return oldRule != null
+                && Objects.equals(oldRule.getKey(), rule.getKey())
+                && oldRule.getMode() == rule.getMode()
+                && oldRule.getMaxKeys() == rule.getMaxKeys()
+                && oldRule.getKeyExpireMillis() == rule.getKeyExpireMillis();
+    }
+
+    /**
+     * 合并注解、配置中的限流规则
+     *
+     * @return
+     */
+    private Map<String, RateLimitRule> loadRules() {
+        Map<String, RateLimitRule> rateLimitConfig = new HashMap<>(4);
+
+        // 注解限流
+        if (annotatedMethods == null) {
+            annotatedMethods = ReflectionUtil.getMethodsAnnotatedWith(RateLimiter.class);
+        }
+        if (!CollectionUtils.isEmpty(annotatedMethods)) {
+            annotatedMethods.forEach(method -> {
+                RateLimiter rateLimiter = method.getAnnotation(RateLimiter.class);
+                RateLimitRule rule = new RateLimitRule();
+                rule.setMode(rateLimiter.mode());
+                rule.setPermits(rateLimiter.permits());
+                rule.setBurst(rateLimiter.burst());
+                rule.setWarmupMillis(rateLimiter.warmupMillis());
+                rule.setLeaseSize(rateLimiter.leaseSize());
+                rule.setExpectedNodes(rateLimiter.expectedNodes());
+                rule.setKey(rateLimiter.key());
+                rule.setMinLimit(rateLimiter.minLimit());
+                rule.setMaxLimit(rateLimiter.maxLimit());
+                String name = RateLimitUtil.getSemaphoreBeanName(method);
+                if (isValidPermits(name, rule.getMode(), rule.getPermits())) {
+                    rateLimitConfig.put(name, rule);
+                }
+            });
+        }
+
+        // 配置限流（只覆盖限流大小，限流模式沿用注解）
+        Map<String, Integer> config = rateLimitProperties.getConfig();
+        if (!CollectionUtils.isEmpty(config)) {
+            removeInvalidRateLimitRule(config);
+            config.forEach((name, permits) -> {
+                RateLimitRule rule = rateLimitConfig.get(name);
+                // 无效的覆盖值忽略，沿用注解中的规则
+                if (rule != null && !isValidPermits(name, rule.getMode(), permits)) {
+                    return;
+                }
+                rateLimitConfig.computeIfAbsent(name, key -> new RateLimitRule()).setPermits(permits);
+            });
+        }
+
+        // 配置限流规则（整体覆盖）
+        Map<String, RateLimitRule> rules = rateLimitProperties.getRules();
+        if (!CollectionUtils.isEmpty(rules)) {
+            removeInvalidRateLimitRule(rules);
+            // 复制一份，避免配置对象被原地修改后与上次的规则无法比较
+            rules.forEach((name, rule) -> {
+                RateLimitRule copy = new RateLimitRule();
+                BeanUtils.copyProperties(rule, copy);
+                rateLimitConfig.put(name, copy);
+            });
+        }
+        return rateLimitConfig;
+    }
+
+    /**
+     * 规则变化时尽量在原限流器上调整，保留已占用的许可
+     *
+     * @param name
+     * @param oldRule
+     * @param oldLimiter
+     * @param rule
+     * @return
+     */
+    private Limiter updateLimiter(String name, RateLimitRule oldRule, Limiter oldLimiter, RateLimitRule rule) {
+        if (oldLimiter == null || oldRule == null) {
+            return createLimiter(name, rule);
+        }
+        if (rule.equals(oldRule)) {
+            return oldLimiter;
+        }
+
+        if (oldRule.getMode() == rule.getMode() && StringUtils.isBlank(oldRule.getKey()) && resize(oldLimiter, rule)) {
+            return oldLimiter;
+        }
+        return createLimiter(name, rule);
+    }
+
+    /**
+     * 按新规则在原限流器上调整上限
+     *
+     * @param limiter
+     * @param rule    与原规则模式相同
+     * @return 是否支持原地调整
+     */
+    private boolean resize(Limiter limiter, RateLimitRule rule) {
+        if (limiter instanceof SemaphoreLimiter) {
+            ((SemaphoreLimiter) limiter).resize(rule.getPermits());
+            return true;
+        }
+        if (limiter instanceof AdaptiveLimiter) {
+            ((AdaptiveLimiter) limiter).resize(rule.getMinLimit(), getMaxLimit(rule));
+            return true;
+        }
+        // 速率限流原地调整，保留令牌桶状态，避免新建后立即放行一次突发流量、丢弃已租借的令牌
+        if (limiter instanceof TokenBucketLimiter) {
+            ((TokenBucketLimiter) limiter).resize(rule.getPermits(), getBurst(rule), rule.getWarmupMillis());
+            return true;
+        }
+        if (limiter instanceof RedisLeasedLimiter) {
+            ((RedisLeasedLimiter) limiter).resize(rule.getPermits(), getBurst(rule), getLeaseSize(rule), rule.getExpectedNodes());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 根据限流规则创建限流器
+     *
+     * @param name
+     * @param rule
+     * @return
+     */
+    private Limiter createLimiter(String name, RateLimitRule rule) {
+        int burst = getBurst(rule);
+        if (rule.getMode() == RateLimitMode.DISTRIBUTED) {
+            if (redisTokenBucket != null) {
+                return new RedisLeasedLimiter(redisTokenBucket, name, rule.getPermits(), burst, getLeaseSize(rule), rule.getExpectedNodes());
+            }
+            log.warn("redis is not available, rate limit[{}] degrade to local rate mode", name);
+            return new TokenBucketLimiter(rule.getPermits(), burst, rule.getWarmupMillis());
+        }
+        if (rule.getMode() == RateLimitMode.RATE) {
+            return new TokenBucketLimiter(rule.getPermits(), burst, rule.getWarmupMillis());
+        }
+        if (rule.getMode() == RateLimitMode.ADAPTIVE) {
+            return new AdaptiveLimiter(rule.getPermits(), rule.getMinLimit(), getMaxLimit(rule));
+        }
+        return new SemaphoreLimiter(rule.getPermits());
+    }
+
+    /**
+     * 速率限流最多允许同时通过的请求数
+     *
+     * @param rule
+     * @return
+     */
+    private static int getBurst(RateLimitRule rule) {
+        return rule.getBurst() > 0 ? rule.getBurst() : rule.getPermits();
+    }
+
+    /**
+     * 集群限流每次租借的令牌数
+     *
+     * @param rule
+     * @return
+     */
+    private static int getLeaseSize(RateLimitRule rule) {
+        return rule.getLeaseSize() > 0 ? rule.getLeaseSize() : rule.getPermits() / DEFAULT_LEASE_DIVISOR;
+    }
+
+    /**
+     * 自适应限流的最大并发上限
+     *
+     * @param rule
+     * @return
+     */
+    private static int getMaxLimit(RateLimitRule rule) {
+        return rule.getMaxLimit() > 0 ? rule.getMaxLimit() : rule.getPermits() * DEFAULT_MAX_LIMIT_MULTIPLE;
+    }
+
+    /**
+     * 获取自适应限流的当前并发上限
+     *
+     * @param name
+     * @return 不存在或不是自适应限流时返回NaN
+     */
+    private Number getAdaptiveLimit(String name) {
+        Limiter limiter = getLimiter(name);
+        return limiter instanceof AdaptiveLimiter ? ((AdaptiveLimiter) limiter).getLimit() : Double.NaN;
+    }
+
+    /**
+     * 移除配置无效的限流规则
+     *
+     * @param rateLimitConfig
+     */
+    private void removeInvalidRateLimitRule(Map<String, ?> rateLimitConfig) {
+        Set<String> rateLimitBeanNames = new HashSet<>(rateLimitConfig.keySet());
+        for (String rateLimitBeanName : rateLimitBeanNames) {
+            Object value = rateLimitConfig.get(rateLimitBeanName);
+            if (value instanceof RateLimitRule) {
+                RateLimitRule rule = (RateLimitRule) value;
+                if (!isValidPermits(rateLimitBeanName, rule.getMode(), rule.getPermits())) {
+                    rateLimitConfig.remove(rateLimitBeanName);
+                    continue;
+                }
+            }
+
+            int lastDotIndex = rateLimitBeanName.lastIndexOf(SymbolConstant.DOT);
+            if (lastDotIndex == -1) {
+                log.warn("The format of bean name[{}] is error", rateLimitBeanName);
+                rateLimitConfig.remove(rateLimitBeanName);
+                continue;
+            }
+
+            String className = rateLimitBeanName.substring(0, lastDotIndex);
+            Class<?> c = null;
+            try {
+                c = Class.forName(className, false, RateLimiterRegistry.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                log.warn("The class of bean name[{}] is not found", rateLimitBeanName);
+                rateLimitConfig.remove(rateLimitBeanName);
+                continue;
+            }
+
+            Method[] methods = c.getMethods();
+            String methodName = rateLimitBeanName.substring(lastDotIndex + 1);
+            if (!existMatchMethod(methods, methodName)) {
+                log.warn("The method of bean name[{}] is not found", rateLimitBeanName);
+                rateLimitConfig.remove(rateLimitBeanName);
+            }
+        }
+    }
+
+    /**
+     * 按速率限流时permits必须大于0
+     *
+     * @param rateLimitBeanName
+     * @param mode
+     * @param permits
+     * @return
+     */
+    private boolean isValidPermits(String rateLimitBeanName, RateLimitMode mode, int permits) {
+        if ((mode == RateLimitMode.RATE || mode == RateLimitMode.DISTRIBUTED) && permits <= 0) {
+            log.warn("The permits[{}] of bean name[{}] must be greater than 0 in {} mode", permits, rateLimitBeanName, mode);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 是否存在有匹配的方法
+     *
+     * @param methods
+     * @param methodName
+     * @return
+     */
+    private boolean existMatchMethod(Method[] methods, String methodName) {
+        for (Method method : methods) {
+            if (methodName.equals(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 某次刷新后生效的限流器；方法解析结果缓存在表内，刷新时随新表一起重建
+     */
+    private static class LimiterTable {
+
+        private final Map<String, RateLimitRule> rules;
+        private final Map<String, Limiter> limiters;
+        private final Map<String, KeyedLimiter> keyedLimiters;
+        private final Map<Method, MethodLimiter> methodLimiters = new ConcurrentHashMap<>();
+
+        LimiterTable(Map<String, RateLimitRule> rules, Map<String, Limiter> limiters, Map<String, KeyedLimiter> keyedLimiters) {
+            this.rules = rules;
+            this.limiters = limiters;
+            this.keyedLimiters = keyedLimiters;
+        }
+
+        MethodLimiter getMethodLimiter(Method method) {
+            MethodLimiter methodLimiter = methodLimiters.get(method);
+            if (methodLimiter == null) {
+                methodLimiter = methodLimiters.computeIfAbsent(method, this::resolve);
+            }
+            return methodLimiter;
+        }
+
+        private MethodLimiter resolve(Method method) {
+            String name = RateLimitUtil.getSemaphoreBeanName(method);
+            Limiter limiter = limiters.get(name);
+            KeyedLimiter keyedLimiter = keyedLimiters.get(name);
+            if (limiter == null && keyedLimiter == null) {
+                return MethodLimiter.NONE;
+            }
+
+            RateLimiter rateLimiter = method.getAnnotation(RateLimiter.class);
+            String message = rateLimiter != null && StringUtils.isNotBlank(rateLimiter.message()) ? rateLimiter.message() : null;
+            return new MethodLimiter(limiter, keyedLimiter, message);
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 package io.github.smart.cloud.starter.rate.limit.annotation;
 
 import io.github.smart.cloud.constants.CommonReturnCodes;
+import io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode;
 
 import java.lang.annotation.*;
 
@@ -31,12 +32,73 @@ import java.lang.annotation.*;
 public @interface RateLimiter {
 
     /**
-     * 信号量限流大小
+     * 限流大小：并发数（{@link RateLimitMode#CONCURRENCY}）、每秒请求数（{@link RateLimitMode#RATE}、{@link RateLimitMode#DISTRIBUTED}）
+     * 或初始并发上限（{@link RateLimitMode#ADAPTIVE}）
      *
      * @return
      */
     int permits();
 
+    /**
+     * 限流模式
+     *
+     * @return
+     */
+    RateLimitMode mode() default RateLimitMode.CONCURRENCY;
+
+    /**
+     * 最多允许同时通过的请求数（{@link RateLimitMode#RATE}、{@link RateLimitMode#DISTRIBUTED}，0表示与permits相同）
+     *
+     * @return
+     */
+    int burst() default 0;
+
+    /**
+     * 预热时间（{@link RateLimitMode#RATE}，毫秒）：启动或长时间空闲后，速率从permits/3逐渐增加到permits
+     *
+     * @return
+     */
+    long warmupMillis() default 0;
+
+    /**
+     * 每个节点一次从redis租借的令牌数（{@link RateLimitMode#DISTRIBUTED}，0表示permits的1/10）：越大访问redis越少，但节点间分配越不均匀
+     *
+     * @return
+     */
+    int leaseSize() default 0;
+
+    /**
+     * 集群节点数（{@link RateLimitMode#DISTRIBUTED}）：redis不可用时每个节点按permits、burst的1/expectedNodes单机限流
+     *
+     * @return
+     */
+    int expectedNodes() default 1;
+
+    /**
+     * 最小并发上限（{@link RateLimitMode#ADAPTIVE}）
+     *
+     * @return
+     */
+    int minLimit() default 1;
+
+    /**
+     * 最大并发上限（{@link RateLimitMode#ADAPTIVE}，0表示permits的10倍）
+     *
+     * @return
+     */
+    int maxLimit() default 0;
+
+    /**
+     * 调用方key的SpEL表达式，每个key各自限流（为空表示整个方法共用一个限流器），如：
+     * <ul>
+     *     <li>{@code #userId}、{@code #req.tenantId}：方法参数</li>
+     *     <li>{@code T(io.github.smart.cloud.common.web.util.WebUtil).getRealIp()}：客户端ip</li>
+     * </ul>
+     *
+     * @return
+     */
+    String key() default "";
+
     /**
      * 限流触发时的提示信息
      *
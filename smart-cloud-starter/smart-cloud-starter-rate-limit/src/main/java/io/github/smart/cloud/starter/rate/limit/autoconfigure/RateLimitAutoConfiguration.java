@@ -16,18 +16,28 @@
 package io.github.smart.cloud.starter.rate.limit.autoconfigure;
 
 import io.github.smart.cloud.starter.rate.limit.RateLimitInstanceFactory;
+import io.github.smart.cloud.starter.rate.limit.RateLimiterRegistry;
 import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
 import io.github.smart.cloud.starter.rate.limit.intercept.RateLimitInterceptor;
+import io.github.smart.cloud.starter.rate.limit.limiter.RedisTokenBucket;
+import io.github.smart.cloud.starter.rate.limit.metrics.MicrometerRateLimitMetricsRecorder;
+import io.github.smart.cloud.starter.rate.limit.metrics.RateLimitMetricsRecorder;
 import io.github.smart.cloud.starter.rate.limit.pointcut.RateLimitPointCut;
 import io.github.smart.cloud.starter.rate.limit.properties.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.support.DefaultBeanFactoryPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * 限流拦截器配置
@@ -37,6 +47,8 @@ import org.springframework.context.annotation.Configuration;
  * @see {@link RateLimiter}
  */
 @Configuration
+@AutoConfigureAfter(name = {"org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
 public class RateLimitAutoConfiguration {
 
     @Bean
@@ -47,21 +59,28 @@ public class RateLimitAutoConfiguration {
     }
 
     @Bean
-    @RefreshScope
-    public RateLimitInstanceFactory rateLimitInstanceFactory(final RateLimitProperties rateLimitProperties) {
-        return new RateLimitInstanceFactory(rateLimitProperties);
+    public RateLimiterRegistry rateLimiterRegistry(final RateLimitProperties rateLimitProperties,
+                                                   final ObjectProvider<RedisTokenBucket> redisTokenBucket,
+                                                   final ObjectProvider<RateLimitMetricsRecorder> rateLimitMetricsRecorder) {
+        return new RateLimiterRegistry(rateLimitProperties, redisTokenBucket.getIfAvailable(),
+                rateLimitMetricsRecorder.getIfAvailable(() -> RateLimitMetricsRecorder.NOOP));
+    }
+
+    @Bean
+    public RateLimitInstanceFactory rateLimitInstanceFactory(final RateLimiterRegistry rateLimiterRegistry) {
+        return new RateLimitInstanceFactory(rateLimiterRegistry);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public RateLimitInterceptor rateLimitInterceptor(final RateLimitInstanceFactory rateLimitInstanceFactory) {
-        return new RateLimitInterceptor(rateLimitInstanceFactory);
+    public RateLimitInterceptor rateLimitInterceptor(final RateLimiterRegistry rateLimiterRegistry) {
+        return new RateLimitInterceptor(rateLimiterRegistry);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public RateLimitPointCut rateLimitPointcut(final RateLimitProperties rateLimitProperties) {
-        return new RateLimitPointCut(rateLimitProperties);
+    public RateLimitPointCut rateLimitPointcut() {
+        return new RateLimitPointCut();
     }
 
     @Bean
@@ -73,4 +92,36 @@ public class RateLimitAutoConfiguration {
         return rateLimitAdvisor;
     }
 
+    /**
+     * 集群限流（{@link io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode#DISTRIBUTED}）配置
+     */
+    @Configuration
+    @ConditionalOnClass(StringRedisTemplate.class)
+    static class RedisRateLimitConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(StringRedisTemplate.class)
+        public RedisTokenBucket redisTokenBucket(final StringRedisTemplate stringRedisTemplate, final RateLimitProperties rateLimitProperties) {
+            return new RedisTokenBucket(stringRedisTemplate, rateLimitProperties.getLeaseTimeoutMillis());
+        }
+
+    }
+
+    /**
+     * 限流指标配置
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    static class RateLimitMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(MeterRegistry.class)
+        public RateLimitMetricsRecorder rateLimitMetricsRecorder(final MeterRegistry meterRegistry) {
+            return new MicrometerRateLimitMetricsRecorder(meterRegistry);
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.enums;
+
+/**
+ * 限流模式
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public enum RateLimitMode {
+
+    /**
+     * 并发数限流：同时执行的请求数不超过permits
+     */
+    CONCURRENCY,
+    /**
+     * 速率限流（令牌桶）：每秒通过的请求数不超过permits
+     */
+    RATE,
+    /**
+     * 集群速率限流（redis令牌桶）：所有节点每秒通过的请求数之和不超过permits，需引入spring-data-redis
+     */
+    DISTRIBUTED,
+    /**
+     * 自适应并发数限流：以permits为初始并发上限，根据请求耗时在[minLimit, maxLimit]内自动调整
+     */
+    ADAPTIVE
+
+}
@@ -16,16 +16,14 @@
 package io.github.smart.cloud.starter.rate.limit.intercept;
 
 import io.github.smart.cloud.exception.AccessFrequentlyException;
-import io.github.smart.cloud.starter.rate.limit.RateLimitInstanceFactory;
-import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
-import io.github.smart.cloud.starter.rate.limit.util.RateLimitUtil;
+import io.github.smart.cloud.starter.rate.limit.RateLimiterRegistry;
+import io.github.smart.cloud.starter.rate.limit.limiter.Limiter;
+import io.github.smart.cloud.starter.rate.limit.limiter.MethodLimiter;
 import lombok.RequiredArgsConstructor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
-import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Method;
-import java.util.concurrent.Semaphore;
 
 /**
  * 限流拦截器
@@ -36,33 +34,34 @@ import java.util.concurrent.Semaphore;
 @RequiredArgsConstructor
 public class RateLimitInterceptor implements MethodInterceptor {
 
-    private final RateLimitInstanceFactory rateLimitInstanceFactory;
+    private final RateLimiterRegistry rateLimiterRegistry;
 
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
         Method method = invocation.getMethod();
-        String rateLimitBeanName = RateLimitUtil.getSemaphoreBeanName(method);
-        Semaphore semaphore = rateLimitInstanceFactory.get(rateLimitBeanName);
-        if (semaphore == null) {
+        MethodLimiter methodLimiter = rateLimiterRegistry.getMethodLimiter(method);
+        if (methodLimiter == MethodLimiter.NONE) {
             return invocation.proceed();
         }
 
+        Limiter limiter = methodLimiter.getLimiter(method, invocation.getArguments());
         boolean isAcquire = false;
+        long startNanos = 0;
         try {
-            isAcquire = semaphore.tryAcquire();
+            isAcquire = limiter.tryAcquire();
             if (!isAcquire) {
-                RateLimiter rateLimiter = method.getAnnotation(RateLimiter.class);
-                if (rateLimiter != null && StringUtils.isNotBlank(rateLimiter.message())) {
-                    throw new AccessFrequentlyException(rateLimiter.message());
+                if (methodLimiter.getMessage() != null) {
+                    throw new AccessFrequentlyException(methodLimiter.getMessage());
                 } else {
                     throw new AccessFrequentlyException();
                 }
             }
 
+            startNanos = System.nanoTime();
             return invocation.proceed();
         } finally {
             if (isAcquire) {
-                semaphore.release();
+                limiter.release(System.nanoTime() - startNanos);
             }
         }
     }
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自适应并发数限流器（参考Netflix concurrency-limits的Gradient2）
+ *
+ * <p>根据请求耗时（RTT）动态调整并发上限：每完成约一轮（当前上限个）请求，用这一轮的平均RTT（短期）
+ * 与长期RTT（指数移动平均）比较，短期RTT没有明显上升时逐步放大上限，上升时按比例缩小上限，提前拒绝请求，避免排队</p>
+ *
+ * <ul>
+ *     <li>梯度 = 容忍倍数 × 长期RTT / 短期RTT，取值[0.5, 1]，即每轮最多缩小一半</li>
+ *     <li>新上限 = 当前上限 × 梯度 + sqrt(当前上限)，并与当前上限做平滑，结果限制在[minLimit, maxLimit]</li>
+ *     <li>实际并发不到上限一半时不放大上限，避免空闲时上限无限增长</li>
+ *     <li>负载恢复后长期RTT远大于短期RTT时，长期RTT逐步衰减，上限自动恢复</li>
+ * </ul>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class AdaptiveLimiter implements Limiter {
+
+    /**
+     * 每轮最少样本数
+     */
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    /**
+     * 长期RTT指数移动平均的窗口（轮数）
+     */
+    private static final int LONG_WINDOW = 60;
+    /**
+     * 短期RTT超过长期RTT该倍数以内时不缩小上限
+     */
+    private static final double RTT_TOLERANCE = 1.5;
+    /**
+     * 新上限的平滑系数
+     */
+    private static final double SMOOTHING = 0.2;
+    /**
+     * 长期RTT超过短期RTT该倍数时开始衰减
+     */
+    private static final double LONG_RTT_DECAY_THRESHOLD = 2;
+    private static final double LONG_RTT_DECAY = 0.95;
+
+    private volatile int minLimit;
+    private volatile int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * 当前并发上限（浮点数，保留平滑后的小数部分）
+     */
+    private volatile double estimatedLimit;
+
+    /**
+     * 当前轮的样本
+     */
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    /**
+     * 长期RTT（纳秒，0表示还没有样本）
+     */
+    private double longRtt;
+
+    /**
+     * @param initialLimit 初始并发上限
+     * @param minLimit     最小并发上限（小于1时取1）
+     * @param maxLimit     最大并发上限（小于初始上限时取初始上限）
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(Math.max(initialLimit, this.minLimit), maxLimit);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    /**
+     * 调整并发上限的范围，保留当前上限（超出新范围时取边界值）和已占用的并发数
+     *
+     * @param minLimit 最小并发上限（小于1时取1）
+     * @param maxLimit 最大并发上限（小于最小并发上限时取最小并发上限）
+     */
+    public synchronized void resize(int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, estimatedLimit));
+    }
+
+    /**
+     * 当前并发上限
+     *
+     * @return
+     */
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    /**
+     * 当前并发数
+     *
+     * @return
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public boolean isInUse() {
+        return inFlight.get() > 0;
+    }
+
+    /**
+     * 收集样本，每轮结束时更新上限
+     *
+     * @param rttNanos
+     * @param currentInFlight 请求结束时（含本请求）的并发数
+     */
+    private synchronized void onSample(long rttNanos, int currentInFlight) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, currentInFlight);
+        if (windowSamples < Math.max(MIN_WINDOW_SAMPLES, getLimit())) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        updateLimit(shortRtt, maxInFlight);
+    }
+
+    /**
+     * 根据短期RTT更新上限
+     *
+     * @param shortRtt
+     * @param maxInFlight
+     */
+    private void updateLimit(double shortRtt, int maxInFlight) {
+        if (shortRtt <= 0) {
+            return;
+        }
+
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        // 负载恢复后，加快长期RTT回落
+        if (longRtt / shortRtt > LONG_RTT_DECAY_THRESHOLD) {
+            longRtt *= LONG_RTT_DECAY;
+        }
+
+        // 实际并发远小于上限时，RTT不能反映上限是否合适
+        double limit = estimatedLimit;
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按调用方（SpEL key）区分的限流器
+ *
+ * <p>每个key（如用户id、租户、ip）各自持有一个限流器，一个调用方用完额度不影响其他调用方；
+ * 限流器保存在有容量上限、按访问过期的缓存中，调用方数量再多内存也保持平稳</p>
+ *
+ * <p>并发限流器（{@link SemaphoreLimiter}、{@link AdaptiveLimiter}）被淘汰时若仍有未归还的许可，则暂存起来，
+ * 同一key再次访问时继续使用，保证同一key的并发数不超过上限；因此保存的key数量可能短暂超过maxKeys（最多多出正在执行的key数）</p>
+ *
+ * <p>形如{@code #arg}、{@code #arg.prop}的简单表达式首次调用时解析参数下标及getter，之后直接通过反射取值，不经过SpEL</p>
+ *
+ * <p>key为null时，所有无法识别的调用方共用同一个限流器</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class KeyedLimiter {
+
+    private static final ExpressionParser PARSER = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+    private static final ParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+    /**
+     * 简单表达式：#arg、#arg.prop、#arg.prop1.prop2
+     */
+    private static final Pattern SIMPLE_EXPRESSION_PATTERN = Pattern.compile("^#([A-Za-z_$][\\w$]*)((?:\\.[A-Za-z_$][\\w$]*)*)$");
+    /**
+     * 无法通过快速路径取值，需要走SpEL
+     */
+    private static final Object UNRESOLVED = new Object();
+
+    private final String keyExpressionString;
+    private final Expression keyExpression;
+    private final Cache<String, Limiter> limiters;
+    /**
+     * 被淘汰时仍有未归还许可的限流器
+     */
+    private final ConcurrentMap<String, Limiter> pinnedLimiters = new ConcurrentHashMap<>();
+    private final Function<String, Limiter> limiterFactory;
+    /**
+     * 快速路径（首次调用时按方法解析）
+     */
+    private volatile KeyAccessor keyAccessor;
+
+    /**
+     * @param keyExpression  key的SpEL表达式，可引用方法参数（如#userId、#p0）
+     * @param maxKeys        最多保存的key数量
+     * @param expireMillis   key多久未访问后移除（毫秒）
+     * @param limiterFactory 根据key创建限流器
+     */
+    public KeyedLimiter(String keyExpression, long maxKeys, long expireMillis, Function<String, Limiter> limiterFactory) {
+        this.keyExpressionString = keyExpression;
+        this.keyExpression = PARSER.parseExpression(keyExpression);
+        this.limiters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(expireMillis, TimeUnit.MILLISECONDS)
+                // 淘汰时同步回调（与该key的get互斥），暂存仍在使用的限流器
+                .evictionListener((String key, Limiter limiter, RemovalCause cause) -> onEvicted(key, limiter))
+                .build();
+        this.limiterFactory = limiterFactory;
+    }
+
+    /**
+     * 获取当前调用方的限流器
+     *
+     * @param method    被调用的方法
+     * @param arguments 方法参数
+     * @return
+     */
+    public Limiter getLimiter(Method method, Object[] arguments) {
+        return limiters.get(resolveKey(method, arguments), this::restoreOrCreate);
+    }
+
+    /**
+     * 调整已有key的限流器（配置刷新时使用），不支持原地调整的限流器被移除，下次访问时重新创建
+     *
+     * @param updater 原地调整限流器，返回是否支持
+     */
+    public void update(Predicate<Limiter> updater) {
+        limiters.asMap().entrySet().removeIf(entry -> !updater.test(entry.getValue()));
+        pinnedLimiters.values().removeIf(limiter -> !updater.test(limiter));
+    }
+
+    /**
+     * 当前保存的key数量（近似值）
+     *
+     * @return
+     */
+    public long size() {
+        limiters.cleanUp();
+        return limiters.estimatedSize() + pinnedLimiters.size();
+    }
+
+    /**
+     * 限流器被淘汰：仍有未归还的许可时暂存，并清理已归还全部许可的暂存限流器
+     *
+     * @param key
+     * @param limiter
+     */
+    private void onEvicted(String key, Limiter limiter) {
+        pinnedLimiters.values().removeIf(pinnedLimiter -> !pinnedLimiter.isInUse());
+        if (limiter.isInUse()) {
+            pinnedLimiters.put(key, limiter);
+        }
+    }
+
+    /**
+     * 优先恢复暂存的限流器，没有时新建
+     *
+     * @param key
+     * @return
+     */
+    private Limiter restoreOrCreate(String key) {
+        Limiter limiter = pinnedLimiters.remove(key);
+        return limiter != null ? limiter : limiterFactory.apply(key);
+    }
+
+    /**
+     * 计算调用方key
+     *
+     * @param method
+     * @param arguments
+     * @return
+     */
+    private String resolveKey(Method method, Object[] arguments) {
+        KeyAccessor accessor = keyAccessor;
+        if (accessor == null || !accessor.method.equals(method)) {
+            accessor = compile(method);
+            keyAccessor = accessor;
+        }
+
+        Object value = accessor.getValue(arguments);
+        if (value == UNRESOLVED) {
+            value = keyExpression.getValue(new MethodBasedEvaluationContext(null, method, arguments, DISCOVERER));
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * 解析简单表达式的参数下标及getter链
+     *
+     * @param method
+     * @return
+     */
+    private KeyAccessor compile(Method method) {
+        Matcher matcher = SIMPLE_EXPRESSION_PATTERN.matcher(keyExpressionString);
+        String[] parameterNames = matcher.matches() ? DISCOVERER.getParameterNames(method) : null;
+        int argumentIndex = -1;
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(matcher.group(1))) {
+                    argumentIndex = i;
+                    break;
+                }
+            }
+        }
+        if (argumentIndex < 0) {
+            return new KeyAccessor(method, -1, null);
+        }
+
+        String properties = matcher.group(2);
+        String[] propertyNames = StringUtils.isEmpty(properties) ? new String[0] : properties.substring(1).split("\\.");
+        Method[] getters = new Method[propertyNames.length];
+        Class<?> type = method.getParameterTypes()[argumentIndex];
+        for (int i = 0; i < propertyNames.length; i++) {
+            PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(type, propertyNames[i]);
+            if (propertyDescriptor == null || propertyDescriptor.getReadMethod() == null) {
+                // 非标准getter（如map、public字段），交给SpEL处理
+                return new KeyAccessor(method, -1, null);
+            }
+            getters[i] = propertyDescriptor.getReadMethod();
+            ReflectionUtils.makeAccessible(getters[i]);
+            type = getters[i].getReturnType();
+        }
+        return new KeyAccessor(method, argumentIndex, getters);
+    }
+
+    /**
+     * 简单表达式的快速取值路径
+     */
+    private static final class KeyAccessor {
+
+        private final Method method;
+        /**
+         * 参数下标（-1表示不支持快速路径）
+         */
+        private final int argumentIndex;
+        private final Method[] getters;
+
+        KeyAccessor(Method method, int argumentIndex, Method[] getters) {
+            this.method = method;
+            this.argumentIndex = argumentIndex;
+            this.getters = getters;
+        }
+
+        /**
+         * @param arguments
+         * @return 不支持快速路径，或中间属性为null时返回{@link KeyedLimiter#UNRESOLVED}
+         */
+        Object getValue(Object[] arguments) {
+            if (argumentIndex < 0) {
+                return UNRESOLVED;
+            }
+
+            Object value = arguments[argumentIndex];
+            for (Method getter : getters) {
+                if (value == null) {
+                    return UNRESOLVED;
+                }
+                value = ReflectionUtils.invokeMethod(getter, value);
+            }
+            return value;
+        }
+
+    }
+
+}
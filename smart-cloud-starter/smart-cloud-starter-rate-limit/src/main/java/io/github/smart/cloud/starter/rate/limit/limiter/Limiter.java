@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+/**
+ * 限流器
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public interface Limiter {
+
+    /**
+     * 尝试获取许可（不阻塞）
+     *
+     * @return 是否获取成功
+     */
+    boolean tryAcquire();
+
+    /**
+     * 归还许可（方法执行结束后调用；速率限流无需归还）
+     */
+    void release();
+
+    /**
+     * 归还许可，并反馈本次请求的耗时（自适应限流据此调整上限）
+     *
+     * @param rttNanos 获取许可到方法执行结束的耗时（纳秒）
+     */
+    default void release(long rttNanos) {
+        release();
+    }
+
+    /**
+     * 是否有未归还的许可（并发限流）；按key限流时，有未归还许可的限流器不会被淘汰
+     *
+     * @return
+     */
+    default boolean isInUse() {
+        return false;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import java.lang.reflect.Method;
+
+/**
+ * 方法对应的限流器（每个方法只解析一次）
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class MethodLimiter {
+
+    /**
+     * 方法未配置限流
+     */
+    public static final MethodLimiter NONE = new MethodLimiter(null, null, null);
+
+    private final Limiter limiter;
+    private final KeyedLimiter keyedLimiter;
+    /**
+     * 限流触发时的提示信息（为null时使用默认提示）
+     */
+    private final String message;
+
+    public MethodLimiter(Limiter limiter, KeyedLimiter keyedLimiter, String message) {
+        this.limiter = limiter;
+        this.keyedLimiter = keyedLimiter;
+        this.message = message;
+    }
+
+    /**
+     * 获取本次调用的限流器
+     *
+     * @param method    被调用的方法
+     * @param arguments 方法参数
+     * @return
+     */
+    public Limiter getLimiter(Method method, Object[] arguments) {
+        return limiter != null ? limiter : keyedLimiter.getLimiter(method, arguments);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+}
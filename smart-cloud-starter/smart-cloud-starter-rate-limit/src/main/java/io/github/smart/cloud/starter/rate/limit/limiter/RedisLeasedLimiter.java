@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 集群速率限流器（redis令牌桶 + 本地租借）
+ *
+ * <p>所有节点共享{@link RedisTokenBucket}中的令牌桶，每个节点一次租借leaseSize个令牌到本地消费，
+ * 本地令牌低于一半时由后台线程续租，只有本地令牌耗尽时才等待租借结果</p>
+ *
+ * <p>同一时刻只有一个租借在访问redis（在租借线程池中执行），调用方不持有锁，本地令牌耗尽时最多等待
+ * {@link RedisTokenBucket#getLeaseTimeoutMillis()}，redis响应慢时本次使用单机限流，租借结果返回后仍加入本地令牌</p>
+ *
+ * <p>leaseSize用于权衡精度与延迟：值越大访问redis越少，但各节点持有的未用令牌越多，节点间分配越不均匀，
+ * 空闲后瞬时通过数最多比burst多出“节点数 × leaseSize”；leaseSize为1时每个请求都访问redis，结果精确</p>
+ *
+ * <p>redis中令牌不足时，在攒够一次租借的令牌之前不再访问redis；redis不可用或租借超时时暂时退化为单机令牌桶限流，
+ * 单机限流按节点数均分全局速率及桶容量，避免各节点都按全局速率放行</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class RedisLeasedLimiter implements Limiter {
+
+    /**
+     * redis不可用时退化为单机限流的时长
+     */
+    private static final long FALLBACK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RedisTokenBucket redisTokenBucket;
+    private final String name;
+    private volatile double permitsPerSecond;
+    private volatile int capacity;
+    private volatile int leaseSize;
+    /**
+     * 本地令牌低于该值时后台续租
+     */
+    private volatile int refillThreshold;
+    /**
+     * redis中令牌不足时，攒够一次租借的令牌所需时间
+     */
+    private volatile long backoffNanos;
+    /**
+     * redis不可用时的单机限流器（全局速率的1/节点数）
+     */
+    private final TokenBucketLimiter fallbackLimiter;
+    /**
+     * 本地持有的令牌数
+     */
+    private final AtomicLong localTokens = new AtomicLong();
+    /**
+     * 正在进行的租借，结果为redis是否可用；没有时为null
+     */
+    private final AtomicReference<CompletableFuture<Boolean>> inFlightLease = new AtomicReference<>();
+    /**
+     * 在该时间之前不再访问redis租借令牌
+     */
+    private volatile long nextLeaseNanos = System.nanoTime();
+    /**
+     * 在该时间之前使用单机限流
+     */
+    private volatile long fallbackUntilNanos = System.nanoTime();
+
+    /**
+     * @param redisTokenBucket redis令牌桶
+     * @param name             限流名称（集群内相同名称共享令牌桶）
+     * @param permitsPerSecond 全局每秒令牌数
+     * @param burst            全局最多允许同时通过的请求数（桶容量，小于1时取1）
+     * @param leaseSize        每次租借的令牌数（小于1时取1，大于桶容量时取桶容量）
+     * @param expectedNodes    集群节点数（小于1时取1），redis不可用时每个节点按全局速率、桶容量的1/expectedNodes单机限流
+     */
+    public RedisLeasedLimiter(RedisTokenBucket redisTokenBucket, String name, double permitsPerSecond, int burst, int leaseSize, int expectedNodes) {
+        this.redisTokenBucket = redisTokenBucket;
+        this.name = name;
+        this.fallbackLimiter = new TokenBucketLimiter(permitsPerSecond, burst, 0);
+        resize(permitsPerSecond, burst, leaseSize, expectedNodes);
+    }
+
+    /**
+     * 调整速率（配置刷新时使用）；redis中的令牌桶及本地已租借的令牌保留，下次租借时按新速率、容量补充
+     *
+     * @param permitsPerSecond 全局每秒令牌数
+     * @param burst            全局最多允许同时通过的请求数（桶容量，小于1时取1）
+     * @param leaseSize        每次租借的令牌数（小于1时取1，大于桶容量时取桶容量）
+     * @param expectedNodes    集群节点数（小于1时取1）
+     */
+    public void resize(double permitsPerSecond, int burst, int leaseSize, int expectedNodes) {
+        int nodes = Math.max(1, expectedNodes);
+        fallbackLimiter.resize(permitsPerSecond / nodes, Math.max(1, burst / nodes), 0);
+        int newCapacity = Math.max(1, burst);
+        int newLeaseSize = Math.min(newCapacity, Math.max(1, leaseSize));
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = newCapacity;
+        this.leaseSize = newLeaseSize;
+        this.refillThreshold = newLeaseSize / 2;
+        this.backoffNanos = (long) (TimeUnit.SECONDS.toNanos(1) * newLeaseSize / permitsPerSecond);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        if (takeLocalToken()) {
+            if (localTokens.get() < refillThreshold) {
+                refillAsync();
+            }
+            return true;
+        }
+
+        if (System.nanoTime() - fallbackUntilNanos < 0) {
+            return fallbackLimiter.tryAcquire();
+        }
+        return leaseAndAcquire();
+    }
+
+    @Override
+    public void release() {
+        // 令牌不归还
+    }
+
+    /**
+     * 本地令牌耗尽时租借；并发时共用同一个租借，最多等待租借超时时间，超时后在{@link #FALLBACK_NANOS}内使用单机限流
+     *
+     * @return
+     */
+    private boolean leaseAndAcquire() {
+        if (System.nanoTime() - nextLeaseNanos < 0) {
+            return false;
+        }
+
+        boolean available;
+        try {
+            available = startLease().get(redisTokenBucket.getLeaseTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // redis响应慢，之后的请求不再等待租借结果
+            fallbackUntilNanos = System.nanoTime() + FALLBACK_NANOS;
+            return fallbackLimiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallbackLimiter.tryAcquire();
+        } catch (ExecutionException e) {
+            available = false;
+        }
+        if (!available) {
+            return fallbackLimiter.tryAcquire();
+        }
+        return takeLocalToken();
+    }
+
+    /**
+     * 后台续租
+     */
+    private void refillAsync() {
+        if (System.nanoTime() - nextLeaseNanos < 0 || inFlightLease.get() != null) {
+            return;
+        }
+        startLease();
+    }
+
+    /**
+     * 在租借线程池中发起租借；已有正在进行的租借时直接返回该租借
+     *
+     * @return
+     */
+    private CompletableFuture<Boolean> startLease() {
+        for (; ; ) {
+            CompletableFuture<Boolean> current = inFlightLease.get();
+            if (current != null) {
+                return current;
+            }
+
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            if (!inFlightLease.compareAndSet(null, future)) {
+                continue;
+            }
+            try {
+                redisTokenBucket.getRefillExecutor().execute(() -> {
+                    boolean available = false;
+                    try {
+                        available = lease();
+                    } finally {
+                        inFlightLease.set(null);
+                        future.complete(available);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 已关闭
+                inFlightLease.set(null);
+                future.complete(false);
+            }
+            return future;
+        }
+    }
+
+    /**
+     * 从redis租借令牌
+     *
+     * @return redis是否可用
+     */
+    private boolean lease() {
+        long granted;
+        try {
+            granted = redisTokenBucket.lease(name, permitsPerSecond, capacity, leaseSize);
+        } catch (RuntimeException e) {
+            log.warn("lease rate limit tokens from redis fail, fallback to local limiter; name={}", name, e);
+            fallbackUntilNanos = System.nanoTime() + FALLBACK_NANOS;
+            return false;
+        }
+
+        if (granted > 0) {
+            localTokens.addAndGet(granted);
+        }
+        if (granted < leaseSize) {
+            nextLeaseNanos = System.nanoTime() + backoffNanos;
+        }
+        return true;
+    }
+
+    /**
+     * 消费一个本地令牌
+     *
+     * @return
+     */
+    private boolean takeLocalToken() {
+        for (; ; ) {
+            long tokens = localTokens.get();
+            if (tokens <= 0) {
+                return false;
+            }
+            if (localTokens.compareAndSet(tokens, tokens - 1)) {
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 集群共享的redis令牌桶
+ *
+ * <p>令牌桶状态（剩余令牌数、上次补充时间）保存在redis hash中，由lua脚本原子地按时间补充令牌并一次租借多个，
+ * 各节点在本地消费租借到的令牌，见{@link RedisLeasedLimiter}</p>
+ *
+ * <p>补充令牌使用redis的TIME（需要redis 3.2及以上，脚本内先切换为按命令复制），避免各节点时钟偏差；
+ * 低版本redis不支持时回退为调用方传入的时间，此时节点间时钟偏差只影响补充速度，不会回退桶的时间</p>
+ *
+ * <p>脚本参数固定按字符串序列化，不受redisTemplate值序列化方式（如json）的影响</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class RedisTokenBucket implements DisposableBean {
+
+    /**
+     * redis key前缀
+     */
+    public static final String KEY_PREFIX = "smart:ratelimit:";
+    /**
+     * 租借令牌。KEYS[1]：key；ARGV[1]：每秒令牌数；ARGV[2]：桶容量；ARGV[3]：租借数；ARGV[4]：调用方当前时间（毫秒，redis不支持TIME后写入时使用）；
+     * 返回实际租借到的令牌数
+     */
+    private static final RedisScript<Long> LEASE_SCRIPT = RedisScript.of(
+            "local rate = tonumber(ARGV[1]) "
+                    + "local capacity = tonumber(ARGV[2]) "
+                    + "local requested = tonumber(ARGV[3]) "
+                    + "local now = tonumber(ARGV[4]) "
+                    + "if redis.replicate_commands and redis.replicate_commands() then "
+                    + "local time = redis.call('time') now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) end "
+                    + "local bucket = redis.call('hmget', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(bucket[1]) "
+                    + "local ts = tonumber(bucket[2]) "
+                    + "if tokens == nil or ts == nil then tokens = capacity ts = now "
+                    + "elseif now > ts then tokens = math.min(capacity, tokens + (now - ts) * rate / 1000) ts = now end "
+                    + "local granted = math.max(0, math.min(requested, math.floor(tokens))) "
+                    + "redis.call('hmset', KEYS[1], 'tokens', tostring(tokens - granted), 'ts', tostring(ts)) "
+                    + "redis.call('pexpire', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000) "
+                    + "return granted", Long.class);
+    /**
+     * 脚本返回值序列化
+     */
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+    /**
+     * 后台续租线程数
+     */
+    private static final int REFILL_THREADS = 2;
+    /**
+     * 默认同步租借的超时时间（毫秒）
+     */
+    public static final long DEFAULT_LEASE_TIMEOUT_MILLIS = 50L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    /**
+     * 同步租借的超时时间（毫秒）
+     */
+    private final long leaseTimeoutMillis;
+    private final ExecutorService refillExecutor = Executors.newFixedThreadPool(REFILL_THREADS, new NamedThreadFactory("rate-limit-lease"));
+
+    public RedisTokenBucket(StringRedisTemplate stringRedisTemplate) {
+        this(stringRedisTemplate, DEFAULT_LEASE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param stringRedisTemplate
+     * @param leaseTimeoutMillis  本地令牌耗尽时等待租借结果的最长时间（毫秒），超时后本次使用单机限流
+     */
+    public RedisTokenBucket(StringRedisTemplate stringRedisTemplate, long leaseTimeoutMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    /**
+     * 从redis令牌桶中租借令牌
+     *
+     * @param name             限流名称
+     * @param permitsPerSecond 全局每秒令牌数
+     * @param capacity         桶容量
+     * @param requested        租借数
+     * @return 实际租借到的令牌数（桶中令牌不足时小于requested）
+     */
+    public long lease(String name, double permitsPerSecond, int capacity, int requested) {
+        Long granted = stringRedisTemplate.execute(LEASE_SCRIPT, StringRedisSerializer.UTF_8, RESULT_SERIALIZER,
+                Collections.singletonList(KEY_PREFIX + name), String.valueOf(permitsPerSecond), String.valueOf(capacity), String.valueOf(requested),
+                String.valueOf(System.currentTimeMillis()));
+        return granted == null ? 0 : granted;
+    }
+
+    /**
+     * 同步租借的超时时间（毫秒）
+     *
+     * @return
+     */
+    public long getLeaseTimeoutMillis() {
+        return leaseTimeoutMillis;
+    }
+
+    /**
+     * 租借线程池
+     *
+     * @return
+     */
+    public ExecutorService getRefillExecutor() {
+        return refillExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        refillExecutor.shutdownNow();
+    }
+
+}
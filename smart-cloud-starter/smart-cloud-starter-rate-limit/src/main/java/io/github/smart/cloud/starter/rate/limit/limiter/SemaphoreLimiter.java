@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 并发数限流器
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class SemaphoreLimiter extends Semaphore implements Limiter {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * 并发数上限
+     */
+    private int permits;
+
+    public SemaphoreLimiter(int permits) {
+        super(permits);
+        this.permits = permits;
+    }
+
+    /**
+     * 调整并发数上限，已被占用的许可保持不变（缩小后可用许可可能为负数，待占用的许可归还后恢复）
+     *
+     * @param newPermits
+     */
+    public synchronized void resize(int newPermits) {
+        int delta = newPermits - permits;
+        if (delta > 0) {
+            release(delta);
+        } else if (delta < 0) {
+            reducePermits(-delta);
+        }
+        permits = newPermits;
+    }
+
+    @Override
+    public synchronized boolean isInUse() {
+        return availablePermits() < permits;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 速率限流器（令牌桶）
+ *
+ * <p>无锁实现（GCRA）：只保存下一个令牌的理论到达时间，获取许可时CAS推进一个发放间隔；
+ * 理论到达时间领先当前时间不超过(burst - 1)个发放间隔时允许通过，即空闲后最多允许burst个请求同时通过</p>
+ *
+ * <p>配置了预热时间时，启动或空闲超过预热时间后，发放间隔从3倍逐渐线性缩短到正常值，避免冷启动时瞬间打满下游</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class TokenBucketLimiter implements Limiter {
+
+    /**
+     * 预热开始时发放间隔的倍数
+     */
+    private static final int COLD_FACTOR = 3;
+
+    /**
+     * 令牌发放间隔（纳秒）
+     */
+    private volatile long intervalNanos;
+    /**
+     * 允许领先当前时间的最大值（纳秒）
+     */
+    private volatile long burstNanos;
+    private volatile long warmupNanos;
+    /**
+     * 下一个令牌的理论到达时间
+     */
+    private final AtomicLong nextFreeNanos;
+    /**
+     * 最近一次预热开始的时间
+     */
+    private volatile long coldSinceNanos;
+
+    /**
+     * @param permitsPerSecond 每秒发放的令牌数
+     * @param burst            最多允许同时通过的请求数（小于1时取1）
+     * @param warmupMillis     预热时间（毫秒，0表示不预热）
+     */
+    public TokenBucketLimiter(double permitsPerSecond, int burst, long warmupMillis) {
+        resize(permitsPerSecond, burst, warmupMillis);
+        long now = System.nanoTime();
+        this.nextFreeNanos = new AtomicLong(now);
+        this.coldSinceNanos = now;
+    }
+
+    /**
+     * 调整速率（配置刷新时使用）；保留下一个令牌的理论到达时间，调整后不会额外放行一次突发流量
+     *
+     * @param permitsPerSecond 每秒发放的令牌数
+     * @param burst            最多允许同时通过的请求数（小于1时取1）
+     * @param warmupMillis     预热时间（毫秒，0表示不预热）
+     */
+    public void resize(double permitsPerSecond, int burst, long warmupMillis) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        long newIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = newIntervalNanos * (Math.max(1, burst) - 1);
+        this.intervalNanos = newIntervalNanos;
+        this.warmupNanos = TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long burst = burstNanos;
+        for (; ; ) {
+            long nextFree = nextFreeNanos.get();
+            long start = Math.max(nextFree, now);
+            if (start - now > burst) {
+                return false;
+            }
+            if (nextFreeNanos.compareAndSet(nextFree, start + getIntervalNanos(now, nextFree))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        // 令牌不归还
+    }
+
+    /**
+     * 当前的发放间隔（预热期内大于正常值）
+     *
+     * @param now
+     * @param nextFree
+     * @return
+     */
+    private long getIntervalNanos(long now, long nextFree) {
+        long intervalNanos = this.intervalNanos;
+        long warmupNanos = this.warmupNanos;
+        if (warmupNanos <= 0) {
+            return intervalNanos;
+        }
+
+        // 空闲超过预热时间，重新预热
+        if (now - nextFree > warmupNanos) {
+            coldSinceNanos = now;
+        }
+        long elapsed = now - coldSinceNanos;
+        if (elapsed >= warmupNanos) {
+            return intervalNanos;
+        }
+        return intervalNanos + (long) (intervalNanos * (COLD_FACTOR - 1) * (1 - (double) elapsed / warmupNanos));
+    }
+
+}
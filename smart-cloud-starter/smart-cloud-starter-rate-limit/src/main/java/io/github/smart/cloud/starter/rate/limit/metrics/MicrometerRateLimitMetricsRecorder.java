@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+/**
+ * 基于micrometer的指标记录（通过actuator的metrics、prometheus端点暴露）
+ *
+ * <ul>
+ *     <li>smart.ratelimit.adaptive.limit：自适应限流的当前并发上限（标签name）</li>
+ * </ul>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class MicrometerRateLimitMetricsRecorder implements RateLimitMetricsRecorder {
+
+    private static final String TAG_NAME = "name";
+
+    private final MeterRegistry meterRegistry;
+
+    public MicrometerRateLimitMetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void bindAdaptiveLimit(String name, Supplier<Number> limit) {
+        Gauge.builder("smart.ratelimit.adaptive.limit", limit)
+                .description("current concurrency limit of adaptive rate limiter")
+                .tag(TAG_NAME, name)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * 限流指标记录
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public interface RateLimitMetricsRecorder {
+
+    /**
+     * 不记录任何指标（未引入micrometer时使用）
+     */
+    RateLimitMetricsRecorder NOOP = new RateLimitMetricsRecorder() {
+    };
+
+    /**
+     * 注册自适应限流的当前并发上限（同一名称只注册一次，限流规则刷新后仍读取最新的限流器）
+     *
+     * @param name  限流名称
+     * @param limit 当前并发上限
+     */
+    default void bindAdaptiveLimit(String name, Supplier<Number> limit) {
+    }
+
+}
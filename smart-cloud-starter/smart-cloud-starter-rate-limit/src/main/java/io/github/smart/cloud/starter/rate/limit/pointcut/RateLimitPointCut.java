@@ -16,28 +16,24 @@
 package io.github.smart.cloud.starter.rate.limit.pointcut;
 
 import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
-import io.github.smart.cloud.starter.rate.limit.properties.RateLimitProperties;
-import io.github.smart.cloud.starter.rate.limit.util.RateLimitUtil;
-import lombok.RequiredArgsConstructor;
 import org.springframework.aop.ClassFilter;
-import org.springframework.aop.support.DynamicMethodMatcherPointcut;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
 import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 
 import java.lang.reflect.Method;
-import java.util.Map;
 
 /**
  * 限流切面
  *
+ * <p>只做静态匹配（接口方法、加了{@link RateLimiter}的方法），是否限流由拦截器按方法查表决定，
+ * 配置中心新增的限流规则无需重新生成代理即可生效</p>
+ *
  * @author collin
  * @date 2024-02-28
  */
-@RequiredArgsConstructor
-public class RateLimitPointCut extends DynamicMethodMatcherPointcut {
-
-    private final RateLimitProperties rateLimitProperties;
+public class RateLimitPointCut extends StaticMethodMatcherPointcut {
 
     @Override
     public ClassFilter getClassFilter() {
@@ -57,15 +53,4 @@ public class RateLimitPointCut extends DynamicMethodMatcherPointcut {
                 || method.isAnnotationPresent(RateLimiter.class);
     }
 
-    @Override
-    public boolean matches(Method method, Class<?> targetClass, Object... args) {
-        if (method.isAnnotationPresent(RateLimiter.class)) {
-            return true;
-        }
-
-        Map<String, Integer> config = rateLimitProperties.getConfig();
-        String semaphoreBeanName = RateLimitUtil.getSemaphoreBeanName(method);
-        return config.containsKey(semaphoreBeanName);
-    }
-
 }
\ No newline at end of file
@@ -24,6 +24,36 @@ import java.util.Map;
 
 /**
  * 限流配置属性
+ * <p/>
+ * <b>配置样例：</b>
+ * <pre>
+ * smart:
+ *   rate-limit:
+ *     leaseTimeoutMillis: 50
+ *     config:
+ *       'com.example.ProductController.query': 20
+ *     rules:
+ *       'com.example.ProductController.list':
+ *         mode: RATE
+ *         permits: 100
+ *         burst: 20
+ *         warmupMillis: 10000
+ *       'com.example.OrderController.submit':
+ *         mode: DISTRIBUTED
+ *         permits: 500
+ *         leaseSize: 20
+ *         expectedNodes: 4
+ *       'com.example.OrderController.query':
+ *         mode: RATE
+ *         permits: 5
+ *         key: '#userId'
+ *         maxKeys: 100000
+ *       'com.example.OrderController.detail':
+ *         mode: ADAPTIVE
+ *         permits: 50
+ *         minLimit: 10
+ *         maxLimit: 500
+ * </pre>
  *
  * @author collin
  * @date 2024-02-27
@@ -37,5 +67,13 @@ public class RateLimitProperties implements Serializable {
      * 限流配置<全路径类名.方法名，信号量限流大小>
      */
     private Map<String, Integer> config = new HashMap<>();
+    /**
+     * 限流规则<全路径类名.方法名，规则>，优先级高于config
+     */
+    private Map<String, RateLimitRule> rules = new HashMap<>();
+    /**
+     * 集群限流本地令牌耗尽时等待redis租借结果的最长时间（毫秒），超时后本次使用单机限流
+     */
+    private long leaseTimeoutMillis = 50L;
 
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.properties;
+
+import io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * 限流规则
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+public class RateLimitRule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    /**
+     * 限流模式
+     */
+    private RateLimitMode mode = RateLimitMode.CONCURRENCY;
+    /**
+     * 并发数（CONCURRENCY）、每秒请求数（RATE、DISTRIBUTED）或初始并发上限（ADAPTIVE）
+     */
+    private int permits;
+    /**
+     * 最多允许同时通过的请求数（RATE、DISTRIBUTED模式，0表示与permits相同）
+     */
+    private int burst;
+    /**
+     * 预热时间（RATE模式，毫秒）
+     */
+    private long warmupMillis;
+    /**
+     * 每个节点一次从redis租借的令牌数（DISTRIBUTED模式，0表示permits的1/10）：越大访问redis越少，但节点间分配越不均匀
+     */
+    private int leaseSize;
+    /**
+     * 集群节点数（DISTRIBUTED模式）：redis不可用时每个节点按permits、burst的1/expectedNodes单机限流
+     */
+    private int expectedNodes = 1;
+    /**
+     * 最小并发上限（ADAPTIVE模式）
+     */
+    private int minLimit = 1;
+    /**
+     * 最大并发上限（ADAPTIVE模式，0表示permits的10倍）
+     */
+    private int maxLimit;
+    /**
+     * 调用方key的SpEL表达式（为空表示整个方法共用一个限流器）
+     */
+    private String key;
+    /**
+     * 按key限流时最多保存的key数量
+     */
+    private long maxKeys = 10000;
+    /**
+     * 按key限流时，key多久未访问后移除（毫秒）
+     */
+    private long keyExpireMillis = 600000;
+
+}
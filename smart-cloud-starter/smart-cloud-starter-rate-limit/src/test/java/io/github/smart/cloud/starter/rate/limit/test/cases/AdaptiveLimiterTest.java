@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.test.cases;
+
+import io.github.smart.cloud.starter.rate.limit.limiter.AdaptiveLimiter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveLimiterTest {
+
+    private static final long NORMAL_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void testLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10);
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testIncreaseWhenRttStable() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+        runRounds(limiter, 20, NORMAL_RTT);
+
+        Assertions.assertThat(limiter.getLimit()).isGreaterThan(10);
+        Assertions.assertThat(limiter.getLimit()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void testDecreaseAndRecover() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(50, 5, 100);
+        runRounds(limiter, 5, NORMAL_RTT);
+        int normalLimit = limiter.getLimit();
+
+        // 依赖变慢，提前降低并发上限
+        runRounds(limiter, 10, SLOW_RTT);
+        int slowLimit = limiter.getLimit();
+        Assertions.assertThat(slowLimit).isLessThan(normalLimit);
+        Assertions.assertThat(slowLimit).isGreaterThanOrEqualTo(5);
+
+        // 恢复后上限自动回升
+        runRounds(limiter, 30, NORMAL_RTT);
+        Assertions.assertThat(limiter.getLimit()).isGreaterThan(slowLimit);
+    }
+
+    /**
+     * 每轮占满当前并发上限后全部释放
+     *
+     * @param limiter
+     * @param rounds
+     * @param rttNanos
+     */
+    private void runRounds(AdaptiveLimiter limiter, int rounds, long rttNanos) {
+        for (int i = 0; i < rounds; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+
+}
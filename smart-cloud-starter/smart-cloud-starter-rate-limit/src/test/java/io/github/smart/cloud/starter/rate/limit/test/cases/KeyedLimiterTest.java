@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.test.cases;
+
+import io.github.smart.cloud.starter.rate.limit.limiter.KeyedLimiter;
+import io.github.smart.cloud.starter.rate.limit.limiter.Limiter;
+import io.github.smart.cloud.starter.rate.limit.limiter.SemaphoreLimiter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+class KeyedLimiterTest {
+
+    @Test
+    void testLimiterPerKey() throws NoSuchMethodException {
+        Method method = KeyedLimiterTest.class.getDeclaredMethod("call", String.class);
+        KeyedLimiter keyedLimiter = new KeyedLimiter("#p0", 100, 60000, key -> new SemaphoreLimiter(1));
+
+        Limiter tenant1 = keyedLimiter.getLimiter(method, new Object[]{"tenant1"});
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{"tenant1"})).isSameAs(tenant1);
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{"tenant2"})).isNotSameAs(tenant1);
+    }
+
+    @Test
+    void testBounded() throws NoSuchMethodException {
+        Method method = KeyedLimiterTest.class.getDeclaredMethod("call", String.class);
+        KeyedLimiter keyedLimiter = new KeyedLimiter("#p0", 100, 60000, key -> new SemaphoreLimiter(1));
+        for (int i = 0; i < 10000; i++) {
+            keyedLimiter.getLimiter(method, new Object[]{String.valueOf(i)});
+        }
+
+        Assertions.assertThat(keyedLimiter.size()).isLessThanOrEqualTo(100);
+    }
+
+    /**
+     * 刷新配置时已有key的限流器原地调整，不支持调整的被移除
+     */
+    @Test
+    void testUpdate() throws NoSuchMethodException {
+        Method method = KeyedLimiterTest.class.getDeclaredMethod("call", String.class);
+        KeyedLimiter keyedLimiter = new KeyedLimiter("#p0", 100, 60000, key -> new SemaphoreLimiter(1));
+        Limiter tenant1 = keyedLimiter.getLimiter(method, new Object[]{"tenant1"});
+        Assertions.assertThat(tenant1.tryAcquire()).isTrue();
+
+        keyedLimiter.update(limiter -> {
+            ((SemaphoreLimiter) limiter).resize(3);
+            return true;
+        });
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{"tenant1"})).isSameAs(tenant1);
+        Assertions.assertThat(((SemaphoreLimiter) tenant1).availablePermits()).isEqualTo(2);
+
+        keyedLimiter.update(limiter -> false);
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{"tenant1"})).isNotSameAs(tenant1);
+    }
+
+    /**
+     * 被淘汰时仍有未归还许可的限流器继续使用，归还后才真正移除
+     */
+    @Test
+    void testPinInUse() throws NoSuchMethodException, InterruptedException {
+        Method method = KeyedLimiterTest.class.getDeclaredMethod("call", String.class);
+        KeyedLimiter keyedLimiter = new KeyedLimiter("#p0", 100, 50, key -> new SemaphoreLimiter(1));
+        Limiter tenant1 = keyedLimiter.getLimiter(method, new Object[]{"tenant1"});
+        Assertions.assertThat(tenant1.tryAcquire()).isTrue();
+
+        Thread.sleep(100);
+        keyedLimiter.size();
+        Limiter pinned = keyedLimiter.getLimiter(method, new Object[]{"tenant1"});
+        Assertions.assertThat(pinned).isSameAs(tenant1);
+        Assertions.assertThat(pinned.tryAcquire()).isFalse();
+
+        tenant1.release();
+        Thread.sleep(100);
+        keyedLimiter.size();
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{"tenant1"})).isNotSameAs(tenant1);
+    }
+
+    /**
+     * 简单表达式通过反射取参数属性
+     */
+    @Test
+    void testPropertyKey() throws NoSuchMethodException {
+        Method method = KeyedLimiterTest.class.getDeclaredMethod("query", Request.class);
+        KeyedLimiter keyedLimiter = new KeyedLimiter("#request.tenantId", 100, 60000, key -> new SemaphoreLimiter(1));
+
+        Limiter tenant1 = keyedLimiter.getLimiter(method, new Object[]{new Request("tenant1")});
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{new Request("tenant1")})).isSameAs(tenant1);
+        Assertions.assertThat(keyedLimiter.getLimiter(method, new Object[]{new Request("tenant2")})).isNotSameAs(tenant1);
+    }
+
+    static void call(String tenantId) {
+    }
+
+    static void query(Request request) {
+    }
+
+    static class Request {
+
+        private final String tenantId;
+
+        Request(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+    }
+
+}
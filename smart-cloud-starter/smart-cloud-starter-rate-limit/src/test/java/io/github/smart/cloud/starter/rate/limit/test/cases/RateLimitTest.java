@@ -17,7 +17,10 @@ package io.github.smart.cloud.starter.rate.limit.test.cases;
 
 import io.github.smart.cloud.exception.AccessFrequentlyException;
 import io.github.smart.cloud.starter.rate.limit.RateLimitInstanceFactory;
+import io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode;
+import io.github.smart.cloud.starter.rate.limit.limiter.TokenBucketLimiter;
 import io.github.smart.cloud.starter.rate.limit.properties.RateLimitProperties;
+import io.github.smart.cloud.starter.rate.limit.properties.RateLimitRule;
 import io.github.smart.cloud.starter.rate.limit.test.prepare.Application;
 import io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController;
 import org.assertj.core.api.Assertions;
@@ -25,7 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.cloud.context.scope.refresh.RefreshScope;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -44,8 +47,6 @@ class RateLimitTest {
     private RateLimitInstanceFactory rateLimitInstanceFactory;
     @Autowired
     private ApplicationContext applicationContext;
-    @Autowired
-    private RefreshScope refreshScope;
 
     @Test
     void testPropertiesRule() throws Exception {
@@ -87,6 +88,70 @@ class RateLimitTest {
         Assertions.assertThat(isInstanceOfAccessFrequentlyException).isTrue();
     }
 
+    @Test
+    void testRateMode() throws Exception {
+        Assertions.assertThat(rateLimitInstanceFactory.get("io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.detail")).isNull();
+
+        // 每秒2个令牌，空闲后最多同时通过2个
+        Assertions.assertThat(productController.detail()).isNotNull();
+        Assertions.assertThat(productController.detail()).isNotNull();
+        Assertions.assertThatThrownBy(() -> productController.detail()).isInstanceOf(AccessFrequentlyException.class);
+
+        TimeUnit.MILLISECONDS.sleep(600);
+        Assertions.assertThat(productController.detail()).isNotNull();
+    }
+
+    @Test
+    void testKeyedRule() {
+        Assertions.assertThat(rateLimitInstanceFactory.getKeyedLimiter("io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.orders")).isNotNull();
+
+        // 每个用户各自限流
+        Assertions.assertThat(productController.orders(1L)).isNotNull();
+        Assertions.assertThatThrownBy(() -> productController.orders(1L)).isInstanceOf(AccessFrequentlyException.class);
+        Assertions.assertThat(productController.orders(2L)).isNotNull();
+    }
+
+    /**
+     * 刷新配置时在原实例上调整并发数，已占用的许可不丢失
+     */
+    @Test
+    void testRefreshKeepsHeldPermits() {
+        String createName = "io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.create";
+        RateLimitProperties rateLimitProperties = applicationContext.getBean(RateLimitProperties.class);
+        Map<String, Integer> config = rateLimitProperties.getConfig();
+        Semaphore createSemaphore = rateLimitInstanceFactory.get(createName);
+        Assertions.assertThat(createSemaphore.tryAcquire()).isTrue();
+
+        try {
+            config.put(createName, 3);
+            applicationContext.publishEvent(new RefreshScopeRefreshedEvent());
+            Assertions.assertThat(rateLimitInstanceFactory.get(createName)).isSameAs(createSemaphore);
+            Assertions.assertThat(createSemaphore.availablePermits()).isEqualTo(2);
+        } finally {
+            createSemaphore.release();
+            config.put(createName, 1);
+            applicationContext.publishEvent(new RefreshScopeRefreshedEvent());
+        }
+        Assertions.assertThat(createSemaphore.availablePermits()).isEqualTo(1);
+    }
+
+    /**
+     * 按速率限流的permits无效时忽略该规则，沿用注解中的规则
+     */
+    @Test
+    void testInvalidRatePermits() {
+        String detailName = "io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.detail";
+        RateLimitProperties rateLimitProperties = applicationContext.getBean(RateLimitProperties.class);
+        RateLimitRule rule = new RateLimitRule();
+        rule.setMode(RateLimitMode.RATE);
+        rule.setPermits(0);
+        rateLimitProperties.getRules().put(detailName, rule);
+
+        applicationContext.publishEvent(new RefreshScopeRefreshedEvent());
+        Assertions.assertThat(rateLimitProperties.getRules()).doesNotContainKey(detailName);
+        Assertions.assertThat(rateLimitInstanceFactory.getLimiter(detailName)).isInstanceOf(TokenBucketLimiter.class);
+    }
+
     /**
      * 测试配置中心动态刷新场景
      */
@@ -97,7 +162,7 @@ class RateLimitTest {
         Map<String, Integer> config = rateLimitProperties.getConfig();
         config.put("io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.update", 3);
         config.put("io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.query", 100);
-        refreshScope.refresh(RateLimitInstanceFactory.class);
+        applicationContext.publishEvent(new RefreshScopeRefreshedEvent());
 
         Semaphore updateSemaphore = rateLimitInstanceFactory.get("io.github.smart.cloud.starter.rate.limit.test.prepare.controller.ProductController.update");
         Assertions.assertThat(updateSemaphore).isNotNull();
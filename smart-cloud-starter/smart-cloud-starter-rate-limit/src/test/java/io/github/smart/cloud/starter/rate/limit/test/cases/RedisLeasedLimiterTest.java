@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.test.cases;
+
+import io.github.smart.cloud.starter.rate.limit.limiter.RedisLeasedLimiter;
+import io.github.smart.cloud.starter.rate.limit.limiter.RedisTokenBucket;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RedisLeasedLimiterTest {
+
+    private static final int REDIS_SERVER_PORT = 6379;
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = RedisServer.builder()
+                .port(REDIS_SERVER_PORT)
+                .setting("maxmemory 128M")
+                .build();
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", REDIS_SERVER_PORT));
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        // 提前建立连接，避免首次租借超时
+        stringRedisTemplate.hasKey("warmup");
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        if (redisServer.isActive()) {
+            redisServer.stop();
+        }
+    }
+
+    /**
+     * 两个节点共享同一个令牌桶，通过总数不超过全局限流
+     */
+    @Test
+    void testGlobalRate() {
+        CountingRedisTokenBucket redisTokenBucket = new CountingRedisTokenBucket(stringRedisTemplate);
+        RedisLeasedLimiter node1 = new RedisLeasedLimiter(redisTokenBucket, "testGlobalRate", 20, 20, 4, 1);
+        RedisLeasedLimiter node2 = new RedisLeasedLimiter(redisTokenBucket, "testGlobalRate", 20, 20, 4, 1);
+        int passed1 = 0;
+        int passed2 = 0;
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < end) {
+            if (node1.tryAcquire()) {
+                passed1++;
+            }
+            if (node2.tryAcquire()) {
+                passed2++;
+            }
+        }
+
+        // 初始20个 + 500ms补充10个，两个节点最多各多持有一次租借
+        Assertions.assertThat(passed1 + passed2).isBetween(20, 38);
+        Assertions.assertThat(passed1).isPositive();
+        Assertions.assertThat(passed2).isPositive();
+        // 批量租借，访问redis的次数远小于通过数
+        Assertions.assertThat(redisTokenBucket.getLeaseCount()).isLessThan(passed1 + passed2);
+        redisTokenBucket.destroy();
+    }
+
+    /**
+     * 每次租借1个时结果精确
+     */
+    @Test
+    void testExactLease() {
+        RedisTokenBucket redisTokenBucket = new RedisTokenBucket(stringRedisTemplate);
+        RedisLeasedLimiter node1 = new RedisLeasedLimiter(redisTokenBucket, "testExactLease", 1, 5, 1, 1);
+        RedisLeasedLimiter node2 = new RedisLeasedLimiter(redisTokenBucket, "testExactLease", 1, 5, 1, 1);
+        int passed = 0;
+        for (int i = 0; i < 5; i++) {
+            passed += node1.tryAcquire() ? 1 : 0;
+            passed += node2.tryAcquire() ? 1 : 0;
+        }
+        Assertions.assertThat(passed).isEqualTo(5);
+        redisTokenBucket.destroy();
+    }
+
+    /**
+     * redis不可用时退化为单机限流
+     */
+    @Test
+    void testFallback() {
+        LettuceConnectionFactory unavailableConnectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", 1));
+        unavailableConnectionFactory.afterPropertiesSet();
+        RedisTokenBucket redisTokenBucket = new RedisTokenBucket(new StringRedisTemplate(unavailableConnectionFactory));
+        RedisLeasedLimiter limiter = new RedisLeasedLimiter(redisTokenBucket, "testFallback", 10, 2, 1, 1);
+
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+        redisTokenBucket.destroy();
+        unavailableConnectionFactory.destroy();
+    }
+
+    /**
+     * redis不可用时每个节点按节点数均分全局速率
+     */
+    @Test
+    void testFallbackShare() {
+        LettuceConnectionFactory unavailableConnectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", 1));
+        unavailableConnectionFactory.afterPropertiesSet();
+        RedisTokenBucket redisTokenBucket = new RedisTokenBucket(new StringRedisTemplate(unavailableConnectionFactory));
+        RedisLeasedLimiter limiter = new RedisLeasedLimiter(redisTokenBucket, "testFallbackShare", 10, 4, 1, 2);
+
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+        redisTokenBucket.destroy();
+        unavailableConnectionFactory.destroy();
+    }
+
+    /**
+     * redis响应慢时不阻塞调用方，超时后使用单机限流
+     */
+    @Test
+    void testSlowLease() {
+        SlowRedisTokenBucket redisTokenBucket = new SlowRedisTokenBucket(stringRedisTemplate);
+        RedisLeasedLimiter limiter = new RedisLeasedLimiter(redisTokenBucket, "testSlowLease", 10, 2, 1, 1);
+
+        long start = System.nanoTime();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+        // 超时后进入单机限流，之后的请求不再等待租借结果
+        Assertions.assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(400));
+        redisTokenBucket.destroy();
+    }
+
+    static class SlowRedisTokenBucket extends RedisTokenBucket {
+
+        SlowRedisTokenBucket(StringRedisTemplate stringRedisTemplate) {
+            super(stringRedisTemplate, 50L);
+        }
+
+        @Override
+        public long lease(String name, double permitsPerSecond, int capacity, int requested) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.lease(name, permitsPerSecond, capacity, requested);
+        }
+
+    }
+
+    static class CountingRedisTokenBucket extends RedisTokenBucket {
+
+        private final AtomicInteger leaseCount = new AtomicInteger();
+
+        CountingRedisTokenBucket(StringRedisTemplate stringRedisTemplate) {
+            super(stringRedisTemplate);
+        }
+
+        @Override
+        public long lease(String name, double permitsPerSecond, int capacity, int requested) {
+            leaseCount.incrementAndGet();
+            return super.lease(name, permitsPerSecond, capacity, requested);
+        }
+
+        int getLeaseCount() {
+            return leaseCount.get();
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.test.cases;
+
+import io.github.smart.cloud.starter.rate.limit.limiter.RedisTokenBucket;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.redisson.spring.starter.RedissonAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+/**
+ * 使用redis starter自动配置的StringRedisTemplate（值按json序列化）租借令牌
+ */
+class RedisTokenBucketTest {
+
+    private static final int REDIS_SERVER_PORT = 6379;
+    private static RedisServer redisServer;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(io.github.smart.cloud.starter.redis.autoconfigure.RedisAutoConfiguration.class,
+                    RedissonAutoConfiguration.class, org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration.class))
+            .withPropertyValues("spring.redis.host=127.0.0.1", "spring.redis.port=" + REDIS_SERVER_PORT);
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = RedisServer.builder()
+                .port(REDIS_SERVER_PORT)
+                .setting("maxmemory 128M")
+                .build();
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (redisServer.isActive()) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    void testLeaseWithAutoConfiguredTemplate() {
+        contextRunner.run(context -> {
+            RedisTokenBucket redisTokenBucket = new RedisTokenBucket(context.getBean(StringRedisTemplate.class));
+            try {
+                Assertions.assertThat(redisTokenBucket.lease("testAutoConfigured", 10, 5, 3)).isEqualTo(3L);
+                Assertions.assertThat(redisTokenBucket.lease("testAutoConfigured", 10, 5, 3)).isEqualTo(2L);
+            } finally {
+                redisTokenBucket.destroy();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.rate.limit.test.cases;
+
+import io.github.smart.cloud.starter.rate.limit.limiter.TokenBucketLimiter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void testBurst() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        }
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+        // 100ms发放1个令牌
+        TimeUnit.MILLISECONDS.sleep(150);
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    /**
+     * 原地调整速率，已消耗的令牌不会因调整而恢复
+     */
+    @Test
+    void testResize() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        limiter.resize(20, 10, 0);
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void testRate() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, 1, 0);
+        int passed = 0;
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < end) {
+            if (limiter.tryAcquire()) {
+                passed++;
+            }
+        }
+        Assertions.assertThat(passed).isBetween(40, 60);
+    }
+
+    @Test
+    void testWarmup() {
+        TokenBucketLimiter coldLimiter = new TokenBucketLimiter(100, 1, 1000);
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, 1, 0);
+        int coldPassed = 0;
+        int passed = 0;
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        while (System.nanoTime() < end) {
+            if (coldLimiter.tryAcquire()) {
+                coldPassed++;
+            }
+            if (limiter.tryAcquire()) {
+                passed++;
+            }
+        }
+        // 预热期内速率低于正常值
+        Assertions.assertThat(coldPassed).isLessThan(passed * 2 / 3);
+    }
+
+}
@@ -16,6 +16,7 @@
 package io.github.smart.cloud.starter.rate.limit.test.prepare.controller;
 
 import io.github.smart.cloud.starter.rate.limit.annotation.RateLimiter;
+import io.github.smart.cloud.starter.rate.limit.enums.RateLimitMode;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.concurrent.TimeUnit;
@@ -37,6 +38,18 @@ public class ProductController {
         return true;
     }
 
+    @RateLimiter(permits = 2, mode = RateLimitMode.RATE)
+    @GetMapping("detail")
+    public String detail() {
+        return "张三";
+    }
+
+    @RateLimiter(permits = 1, mode = RateLimitMode.RATE, key = "#userId")
+    @GetMapping("orders")
+    public String orders(@RequestParam Long userId) {
+        return "order";
+    }
+
     @PutMapping
     public Boolean update() throws InterruptedException {
         TimeUnit.SECONDS.sleep(1);
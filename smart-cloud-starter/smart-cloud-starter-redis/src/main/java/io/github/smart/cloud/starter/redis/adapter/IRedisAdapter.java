@@ -16,9 +16,12 @@
 package io.github.smart.cloud.starter.redis.adapter;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * redis防腐层
@@ -29,13 +32,33 @@ import java.util.concurrent.TimeUnit;
 public interface IRedisAdapter {
 
     /**
-     * 获取匹配的key
+     * 获取匹配的key（使用KEYS命令，会阻塞redis，key较多时请使用{@link #scan(String, int)}）
      *
      * @param pattern
      * @return
      */
     Set<Object> keys(Object pattern);
 
+    /**
+     * 使用SCAN命令遍历匹配的key（惰性加载，每次从redis获取一批）
+     * <p/>
+     * 返回的Stream占用一个redis连接，使用完后必须关闭（如try-with-resources）
+     *
+     * @param pattern
+     * @param batchSize 每次SCAN的数量（COUNT）
+     * @return
+     */
+    Stream<Object> scan(String pattern, int batchSize);
+
+    /**
+     * 遍历匹配的key并异步删除（边SCAN边按批pipeline执行UNLINK）
+     *
+     * @param pattern
+     * @param batchSize 每批数量
+     * @return 删除的key数量
+     */
+    long unlinkByPattern(String pattern, int batchSize);
+
     /**
      * 设置k-v对
      *
@@ -53,6 +76,75 @@ public interface IRedisAdapter {
      */
     Object get(Object key);
 
+    /**
+     * 批量获取value（MGET）
+     *
+     * @param keys
+     * @return 与keys顺序一致，不存在的key对应null
+     */
+    List<Object> multiGet(Collection<Object> keys);
+
+    /**
+     * 批量设置k-v对（pipeline）
+     *
+     * @param data
+     * @param expireMillis 有效期（毫秒），为null表示不设置有效期
+     */
+    void multiSet(Map<Object, Object> data, Long expireMillis);
+
+    /**
+     * 批量设置k-v对，每个key单独指定有效期（pipeline）
+     *
+     * @param data
+     * @param expireMillis <key，有效期（毫秒）>，不包含的key不设置有效期
+     */
+    void multiSet(Map<Object, Object> data, Map<Object, Long> expireMillis);
+
+    /**
+     * 批量设置key有效期（pipeline）
+     *
+     * @param keys
+     * @param expireMillis 有效期（毫秒）
+     */
+    void multiExpire(Collection<Object> keys, long expireMillis);
+
+    /**
+     * 在一次网络往返中执行多个命令
+     *
+     * <pre>
+     * List&lt;RedisResponse&lt;Object&gt;&gt; values = new ArrayList&lt;&gt;();
+     * redisAdapter.pipeline(batch -&gt; {
+     *     values.add(batch.get("key1"));
+     *     batch.set("key2", "value2", 60000L);
+     * });
+     * values.get(0).get();
+     * </pre>
+     *
+     * @param consumer 记录需要执行的命令
+     */
+    void pipeline(Consumer<RedisBatch> consumer);
+
+    /**
+     * 缓冲累加计数：先在本地累加，定时（或待刷新key过多时）通过pipeline批量INCRBY写入redis
+     * <p/>
+     * 适用于浏览数、点赞数等允许短暂延迟的计数；进程异常退出时最多丢失一个刷新周期内的增量
+     *
+     * @param key
+     * @param delta
+     * @see RedisBufferedCounter
+     */
+    void incrementBuffered(String key, long delta);
+
+    /**
+     * 缓冲累加hash计数：先在本地累加，定时（或待刷新key过多时）通过pipeline批量HINCRBY写入redis
+     *
+     * @param key
+     * @param field
+     * @param delta
+     * @see RedisBufferedCounter
+     */
+    void incrementHashBuffered(String key, String field, long delta);
+
     /**
      * 设置key有效期
      *
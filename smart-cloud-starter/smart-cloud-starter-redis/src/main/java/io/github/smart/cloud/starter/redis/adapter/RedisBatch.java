@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.adapter;
+
+/**
+ * pipeline批量命令（所有命令在一次网络往返中执行）
+ *
+ * <p>命令先被记录，{@link IRedisAdapter#pipeline(java.util.function.Consumer)}返回后才能通过{@link RedisResponse#get()}获取结果</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public interface RedisBatch {
+
+    /**
+     * 根据key获取value
+     *
+     * @param key
+     * @return
+     */
+    RedisResponse<Object> get(Object key);
+
+    /**
+     * 设置k-v对（SET无返回值）
+     *
+     * @param key
+     * @param value
+     * @param expireMillis 有效期（毫秒），为null表示不设置有效期
+     */
+    void set(Object key, Object value, Long expireMillis);
+
+    /**
+     * 设置key有效期
+     *
+     * @param key
+     * @param expireMillis 有效期（毫秒）
+     * @return
+     */
+    RedisResponse<Boolean> expire(Object key, long expireMillis);
+
+    /**
+     * 异步删除k-v对
+     *
+     * @param key
+     * @return 删除的数量
+     */
+    RedisResponse<Long> unlink(Object key);
+
+    /**
+     * 自增
+     *
+     * @param key
+     * @param delta
+     * @return 自增后的值
+     */
+    RedisResponse<Long> increment(Object key, long delta);
+
+    /**
+     * 获取hash值
+     *
+     * @param key
+     * @param hashKey
+     * @return
+     */
+    RedisResponse<Object> getHash(Object key, Object hashKey);
+
+    /**
+     * 设置hash值
+     *
+     * @param key
+     * @param hashKey
+     * @param value
+     * @return {@code true}表示新增的hashKey；{@code false}表示覆盖已存在的hashKey
+     */
+    RedisResponse<Boolean> putHash(Object key, Object hashKey, Object value);
+
+}
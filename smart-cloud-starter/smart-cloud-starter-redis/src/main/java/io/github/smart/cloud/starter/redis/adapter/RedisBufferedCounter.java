@@ -0,0 +1,489 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.adapter;
+
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import io.github.smart.cloud.starter.redis.properties.RedisCounterProperties;
+import io.github.smart.cloud.starter.redis.script.RedisScriptRegistry;
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓冲计数（write-behind）
+ *
+ * <p>增量先在本地按key累加（{@link LongAdder}分段累加，热点key无竞争），按时间间隔或待刷新key数量触发，
+ * 将累加后的增量通过pipeline批量写入redis；进程异常退出时最多丢失一个刷新周期内的增量，正常关闭时会刷新剩余增量</p>
+ *
+ * <p>增量通过lua脚本（{@link RedisScriptRegistry#INCREMENT_BATCH_ONCE}）带唯一标记key幂等累加，一次脚本调用累加一批key、共用一个标记key
+ * （单机时最多batchSize个key一批；集群时同一slot的key一批，标记key取首个计数key的hash tag，与计数key位于同一slot）。
+ * pipeline部分执行后失败时，原样（沿用标记key）重试，已执行的批次不会重复累加；重试超过{@link RedisCounterProperties#getRetryExpireMillis()}的增量被丢弃</p>
+ *
+ * <p>redis不可用时按刷新间隔指数退避重试（最大{@link RedisCounterProperties#getMaxRetryBackoffMillis()}），退避期间增量在本地累加；
+ * 本地key数量超过{@link RedisCounterProperties#getMaxBufferedKeys()}后新key的增量被丢弃并记录指标</p>
+ *
+ * <p>刷新线程在第一次累加时才启动</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class RedisBufferedCounter implements DisposableBean {
+
+    /**
+     * 幂等标记key前缀
+     */
+    private static final String MARKER_KEY_PREFIX = "smart:counter:flush:";
+    /**
+     * 丢弃增量时记录日志的最小间隔
+     */
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final byte[] TYPE_INCRBY = "0".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TYPE_HINCRBY = "1".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_FIELD = new byte[0];
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final RedisScript<Long> incrementBatchOnceScript;
+    private final RedisCounterProperties redisCounterProperties;
+    private final ScheduledThreadPoolExecutor executor;
+    @Setter
+    private RedisMetricsRecorder metricsRecorder = RedisMetricsRecorder.NOOP;
+    /**
+     * 定时刷新任务是否已启动
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    /**
+     * 是否已提交了因待刷新key过多触发的刷新任务
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    /**
+     * 写入失败、等待重试的增量；只在{@link #flush()}中访问
+     */
+    private final List<PendingWrite> pendingWrites = new ArrayList<>();
+    /**
+     * 当前重试退避时间（毫秒），写入成功后归零；只在{@link #flush()}中访问
+     */
+    private long retryBackoffMillis;
+    /**
+     * 在该时间之前不重试写入失败的增量
+     */
+    private volatile long nextRetryNanos = System.nanoTime();
+    /**
+     * 是否为集群（首次写入时判断）
+     */
+    private volatile Boolean cluster;
+    /**
+     * 上次记录丢弃日志的时间
+     */
+    private final AtomicLong lastDropLogNanos = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+    /**
+     * 当前累加的缓冲区；刷新时整体替换
+     */
+    private volatile Buffer buffer = new Buffer();
+
+    public RedisBufferedCounter(RedisTemplate<Object, Object> redisTemplate, RedisScriptRegistry redisScriptRegistry,
+                                RedisCounterProperties redisCounterProperties) {
+        this.redisTemplate = redisTemplate;
+        this.incrementBatchOnceScript = redisScriptRegistry.get(RedisScriptRegistry.INCREMENT_BATCH_ONCE);
+        this.redisCounterProperties = redisCounterProperties;
+        this.executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("redis-counter-flush"));
+    }
+
+    /**
+     * 累加计数（对应INCRBY）
+     *
+     * @param key
+     * @param delta
+     */
+    public void increment(String key, long delta) {
+        add(new CounterKey(key, null), delta);
+    }
+
+    /**
+     * 累加hash计数（对应HINCRBY）
+     *
+     * @param key
+     * @param field
+     * @param delta
+     */
+    public void incrementHash(String key, String field, long delta) {
+        add(new CounterKey(key, field), delta);
+    }
+
+    /**
+     * 立即将本地累加的增量写入redis
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        // 先重试上次失败的增量；退避中或仍然失败时（redis不可用）不再取出新的增量，继续在本地累加
+        if (!pendingWrites.isEmpty()) {
+            if (isBackingOff()) {
+                return;
+            }
+            retryPendingWrites();
+            if (!updateBackoff()) {
+                return;
+            }
+        }
+
+        Buffer old = buffer;
+        buffer = new Buffer();
+        // 等待已读取到旧缓冲区的累加操作完成
+        while (old.inFlight.sum() != 0) {
+            Thread.yield();
+        }
+        if (old.adders.isEmpty()) {
+            return;
+        }
+
+        List<Increment> increments = new ArrayList<>(old.adders.size());
+        for (Map.Entry<CounterKey, LongAdder> entry : old.adders.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta != 0) {
+                increments.add(new Increment(entry.getKey(), delta));
+            }
+        }
+        writeBatches(toPendingWrites(increments));
+        updateBackoff();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(redisCounterProperties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    private void add(CounterKey counterKey, long delta) {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            schedule();
+        }
+        while (true) {
+            Buffer current = buffer;
+            current.inFlight.increment();
+            try {
+                // 读取后缓冲区已被替换，则重新读取，保证刷新时旧缓冲区不再有写入
+                if (current != buffer) {
+                    continue;
+                }
+                LongAdder adder = current.adders.get(counterKey);
+                if (adder == null) {
+                    if (current.adders.size() >= redisCounterProperties.getMaxBufferedKeys()) {
+                        drop(counterKey, delta);
+                        return;
+                    }
+                    adder = current.adders.computeIfAbsent(counterKey, k -> new LongAdder());
+                }
+                adder.add(delta);
+                // 退避中不触发刷新，由定时任务在退避结束后重试
+                if (current.adders.size() >= redisCounterProperties.getMaxPendingKeys() && !isBackingOff() && flushRequested.compareAndSet(false, true)) {
+                    requestFlush();
+                }
+                return;
+            } finally {
+                current.inFlight.decrement();
+            }
+        }
+    }
+
+    private void schedule() {
+        long flushIntervalMillis = redisCounterProperties.getFlushIntervalMillis();
+        try {
+            executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已关闭，剩余增量由destroy()刷新
+        }
+    }
+
+    private void requestFlush() {
+        try {
+            executor.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            // 已关闭，剩余增量由destroy()刷新
+            flushRequested.set(false);
+        }
+    }
+
+    /**
+     * 丢弃增量（本地累加的key数量已达上限）
+     *
+     * @param counterKey
+     * @param delta
+     */
+    private void drop(CounterKey counterKey, long delta) {
+        metricsRecorder.recordCounterDropped(1);
+        long last = lastDropLogNanos.get();
+        long now = System.nanoTime();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLogNanos.compareAndSet(last, now)) {
+            log.error("redis counter buffer full, discard|key={}|field={}|delta={}|maxBufferedKeys={}", counterKey.key, counterKey.field, delta,
+                    redisCounterProperties.getMaxBufferedKeys());
+        }
+    }
+
+    private boolean isBackingOff() {
+        return System.nanoTime() - nextRetryNanos < 0;
+    }
+
+    /**
+     * 根据本次写入结果更新退避时间：有失败的增量时从刷新间隔开始翻倍，全部成功时归零
+     *
+     * @return 是否全部写入成功
+     */
+    private boolean updateBackoff() {
+        if (pendingWrites.isEmpty()) {
+            retryBackoffMillis = 0L;
+            return true;
+        }
+
+        long flushIntervalMillis = redisCounterProperties.getFlushIntervalMillis();
+        retryBackoffMillis = Math.min(Math.max(flushIntervalMillis, retryBackoffMillis * 2), Math.max(flushIntervalMillis,
+                redisCounterProperties.getMaxRetryBackoffMillis()));
+        nextRetryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis);
+        return false;
+    }
+
+    /**
+     * 重试写入失败的增量，超过重试时间的丢弃（其标记key可能已过期，重试会重复累加）
+     */
+    private void retryPendingWrites() {
+        long retryExpireNanos = TimeUnit.MILLISECONDS.toNanos(redisCounterProperties.getRetryExpireMillis());
+        long nowNanos = System.nanoTime();
+        List<PendingWrite> writes = new ArrayList<>(pendingWrites.size());
+        for (PendingWrite pendingWrite : pendingWrites) {
+            if (nowNanos - pendingWrite.createNanos < retryExpireNanos) {
+                writes.add(pendingWrite);
+            } else {
+                for (Increment increment : pendingWrite.increments) {
+                    log.error("redis counter retry expired, discard|key={}|field={}|delta={}", increment.counterKey.key, increment.counterKey.field,
+                            increment.delta);
+                }
+            }
+        }
+        pendingWrites.clear();
+        writeBatches(writes);
+    }
+
+    /**
+     * 将增量分批，每批共用一个标记key：单机时按batchSize分批；集群时先按slot分组（一次脚本调用的key须位于同一slot），再按batchSize分批
+     *
+     * @param increments
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private List<PendingWrite> toPendingWrites(List<Increment> increments) {
+        Collection<List<Increment>> groups;
+        if (isCluster()) {
+            RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+            Map<Integer, List<Increment>> slotGroups = new HashMap<>();
+            for (Increment increment : increments) {
+                int slot = ClusterSlotHashUtil.calculateSlot(keySerializer.serialize(increment.counterKey.key));
+                slotGroups.computeIfAbsent(slot, k -> new ArrayList<>()).add(increment);
+            }
+            groups = slotGroups.values();
+        } else {
+            groups = Collections.singletonList(increments);
+        }
+
+        String flushId = UUID.randomUUID().toString();
+        long nowNanos = System.nanoTime();
+        int batchSize = Math.max(1, redisCounterProperties.getBatchSize());
+        List<PendingWrite> writes = new ArrayList<>();
+        for (List<Increment> group : groups) {
+            for (int from = 0; from < group.size(); from += batchSize) {
+                List<Increment> batch = group.subList(from, Math.min(from + batchSize, group.size()));
+                writes.add(new PendingWrite(batch, getMarkerKey(batch.get(0).counterKey.key, flushId + ':' + writes.size()), nowNanos));
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * 通过pipeline写入，每个pipeline最多累加batchSize个key
+     *
+     * @param writes
+     */
+    private void writeBatches(List<PendingWrite> writes) {
+        int batchSize = Math.max(1, redisCounterProperties.getBatchSize());
+        List<PendingWrite> pipeline = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < writes.size(); i++) {
+            PendingWrite pendingWrite = writes.get(i);
+            pipeline.add(pendingWrite);
+            size += pendingWrite.increments.size();
+            if (size >= batchSize || i == writes.size() - 1) {
+                try {
+                    write(pipeline);
+                } catch (RuntimeException e) {
+                    // 部分批次可能已写入，沿用原标记key在下次刷新时重试，已写入的不会重复累加
+                    log.warn("redis counter flush fail|size={}", size, e);
+                    pendingWrites.addAll(pipeline);
+                }
+                pipeline = new ArrayList<>();
+                size = 0;
+            }
+        }
+    }
+
+    /**
+     * 是否为集群；redis不可用、无法判断时按集群处理（按slot分组结果同样正确，只是批次更多）
+     *
+     * @return
+     */
+    private boolean isCluster() {
+        Boolean current = cluster;
+        if (current == null) {
+            try {
+                current = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection instanceof RedisClusterConnection);
+            } catch (RuntimeException e) {
+                return true;
+            }
+            cluster = current;
+        }
+        return Boolean.TRUE.equals(current);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(List<PendingWrite> batch) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<String> hashKeySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+        byte[] sha1 = incrementBatchOnceScript.getSha1().getBytes(StandardCharsets.UTF_8);
+        byte[] markerExpireMillis = String.valueOf(redisCounterProperties.getRetryExpireMillis()).getBytes(StandardCharsets.UTF_8);
+
+        // pipeline中EVALSHA遇到NOSCRIPT时无法回退为EVAL，先确保脚本已加载
+        redisTemplate.execute((RedisCallback<String>) connection -> connection.scriptingCommands()
+                .scriptLoad(incrementBatchOnceScript.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            RedisScriptingCommands scriptingCommands = connection.scriptingCommands();
+            for (PendingWrite pendingWrite : batch) {
+                List<Increment> increments = pendingWrite.increments;
+                int keyCount = increments.size() + 1;
+                byte[][] keysAndArgs = new byte[keyCount + 1 + increments.size() * 3][];
+                keysAndArgs[0] = keySerializer.serialize(pendingWrite.markerKey);
+                keysAndArgs[keyCount] = markerExpireMillis;
+                for (int i = 0; i < increments.size(); i++) {
+                    Increment increment = increments.get(i);
+                    int argIndex = keyCount + 1 + i * 3;
+                    keysAndArgs[i + 1] = keySerializer.serialize(increment.counterKey.key);
+                    keysAndArgs[argIndex] = String.valueOf(increment.delta).getBytes(StandardCharsets.UTF_8);
+                    if (increment.counterKey.field == null) {
+                        keysAndArgs[argIndex + 1] = TYPE_INCRBY;
+                        keysAndArgs[argIndex + 2] = EMPTY_FIELD;
+                    } else {
+                        keysAndArgs[argIndex + 1] = TYPE_HINCRBY;
+                        keysAndArgs[argIndex + 2] = hashKeySerializer.serialize(increment.counterKey.field);
+                    }
+                }
+                scriptingCommands.evalSha(sha1, ReturnType.INTEGER, keyCount, keysAndArgs);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 生成与计数key位于同一slot的标记key（计数key有hash tag时取hash tag，否则取整个key）
+     *
+     * @param key
+     * @param writeId
+     * @return
+     */
+    private static String getMarkerKey(String key, String writeId) {
+        int start = key.indexOf('{');
+        int end = start == -1 ? -1 : key.indexOf('}', start + 1);
+        String hashTag = end > start + 1 ? key.substring(start + 1, end) : key;
+        return MARKER_KEY_PREFIX + '{' + hashTag + "}:" + writeId;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable e) {
+            log.warn("redis counter flush fail", e);
+        }
+    }
+
+    /**
+     * 累加缓冲区
+     */
+    private static final class Buffer {
+
+        private final Map<CounterKey, LongAdder> adders = new ConcurrentHashMap<>();
+        /**
+         * 正在写入该缓冲区的操作数
+         */
+        private final LongAdder inFlight = new LongAdder();
+
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class CounterKey {
+
+        private final String key;
+        private final String field;
+
+    }
+
+    @AllArgsConstructor
+    private static final class Increment {
+
+        private final CounterKey counterKey;
+        private final long delta;
+
+    }
+
+    /**
+     * 待写入的一批增量（一次脚本调用）
+     */
+    @AllArgsConstructor
+    private static final class PendingWrite {
+
+        private final List<Increment> increments;
+        /**
+         * 幂等标记key，重试时保持不变
+         */
+        private final String markerKey;
+        private final long createNanos;
+
+    }
+
+}
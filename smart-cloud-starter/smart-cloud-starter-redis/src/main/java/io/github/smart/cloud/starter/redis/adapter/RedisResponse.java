@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.adapter;
+
+/**
+ * pipeline中命令的返回结果
+ *
+ * @param <T> 结果类型
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisBatch
+ */
+public interface RedisResponse<T> {
+
+    /**
+     * 获取结果（pipeline执行完成后才能获取）
+     *
+     * @return
+     * @throws IllegalStateException pipeline未执行完成
+     */
+    T get();
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.adapter;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 从节点读RedisTemplate，只用于读操作（缓存读取、IRedisAdapter的get类操作）
+ *
+ * <p>持有独立的{@link LettuceConnectionFactory}（按ReadFrom策略路由到从节点，从节点不可用时回退主节点），
+ * 不作为{@link org.springframework.data.redis.connection.RedisConnectionFactory}注册到容器，避免影响按类型注入的主节点连接；
+ * 写、锁、删除仍走主节点。主从复制是异步的，从节点可能读到稍旧的数据</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class ReplicaRedisTemplate extends RedisTemplate<Object, Object> implements DisposableBean {
+
+    private final LettuceConnectionFactory replicaConnectionFactory;
+
+    public ReplicaRedisTemplate(LettuceConnectionFactory replicaConnectionFactory) {
+        this.replicaConnectionFactory = replicaConnectionFactory;
+        setConnectionFactory(replicaConnectionFactory);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        replicaConnectionFactory.afterPropertiesSet();
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    public void destroy() {
+        replicaConnectionFactory.destroy();
+    }
+
+}
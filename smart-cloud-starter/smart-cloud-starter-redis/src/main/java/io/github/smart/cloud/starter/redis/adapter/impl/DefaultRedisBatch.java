@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.adapter.impl;
+
+import io.github.smart.cloud.starter.redis.adapter.RedisBatch;
+import io.github.smart.cloud.starter.redis.adapter.RedisResponse;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * pipeline批量命令：先记录命令，再在pipeline中一次执行，按顺序回填结果
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+class DefaultRedisBatch implements RedisBatch {
+
+    /**
+     * 记录的命令
+     */
+    private final List<Consumer<RedisOperations<Object, Object>>> commands = new ArrayList<>();
+    /**
+     * 有返回值的命令对应的结果（SET等状态回复不在pipeline结果中）
+     */
+    private final List<Response<?>> responses = new ArrayList<>();
+
+    @Override
+    public RedisResponse<Object> get(Object key) {
+        return add(operations -> operations.opsForValue().get(key));
+    }
+
+    @Override
+    public void set(Object key, Object value, Long expireMillis) {
+        commands.add(operations -> {
+            if (expireMillis == null) {
+                operations.opsForValue().set(key, value);
+            } else {
+                operations.opsForValue().set(key, value, expireMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    @Override
+    public RedisResponse<Boolean> expire(Object key, long expireMillis) {
+        return add(operations -> operations.expire(key, expireMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public RedisResponse<Long> unlink(Object key) {
+        return add(operations -> operations.unlink(key));
+    }
+
+    @Override
+    public RedisResponse<Long> increment(Object key, long delta) {
+        return add(operations -> operations.opsForValue().increment(key, delta));
+    }
+
+    @Override
+    public RedisResponse<Object> getHash(Object key, Object hashKey) {
+        return add(operations -> operations.opsForHash().get(key, hashKey));
+    }
+
+    @Override
+    public RedisResponse<Boolean> putHash(Object key, Object hashKey, Object value) {
+        return add(operations -> operations.opsForHash().put(key, hashKey, value));
+    }
+
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * 在pipeline中执行记录的命令
+     *
+     * @param operations
+     */
+    void execute(RedisOperations<Object, Object> operations) {
+        for (Consumer<RedisOperations<Object, Object>> command : commands) {
+            command.accept(operations);
+        }
+    }
+
+    /**
+     * 按顺序回填结果
+     *
+     * @param results pipeline结果
+     */
+    void complete(List<Object> results) {
+        if (results.size() != responses.size()) {
+            throw new IllegalStateException(String.format("pipeline result size %s not match response size %s", results.size(), responses.size()));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            responses.get(i).complete(results.get(i));
+        }
+    }
+
+    private <T> RedisResponse<T> add(Consumer<RedisOperations<Object, Object>> command) {
+        Response<T> response = new Response<>();
+        commands.add(command);
+        responses.add(response);
+        return response;
+    }
+
+    private static class Response<T> implements RedisResponse<T> {
+
+        private boolean completed;
+        private T value;
+
+        @SuppressWarnings("unchecked")
+        void complete(Object value) {
+            this.value = (T) value;
+            this.completed = true;
+        }
+
+        @Override
+        public T get() {
+            if (!completed) {
+                throw new IllegalStateException("pipeline not executed yet");
+            }
+            return value;
+        }
+
+    }
+
+}
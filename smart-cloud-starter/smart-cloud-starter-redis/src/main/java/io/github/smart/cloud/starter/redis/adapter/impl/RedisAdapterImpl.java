@@ -16,17 +16,25 @@
 package io.github.smart.cloud.starter.redis.adapter.impl;
 
 import io.github.smart.cloud.starter.redis.adapter.IRedisAdapter;
+import io.github.smart.cloud.starter.redis.adapter.RedisBatch;
+import io.github.smart.cloud.starter.redis.adapter.RedisBufferedCounter;
+import io.github.smart.cloud.starter.redis.script.RedisScriptRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.RedisStringCommands;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.*;
 import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.Assert;
 
+import javax.annotation.Nonnull;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * redis常用api封装
@@ -39,7 +47,12 @@ import java.util.concurrent.TimeUnit;
 public class RedisAdapterImpl implements IRedisAdapter {
 
     private final RedisTemplate<Object, Object> redisTemplate;
-
+    /**
+     * 读操作使用的RedisTemplate（开启从节点读时路由到从节点，否则与redisTemplate相同）
+     */
+    private final RedisTemplate<Object, Object> readRedisTemplate;
+    private final RedisScriptRegistry redisScriptRegistry;
+    private final RedisBufferedCounter redisBufferedCounter;
 
     /**
      * 获取匹配的key
@@ -52,6 +65,59 @@ public class RedisAdapterImpl implements IRedisAdapter {
         return redisTemplate.keys(pattern);
     }
 
+    /**
+     * 使用SCAN命令遍历匹配的key（惰性加载，每次从redis获取一批）
+     *
+     * @param pattern
+     * @param batchSize 每次SCAN的数量（COUNT）
+     * @return
+     */
+    @Override
+    public Stream<Object> scan(String pattern, int batchSize) {
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        RedisSerializer<Object> keySerializer = getKeySerializer();
+        Cursor<Object> cursor = redisTemplate.executeWithStickyConnection(connection ->
+                new ConvertingCursor<byte[], Object>(connection.keyCommands().scan(scanOptions), keySerializer::deserialize));
+        Assert.notNull(cursor, "scan cursor can not be null");
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (Exception e) {
+                        log.warn("close scan cursor fail", e);
+                    }
+                });
+    }
+
+    /**
+     * 遍历匹配的key并异步删除（边SCAN边按批pipeline执行UNLINK）
+     *
+     * @param pattern
+     * @param batchSize 每批数量
+     * @return 删除的key数量
+     */
+    @Override
+    public long unlinkByPattern(String pattern, int batchSize) {
+        long count = 0;
+        List<Object> batchKeys = new ArrayList<>(batchSize);
+        try (Stream<Object> keys = scan(pattern, batchSize)) {
+            Iterator<Object> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                batchKeys.add(iterator.next());
+                if (batchKeys.size() >= batchSize) {
+                    count += pipelineUnlink(batchKeys);
+                    batchKeys.clear();
+                }
+            }
+        }
+        if (!batchKeys.isEmpty()) {
+            count += pipelineUnlink(batchKeys);
+        }
+
+        return count;
+    }
+
     /**
      * 设置k-v对
      *
@@ -76,7 +142,101 @@ public class RedisAdapterImpl implements IRedisAdapter {
      */
     @Override
     public Object get(Object key) {
-        return redisTemplate.opsForValue().get(key);
+        return readRedisTemplate.opsForValue().get(key);
+    }
+
+    /**
+     * 批量获取value（MGET）
+     *
+     * @param keys
+     * @return 与keys顺序一致，不存在的key对应null
+     */
+    @Override
+    public List<Object> multiGet(Collection<Object> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return readRedisTemplate.opsForValue().multiGet(keys);
+    }
+
+    /**
+     * 批量设置k-v对（pipeline）
+     *
+     * @param data
+     * @param expireMillis 有效期（毫秒），为null表示不设置有效期
+     */
+    @Override
+    public void multiSet(Map<Object, Object> data, Long expireMillis) {
+        pipeline(batch -> data.forEach((key, value) -> batch.set(key, value, expireMillis)));
+    }
+
+    /**
+     * 批量设置k-v对，每个key单独指定有效期（pipeline）
+     *
+     * @param data
+     * @param expireMillis <key，有效期（毫秒）>，不包含的key不设置有效期
+     */
+    @Override
+    public void multiSet(Map<Object, Object> data, Map<Object, Long> expireMillis) {
+        pipeline(batch -> data.forEach((key, value) -> batch.set(key, value, expireMillis.get(key))));
+    }
+
+    /**
+     * 批量设置key有效期（pipeline）
+     *
+     * @param keys
+     * @param expireMillis 有效期（毫秒）
+     */
+    @Override
+    public void multiExpire(Collection<Object> keys, long expireMillis) {
+        pipeline(batch -> keys.forEach(key -> batch.expire(key, expireMillis)));
+    }
+
+    /**
+     * 在一次网络往返中执行多个命令
+     *
+     * @param consumer 记录需要执行的命令
+     */
+    @Override
+    public void pipeline(Consumer<RedisBatch> consumer) {
+        DefaultRedisBatch batch = new DefaultRedisBatch();
+        consumer.accept(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@Nonnull RedisOperations<K, V> operations) {
+                batch.execute((RedisOperations<Object, Object>) operations);
+                return null;
+            }
+        });
+        batch.complete(results);
+    }
+
+    /**
+     * 缓冲累加计数
+     *
+     * @param key
+     * @param delta
+     */
+    @Override
+    public void incrementBuffered(String key, long delta) {
+        redisBufferedCounter.increment(key, delta);
+    }
+
+    /**
+     * 缓冲累加hash计数
+     *
+     * @param key
+     * @param field
+     * @param delta
+     */
+    @Override
+    public void incrementHashBuffered(String key, String field, long delta) {
+        redisBufferedCounter.incrementHash(key, field, delta);
     }
 
     /**
@@ -171,30 +331,25 @@ public class RedisAdapterImpl implements IRedisAdapter {
      * @return
      */
     @Override
+    @SuppressWarnings("unchecked")
     public boolean setHash(String key, Map<String, Object> data, Integer expireSeconds) {
         Assert.hasText(key, "The arg[key] can not be empty");
         Assert.notEmpty(data, "The arg[data] can not be empty");
         Assert.notNull(expireSeconds, "The arg[expireSeconds] can not be null");
 
-        List<Object> keys = new ArrayList<>();
-        keys.add(key);
-
-        List<Object> args = new ArrayList<>();
-        args.add(expireSeconds);
-
+        // hashKey、value分别使用hash的key、value序列化方式，与opsForHash()读取保持一致
+        RedisSerializer<Object> hashKeySerializer = (RedisSerializer<Object>) redisTemplate.getHashKeySerializer();
+        RedisSerializer<Object> hashValueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        Object[] args = new Object[data.size() * 2 + 1];
+        args[0] = String.valueOf(expireSeconds).getBytes(StandardCharsets.UTF_8);
+        int index = 1;
         for (Map.Entry<String, Object> entry : data.entrySet()) {
-            keys.add(entry.getKey());
-            args.add(entry.getValue());
+            args[index++] = hashKeySerializer.serialize(entry.getKey());
+            args[index++] = hashValueSerializer.serialize(entry.getValue());
         }
 
-        String scriptText = buildHashLuaScript(data);
-        log.debug(scriptText);
-
-        DefaultRedisScript<Long> mapRedisScript = new DefaultRedisScript<>();
-        mapRedisScript.setScriptText(scriptText);
-        mapRedisScript.setResultType(Long.TYPE);
-
-        Long result = redisTemplate.execute(mapRedisScript, keys, args.toArray());
+        Long result = redisTemplate.execute(redisScriptRegistry.<Long>get(RedisScriptRegistry.SET_HASH), RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class), Collections.singletonList(key), args);
         return result != null && result == 1L;
     }
 
@@ -206,7 +361,7 @@ public class RedisAdapterImpl implements IRedisAdapter {
      */
     @Override
     public Map<Object, Object> getHash(String key) {
-        return redisTemplate.opsForHash().entries(key);
+        return readRedisTemplate.opsForHash().entries(key);
     }
 
     /**
@@ -219,30 +374,36 @@ public class RedisAdapterImpl implements IRedisAdapter {
      */
     @Override
     public <T> T get(String key, Object hashKey) {
-        return (T) redisTemplate.opsForHash().get(key, hashKey);
+        return (T) readRedisTemplate.opsForHash().get(key, hashKey);
     }
 
     /**
-     * 构建hash结构lua脚本
+     * 通过pipeline批量执行UNLINK
      *
-     * @param data
-     * @return
+     * @param keys
+     * @return 删除的key数量
      */
-    private final String buildHashLuaScript(Map<String, Object> data) {
-        StringBuilder hashLua = new StringBuilder(128);
-        hashLua.append("redis.call('hmset', KEYS[1], ");
+    private long pipelineUnlink(List<Object> keys) {
+        RedisSerializer<Object> keySerializer = getKeySerializer();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object key : keys) {
+                connection.keyCommands().unlink(keySerializer.serialize(key));
+            }
+            return null;
+        });
 
-        for (int index = 0, size = data.size(); index < size; index++) {
-            int luaArgIndex = index + 2;
-            hashLua.append("KEYS[").append(luaArgIndex).append("], ARGV[").append(luaArgIndex).append(']');
-            if (index < size - 1) {
-                hashLua.append(',');
+        long count = 0;
+        for (Object result : results) {
+            if (result instanceof Long) {
+                count += (Long) result;
             }
         }
+        return count;
+    }
 
-        hashLua.append("); return redis.call('expire', KEYS[1], ARGV[1]);");
-
-        return hashLua.toString();
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> getKeySerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getKeySerializer();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量缓存方法的执行结果（如{@code List<User> findByIds(List<Long> ids)}）
+ * <p/>
+ * 集合参数中的每个元素单独缓存（key为“cache:name:元素”，与{@code @Cacheable(name = "name", expressions = "#id")}一致，可共用缓存和{@link CacheEvict}），
+ * 一次批量查询缓存后，只用未命中的元素调用目标方法，结果合并后按参数顺序返回，未命中的结果通过pipeline一次写回。
+ * <p/>
+ * 集合参数支持List、Set、Collection；返回值支持List、Set、Collection（需指定{@link #resultKey()}）和Map（key为参数元素）。
+ * 批量缓存不加分布式锁。
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface BatchCacheable {
+
+    /**
+     * 缓存一级分类名称
+     *
+     * @return
+     */
+    String name();
+
+    /**
+     * 集合参数名；为空时取第一个集合类型的参数
+     *
+     * @return
+     */
+    String argument() default "";
+
+    /**
+     * 从返回集合的元素中获取对应参数元素的SpEL表达式（以结果元素为root对象，如“orderNo”）；返回值为Map时不需要
+     *
+     * @return
+     */
+    String resultKey() default "";
+
+    /**
+     * 缓存有效期
+     *
+     * @return
+     */
+    long cacheTtl();
+
+    /**
+     * 缓存有效期时间单位
+     *
+     * @return
+     */
+    TimeUnit cacheUnit() default TimeUnit.MILLISECONDS;
+
+}
@@ -43,4 +43,11 @@ public @interface CacheEvict {
      */
     String[] expressions();
 
+    /**
+     * 是否将key后缀放入该缓存的布隆过滤器（新增数据的方法上开启，使新数据对{@link Cacheable#bloomFilter()}可见）
+     *
+     * @return
+     */
+    boolean bloomFilter() default false;
+
 }
\ No newline at end of file
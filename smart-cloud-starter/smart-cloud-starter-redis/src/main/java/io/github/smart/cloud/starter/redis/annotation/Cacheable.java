@@ -47,12 +47,30 @@ public @interface Cacheable {
     String[] expressions();
 
     /**
-     * 缓存有效期
+     * 缓存有效期（硬过期时间，超过后缓存被删除）
      *
      * @return
      */
     long cacheTtl();
 
+    /**
+     * 缓存软过期时间（时间单位同cacheUnit），小于等于0表示不开启
+     * <p/>
+     * 超过软过期时间、未超过硬过期时间（cacheTtl）时，直接返回旧值，并在后台刷新一次
+     *
+     * @return
+     */
+    long softTtl() default 0;
+
+    /**
+     * 提前刷新系数（XFetch算法中的beta），小于等于0表示不开启；一般取1，值越大越早刷新
+     * <p/>
+     * 开启后，在过期（开启软过期时为软过期，否则为硬过期）前按加载耗时概率性地提前在后台刷新，避免热点key同时过期
+     *
+     * @return
+     */
+    double earlyRefreshBeta() default 0;
+
     /**
      * 缓存有效期时间单位
      *
@@ -60,6 +78,39 @@ public @interface Cacheable {
      */
     TimeUnit cacheUnit() default TimeUnit.MILLISECONDS;
 
+    /**
+     * 是否缓存null结果（防缓存穿透）
+     *
+     * @return
+     */
+    boolean cacheNull() default false;
+
+    /**
+     * null结果的缓存有效期
+     *
+     * @return
+     */
+    long nullTtl() default 60000L;
+
+    /**
+     * null结果的缓存有效期时间单位
+     *
+     * @return
+     */
+    TimeUnit nullTtlUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 是否使用布隆过滤器拦截不存在的key（防缓存穿透）
+     * <p/>
+     * 缓存未命中时，布隆过滤器判定不存在的key直接返回null，不再加锁查询数据源；需通过{@link io.github.smart.cloud.starter.redis.cache.BloomFilterLoader}
+     * 声明该缓存名称的布隆过滤器，未声明或过滤器加载完成前不拦截；过滤器加载后新增的数据需由写入方通过{@link CacheEvict#bloomFilter()}
+     * 或{@link io.github.smart.cloud.starter.redis.cache.BloomFilterRepository#add(String, String)}放入过滤器，否则会被拦截
+     *
+     * @return
+     * @see io.github.smart.cloud.starter.redis.cache.BloomFilterRepository
+     */
+    boolean bloomFilter() default false;
+
     /**
      * 锁最大等待时间
      *
@@ -77,4 +77,12 @@ public @interface RedisLock {
      */
     TimeUnit unit() default TimeUnit.MILLISECONDS;
 
+    /**
+     * 释放锁时，若本jvm内仍有线程在等待同一个锁，是否将分布式锁直接移交给下一个等待者（不在redis中释放再重新获取）；
+     * 仅在{@link #leaseTime()}为默认值（看门狗续期）时生效
+     *
+     * @return
+     */
+    boolean handoff() default false;
+
 }
\ No newline at end of file
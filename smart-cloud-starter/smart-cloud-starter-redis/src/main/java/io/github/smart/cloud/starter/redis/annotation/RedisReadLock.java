@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.annotation;
+
+import io.github.smart.cloud.constants.CommonReturnCodes;
+import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis分布式读写锁的读锁注解（多个读锁可以同时持有，只与写锁互斥）
+ *
+ * <p>{@link RedisReadLock}与{@link RedisWriteLock}的prefix、expressions解析出相同的key时，使用同一个读写锁，因此需要显式指定相同的prefix；
+ * 其余属性的含义同{@link RedisLock}</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisLock
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RedisReadLock {
+
+    /**
+     * 读写锁的key前缀，须与对应{@link RedisWriteLock#prefix()}相同（默认为方法名，读写方法不同名时无法共用同一个锁）
+     *
+     * @return
+     */
+    String prefix() default "";
+
+    /**
+     * 读写锁的key片段，解析结果须与对应{@link RedisWriteLock#expressions()}一致
+     *
+     * @return
+     */
+    String[] expressions();
+
+    /**
+     * 等待写锁释放超时（获取读锁失败）后的提示code
+     *
+     * @return
+     */
+    String acquiredFailCode() default CommonReturnCodes.GET_LOCK_FAIL;
+
+    /**
+     * 存在写锁时最大等待时间（默认单位毫秒）；没有写锁时立即获取，不受其他读锁影响
+     *
+     * @return
+     */
+    long waitTime() default RedisLockConstants.DEFAULT_WAIT_TIME;
+
+    /**
+     * 读锁的释放时间（默认单位毫秒），只约束当前持有者，其他读锁各自计时
+     *
+     * @return
+     */
+    long leaseTime() default RedisLockConstants.DEFAULT_LEASE_TIME;
+
+    /**
+     * 时间单位
+     *
+     * @return
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+}
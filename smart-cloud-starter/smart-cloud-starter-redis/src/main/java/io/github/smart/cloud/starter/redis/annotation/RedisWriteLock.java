@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.annotation;
+
+import io.github.smart.cloud.constants.CommonReturnCodes;
+import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis分布式读写锁的写锁注解（与读锁、其他写锁互斥）
+ *
+ * <p>持有写锁期间，相同key的{@link RedisReadLock}全部阻塞；key的约定见{@link RedisReadLock}</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisReadLock
+ * @see RedisLock
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RedisWriteLock {
+
+    /**
+     * 读写锁的key前缀，须与对应{@link RedisReadLock#prefix()}相同
+     *
+     * @return
+     */
+    String prefix() default "";
+
+    /**
+     * 读写锁的key片段，解析结果须与对应{@link RedisReadLock#expressions()}一致
+     *
+     * @return
+     */
+    String[] expressions();
+
+    /**
+     * 等待读锁、写锁全部释放超时（获取写锁失败）后的提示code
+     *
+     * @return
+     */
+    String acquiredFailCode() default CommonReturnCodes.GET_LOCK_FAIL;
+
+    /**
+     * 等待已有读锁、写锁全部释放的最大时间（默认单位毫秒）
+     *
+     * @return
+     */
+    long waitTime() default RedisLockConstants.DEFAULT_WAIT_TIME;
+
+    /**
+     * 写锁的释放时间（默认单位毫秒），到期前相同key的读写请求都会等待，不宜过长
+     *
+     * @return
+     */
+    long leaseTime() default RedisLockConstants.DEFAULT_LEASE_TIME;
+
+    /**
+     * 时间单位
+     *
+     * @return
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.autoconfigure;
+
+import io.github.smart.cloud.starter.redis.adapter.ReplicaRedisTemplate;
+import io.github.smart.cloud.starter.redis.annotation.BatchCacheable;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.intercept.BatchCacheableInterceptor;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultBeanFactoryPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 批量缓存拦截器配置
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see BatchCacheable
+ */
+@Configuration
+public class BatchCacheableInterceptorAutoConfiguration {
+
+    @Bean
+    public BatchCacheableInterceptor redisBatchCacheableInterceptor(final RedisTemplate<Object, Object> redisTemplate, final RedissonClient redissonClient,
+                                                                    final LocalCacheRepository localCacheRepository, final CacheTtlPolicy cacheTtlPolicy,
+                                                                    final ObjectProvider<ReplicaRedisTemplate> replicaRedisTemplate,
+                                                                    final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        BatchCacheableInterceptor redisBatchCacheableInterceptor = new BatchCacheableInterceptor(redisTemplate, redissonClient, localCacheRepository,
+                cacheTtlPolicy);
+        replicaRedisTemplate.ifAvailable(redisBatchCacheableInterceptor::setReadRedisTemplate);
+        redisBatchCacheableInterceptor.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisBatchCacheableInterceptor;
+    }
+
+    @Bean
+    public Pointcut redisBatchCacheablePointcut() {
+        AspectJExpressionPointcut redisBatchCacheablePointcut = new AspectJExpressionPointcut();
+        redisBatchCacheablePointcut.setExpression(String.format("@annotation(%s)", BatchCacheable.class.getTypeName()));
+        return redisBatchCacheablePointcut;
+    }
+
+    @Bean
+    public Advisor redisBatchCacheAdvisor(final BatchCacheableInterceptor redisBatchCacheableInterceptor, final Pointcut redisBatchCacheablePointcut) {
+        DefaultBeanFactoryPointcutAdvisor redisBatchCacheableAdvisor = new DefaultBeanFactoryPointcutAdvisor();
+        redisBatchCacheableAdvisor.setAdvice(redisBatchCacheableInterceptor);
+        redisBatchCacheableAdvisor.setPointcut(redisBatchCacheablePointcut);
+
+        return redisBatchCacheableAdvisor;
+    }
+
+}
@@ -16,6 +16,8 @@
 package io.github.smart.cloud.starter.redis.autoconfigure;
 
 import io.github.smart.cloud.starter.redis.annotation.CacheEvict;
+import io.github.smart.cloud.starter.redis.cache.BloomFilterRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
 import io.github.smart.cloud.starter.redis.intercept.RedisEvictInterceptor;
 import org.redisson.api.RedissonClient;
 import org.springframework.aop.Advisor;
@@ -37,8 +39,9 @@ import org.springframework.data.redis.core.RedisTemplate;
 public class CacheEvictInterceptorAutoConfiguration {
 
     @Bean
-    public RedisEvictInterceptor redisEvictInterceptor(final RedisTemplate<Object, Object> redisTemplate, final RedissonClient redissonClient) {
-        return new RedisEvictInterceptor(redisTemplate, redissonClient);
+    public RedisEvictInterceptor redisEvictInterceptor(final RedisTemplate<Object, Object> redisTemplate, final RedissonClient redissonClient,
+                                                       final LocalCacheRepository localCacheRepository, final BloomFilterRepository bloomFilterRepository) {
+        return new RedisEvictInterceptor(redisTemplate, redissonClient, localCacheRepository, bloomFilterRepository);
     }
 
     @Bean
@@ -15,17 +15,33 @@
  */
 package io.github.smart.cloud.starter.redis.autoconfigure;
 
+import io.github.smart.cloud.starter.redis.adapter.ReplicaRedisTemplate;
 import io.github.smart.cloud.starter.redis.annotation.Cacheable;
+import io.github.smart.cloud.starter.redis.cache.BloomFilterLoader;
+import io.github.smart.cloud.starter.redis.cache.BloomFilterRepository;
+import io.github.smart.cloud.starter.redis.cache.CacheRefresher;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.cache.CacheWarmer;
+import io.github.smart.cloud.starter.redis.cache.CacheWarmupRunner;
+import io.github.smart.cloud.starter.redis.cache.HotKeyRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.cache.RedisCircuitBreaker;
 import io.github.smart.cloud.starter.redis.intercept.CacheableInterceptor;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
 import org.redisson.api.RedissonClient;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.support.DefaultBeanFactoryPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.stream.Collectors;
+
 /**
  * 缓存拦截器配置
  *
@@ -37,8 +53,42 @@ import org.springframework.data.redis.core.RedisTemplate;
 public class CacheableInterceptorAutoConfiguration {
 
     @Bean
-    public CacheableInterceptor redisCacheableInterceptor(final RedisTemplate<Object, Object> redisTemplate, final RedissonClient redissonClient) {
-        return new CacheableInterceptor(redisTemplate, redissonClient);
+    public CacheRefresher cacheRefresher(final RedisCacheProperties redisCacheProperties) {
+        return new CacheRefresher(redisCacheProperties.getRefresh());
+    }
+
+    @Bean
+    public BloomFilterRepository bloomFilterRepository(final RedissonClient redissonClient, final RedisCacheProperties redisCacheProperties,
+                                                       final ObjectProvider<BloomFilterLoader> bloomFilterLoaders) {
+        return new BloomFilterRepository(redissonClient, redisCacheProperties, bloomFilterLoaders.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(final RedisCacheProperties redisCacheProperties) {
+        return new RedisCircuitBreaker(redisCacheProperties.getCircuitBreaker());
+    }
+
+    @Bean
+    public CacheWarmupRunner cacheWarmupRunner(final RedisTemplate<Object, Object> redisTemplate, final RedisCacheProperties redisCacheProperties,
+                                               final ObjectProvider<CacheWarmer> cacheWarmers, final CacheTtlPolicy cacheTtlPolicy) {
+        return new CacheWarmupRunner(redisTemplate, redisCacheProperties.getWarmup(), cacheWarmers.orderedStream().collect(Collectors.toList()),
+                cacheTtlPolicy);
+    }
+
+    @Bean
+    public CacheableInterceptor redisCacheableInterceptor(final RedisTemplate<Object, Object> redisTemplate, final RedissonClient redissonClient,
+                                                          final LocalCacheRepository localCacheRepository, final CacheRefresher cacheRefresher,
+                                                          final BloomFilterRepository bloomFilterRepository, final RedisCircuitBreaker redisCircuitBreaker,
+                                                          final CacheTtlPolicy cacheTtlPolicy, final HotKeyRepository hotKeyRepository,
+                                                          final ObjectProvider<ReactiveRedisTemplate<Object, Object>> reactiveRedisTemplate,
+                                                          final ObjectProvider<ReplicaRedisTemplate> replicaRedisTemplate,
+                                                          final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        CacheableInterceptor redisCacheableInterceptor = new CacheableInterceptor(redisTemplate, redissonClient, localCacheRepository, cacheRefresher,
+                bloomFilterRepository, redisCircuitBreaker, cacheTtlPolicy, hotKeyRepository,
+                reactiveRedisTemplate);
+        replicaRedisTemplate.ifAvailable(redisCacheableInterceptor::setReadRedisTemplate);
+        redisCacheableInterceptor.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisCacheableInterceptor;
     }
 
     @Bean
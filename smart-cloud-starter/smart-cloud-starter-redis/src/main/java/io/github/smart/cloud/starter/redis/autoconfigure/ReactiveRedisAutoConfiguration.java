@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.autoconfigure;
+
+import org.redisson.spring.starter.RedissonAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.publisher.Flux;
+
+/**
+ * 响应式redis配置（与RedisTemplate使用相同的序列化方式，供Mono、Flux返回值的缓存拦截使用）
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Configuration
+@ConditionalOnClass({Flux.class, ReactiveRedisTemplate.class})
+@AutoConfigureAfter(value = RedissonAutoConfiguration.class, name = "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration")
+@AutoConfigureBefore(RedisReactiveAutoConfiguration.class)
+public class ReactiveRedisAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(ReactiveRedisConnectionFactory.class)
+    @ConditionalOnMissingBean(name = "reactiveRedisTemplate")
+    @SuppressWarnings("unchecked")
+    public ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate(final ReactiveRedisConnectionFactory reactiveRedisConnectionFactory,
+                                                                       final RedisSerializer<Object> redisValueSerializer) {
+        RedisSerializer<Object> keySerializer = (RedisSerializer<Object>) (RedisSerializer<?>) new StringRedisSerializer();
+        RedisSerializationContext<Object, Object> serializationContext = RedisSerializationContext.newSerializationContext()
+                .key(keySerializer)
+                .value(redisValueSerializer)
+                .hashKey(keySerializer)
+                .hashValue(redisValueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+    }
+
+}
@@ -15,26 +15,66 @@
  */
 package io.github.smart.cloud.starter.redis.autoconfigure;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.smart.cloud.constants.SymbolConstant;
 import io.github.smart.cloud.starter.redis.adapter.IRedisAdapter;
+import io.github.smart.cloud.starter.redis.adapter.RedisBufferedCounter;
+import io.github.smart.cloud.starter.redis.adapter.ReplicaRedisTemplate;
 import io.github.smart.cloud.starter.redis.adapter.impl.RedisAdapterImpl;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlRefreshListener;
+import io.github.smart.cloud.starter.redis.cache.HotKeyRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.condition.LocalCacheEvictCondition;
+import io.github.smart.cloud.starter.redis.endpoint.RedisHotKeyEndpoint;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCounterProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisReplicaProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisSerializerProperties;
+import io.github.smart.cloud.starter.redis.script.RedisScriptRegistry;
+import io.github.smart.cloud.starter.redis.serializer.*;
+import io.lettuce.core.ReadFrom;
+import net.jpountz.lz4.LZ4Factory;
 import org.redisson.Redisson;
 import org.redisson.spring.starter.RedissonAutoConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
 /**
  * redis配置
  *
@@ -47,27 +87,60 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableCaching
 public class RedisAutoConfiguration {
 
+    @Bean
+    @ConfigurationProperties(prefix = RedisSerializerProperties.PREFIX)
+    public RedisSerializerProperties redisSerializerProperties() {
+        return new RedisSerializerProperties();
+    }
+
+    @Bean
+    public JsonRedisValueCodec jsonRedisValueCodec() {
+        return new JsonRedisValueCodec();
+    }
+
+    @Bean
+    public DeflateRedisValueCompressor deflateRedisValueCompressor() {
+        return new DeflateRedisValueCompressor();
+    }
+
+    /**
+     * redis value序列化（编解码器、压缩算法可配置）
+     *
+     * @param redisSerializerProperties
+     * @param codecs
+     * @param compressors
+     * @return
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "redisValueSerializer")
+    public RedisSerializer<Object> redisValueSerializer(final RedisSerializerProperties redisSerializerProperties,
+                                                        final ObjectProvider<RedisValueCodec> codecs,
+                                                        final ObjectProvider<RedisValueCompressor> compressors) {
+        return new CompactRedisSerializer(redisSerializerProperties, codecs.orderedStream().collect(Collectors.toList()),
+                compressors.orderedStream().collect(Collectors.toList()));
+    }
+
     @Bean
     @Primary
-    public RedisTemplate<Object, Object> redisTemplate(final RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<Object, Object> redisTemplate(final RedisConnectionFactory connectionFactory, final RedisSerializer<Object> redisValueSerializer) {
         RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(connectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setValueSerializer(redisValueSerializer);
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setHashValueSerializer(redisValueSerializer);
         return redisTemplate;
     }
 
     @Bean
     @Primary
-    public StringRedisTemplate stringRedisTemplate(final RedisConnectionFactory connectionFactory) {
+    public StringRedisTemplate stringRedisTemplate(final RedisConnectionFactory connectionFactory, final RedisSerializer<Object> redisValueSerializer) {
         StringRedisTemplate stringRedisTemplate = new StringRedisTemplate();
         stringRedisTemplate.setConnectionFactory(connectionFactory);
         stringRedisTemplate.setKeySerializer(new StringRedisSerializer());
-        stringRedisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        stringRedisTemplate.setValueSerializer(redisValueSerializer);
         stringRedisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        stringRedisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        stringRedisTemplate.setHashValueSerializer(redisValueSerializer);
         return stringRedisTemplate;
     }
 
@@ -78,8 +151,197 @@ public class RedisAutoConfiguration {
     }
 
     @Bean
-    public IRedisAdapter redisAdapter(final RedisTemplate<Object, Object> redisTemplate) {
-        return new RedisAdapterImpl(redisTemplate);
+    @ConfigurationProperties(prefix = RedisCacheProperties.PREFIX)
+    public RedisCacheProperties redisCacheProperties() {
+        return new RedisCacheProperties();
+    }
+
+    @Bean
+    public CacheTtlPolicy cacheTtlPolicy(final RedisCacheProperties redisCacheProperties) {
+        return new CacheTtlPolicy(redisCacheProperties);
+    }
+
+    @Bean
+    public HotKeyRepository hotKeyRepository(final RedisCacheProperties redisCacheProperties) {
+        return new HotKeyRepository(redisCacheProperties.getHotKey());
+    }
+
+    @Bean
+    public LocalCacheRepository localCacheRepository(final RedisCacheProperties redisCacheProperties, final RedisTemplate<Object, Object> redisTemplate,
+                                                     final HotKeyRepository hotKeyRepository) {
+        return new LocalCacheRepository(redisCacheProperties, redisTemplate, hotKeyRepository);
+    }
+
+    /**
+     * 订阅本地缓存失效广播（开启本地缓存或热点key提升时）
+     *
+     * @param connectionFactory
+     * @param localCacheRepository
+     * @param redisCacheProperties
+     * @return
+     */
+    @Bean
+    @Conditional(LocalCacheEvictCondition.class)
+    public RedisMessageListenerContainer localCacheEvictListenerContainer(final RedisConnectionFactory connectionFactory,
+                                                                          final LocalCacheRepository localCacheRepository,
+                                                                          final RedisCacheProperties redisCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(localCacheRepository, new ChannelTopic(redisCacheProperties.getLocal().getEvictChannel()));
+        return container;
+    }
+
+    @Bean
+    public RedisScriptRegistry redisScriptRegistry(final RedisTemplate<Object, Object> redisTemplate) {
+        return new RedisScriptRegistry(redisTemplate);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = RedisCounterProperties.PREFIX)
+    public RedisCounterProperties redisCounterProperties() {
+        return new RedisCounterProperties();
+    }
+
+    @Bean
+    public RedisBufferedCounter redisBufferedCounter(final RedisTemplate<Object, Object> redisTemplate, final RedisScriptRegistry redisScriptRegistry,
+                                                     final RedisCounterProperties redisCounterProperties,
+                                                     final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        RedisBufferedCounter redisBufferedCounter = new RedisBufferedCounter(redisTemplate, redisScriptRegistry, redisCounterProperties);
+        redisBufferedCounter.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisBufferedCounter;
+    }
+
+    @Bean
+    public IRedisAdapter redisAdapter(final RedisTemplate<Object, Object> redisTemplate, final ObjectProvider<ReplicaRedisTemplate> replicaRedisTemplate,
+                                      final RedisScriptRegistry redisScriptRegistry, final RedisBufferedCounter redisBufferedCounter) {
+        ReplicaRedisTemplate readRedisTemplate = replicaRedisTemplate.getIfAvailable();
+        return new RedisAdapterImpl(redisTemplate, readRedisTemplate == null ? redisTemplate : readRedisTemplate, redisScriptRegistry, redisBufferedCounter);
+    }
+
+    /**
+     * 读操作路由到从节点（从节点优先，不可用时回退主节点）
+     */
+    @Configuration
+    @ConditionalOnClass({LettuceConnectionFactory.class, ReadFrom.class})
+    @ConditionalOnProperty(prefix = RedisReplicaProperties.PREFIX, name = "enabled", havingValue = "true")
+    @EnableConfigurationProperties(RedisProperties.class)
+    static class ReplicaReadConfiguration {
+
+        @Bean
+        @ConfigurationProperties(prefix = RedisReplicaProperties.PREFIX)
+        public RedisReplicaProperties redisReplicaProperties() {
+            return new RedisReplicaProperties();
+        }
+
+        @Bean
+        public ReplicaRedisTemplate replicaRedisTemplate(final RedisProperties redisProperties, final RedisReplicaProperties redisReplicaProperties,
+                                                         final RedisSerializer<Object> redisValueSerializer) {
+            LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigurationBuilder = LettuceClientConfiguration.builder()
+                    .readFrom(ReadFrom.valueOf(redisReplicaProperties.getReadFrom()));
+            if (redisProperties.getTimeout() != null) {
+                clientConfigurationBuilder.commandTimeout(redisProperties.getTimeout());
+            }
+            if (redisProperties.isSsl()) {
+                clientConfigurationBuilder.useSsl();
+            }
+
+            ReplicaRedisTemplate replicaRedisTemplate = new ReplicaRedisTemplate(new LettuceConnectionFactory(buildRedisConfiguration(redisProperties,
+                    redisReplicaProperties), clientConfigurationBuilder.build()));
+            replicaRedisTemplate.setKeySerializer(new StringRedisSerializer());
+            replicaRedisTemplate.setValueSerializer(redisValueSerializer);
+            replicaRedisTemplate.setHashKeySerializer(new StringRedisSerializer());
+            replicaRedisTemplate.setHashValueSerializer(redisValueSerializer);
+            return replicaRedisTemplate;
+        }
+
+        /**
+         * 按spring.redis构建连接配置：集群、哨兵模式由其自行发现从节点；否则为静态主从（主节点 + smart.redis.replica.nodes）
+         *
+         * @param redisProperties
+         * @param redisReplicaProperties
+         * @return
+         */
+        private RedisConfiguration buildRedisConfiguration(RedisProperties redisProperties, RedisReplicaProperties redisReplicaProperties) {
+            if (redisProperties.getCluster() != null) {
+                RedisClusterConfiguration clusterConfiguration = new RedisClusterConfiguration(redisProperties.getCluster().getNodes());
+                if (redisProperties.getCluster().getMaxRedirects() != null) {
+                    clusterConfiguration.setMaxRedirects(redisProperties.getCluster().getMaxRedirects());
+                }
+                clusterConfiguration.setUsername(redisProperties.getUsername());
+                clusterConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+                return clusterConfiguration;
+            }
+
+            if (redisProperties.getSentinel() != null) {
+                RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+                RedisSentinelConfiguration sentinelConfiguration = new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+                sentinelConfiguration.setDatabase(redisProperties.getDatabase());
+                sentinelConfiguration.setUsername(redisProperties.getUsername());
+                sentinelConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+                sentinelConfiguration.setSentinelPassword(RedisPassword.of(sentinel.getPassword()));
+                return sentinelConfiguration;
+            }
+
+            RedisStaticMasterReplicaConfiguration masterReplicaConfiguration = new RedisStaticMasterReplicaConfiguration(redisProperties.getHost(),
+                    redisProperties.getPort());
+            for (String node : redisReplicaProperties.getNodes()) {
+                int index = node.lastIndexOf(SymbolConstant.COLON);
+                masterReplicaConfiguration.addNode(node.substring(0, index), Integer.parseInt(node.substring(index + 1)));
+            }
+            masterReplicaConfiguration.setDatabase(redisProperties.getDatabase());
+            masterReplicaConfiguration.setUsername(redisProperties.getUsername());
+            masterReplicaConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+            return masterReplicaConfiguration;
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnClass(Endpoint.class)
+    static class HotKeyEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RedisHotKeyEndpoint redisHotKeyEndpoint(final HotKeyRepository hotKeyRepository) {
+            return new RedisHotKeyEndpoint(hotKeyRepository);
+        }
+
+    }
+
+    /**
+     * 缓存过期时间配置动态刷新（依赖spring-cloud-context）
+     */
+    @Configuration
+    @ConditionalOnClass(EnvironmentChangeEvent.class)
+    static class CacheTtlRefreshConfiguration {
+
+        @Bean
+        public CacheTtlRefreshListener cacheTtlRefreshListener(final Environment environment, final CacheTtlPolicy cacheTtlPolicy) {
+            return new CacheTtlRefreshListener(environment, cacheTtlPolicy);
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnClass(SmileFactory.class)
+    static class SmileCodecConfiguration {
+
+        @Bean
+        public SmileRedisValueCodec smileRedisValueCodec() {
+            return new SmileRedisValueCodec();
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnClass(LZ4Factory.class)
+    static class Lz4CompressorConfiguration {
+
+        @Bean
+        public Lz4RedisValueCompressor lz4RedisValueCompressor() {
+            return new Lz4RedisValueCompressor();
+        }
+
     }
 
 }
\ No newline at end of file
@@ -17,11 +17,13 @@ package io.github.smart.cloud.starter.redis.autoconfigure;
 
 import io.github.smart.cloud.starter.redis.annotation.RedisLock;
 import io.github.smart.cloud.starter.redis.intercept.RedisLockInterceptor;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
 import org.redisson.api.RedissonClient;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.support.DefaultBeanFactoryPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -36,8 +38,10 @@ import org.springframework.context.annotation.Configuration;
 public class RedisLockInterceptorAutoConfiguration {
 
     @Bean
-    public RedisLockInterceptor redisLockInterceptor(final RedissonClient redissonClient) {
-        return new RedisLockInterceptor(redissonClient);
+    public RedisLockInterceptor redisLockInterceptor(final RedissonClient redissonClient, final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        RedisLockInterceptor redisLockInterceptor = new RedisLockInterceptor(redissonClient);
+        redisLockInterceptor.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisLockInterceptor;
     }
 
     @Bean
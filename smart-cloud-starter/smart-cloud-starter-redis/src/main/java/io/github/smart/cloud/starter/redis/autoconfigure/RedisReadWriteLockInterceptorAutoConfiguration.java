@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.autoconfigure;
+
+import io.github.smart.cloud.starter.redis.annotation.RedisReadLock;
+import io.github.smart.cloud.starter.redis.annotation.RedisWriteLock;
+import io.github.smart.cloud.starter.redis.intercept.RedisReadLockInterceptor;
+import io.github.smart.cloud.starter.redis.intercept.RedisWriteLockInterceptor;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultBeanFactoryPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分布式读写锁拦截器配置
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see {@link RedisReadLock}
+ * @see {@link RedisWriteLock}
+ */
+@Configuration
+public class RedisReadWriteLockInterceptorAutoConfiguration {
+
+    @Bean
+    public RedisReadLockInterceptor redisReadLockInterceptor(final RedissonClient redissonClient, final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        RedisReadLockInterceptor redisReadLockInterceptor = new RedisReadLockInterceptor(redissonClient);
+        redisReadLockInterceptor.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisReadLockInterceptor;
+    }
+
+    @Bean
+    public Pointcut redisReadLockPointcut() {
+        AspectJExpressionPointcut redisReadLockPointcut = new AspectJExpressionPointcut();
+        redisReadLockPointcut.setExpression(String.format("@annotation(%s)", RedisReadLock.class.getTypeName()));
+        return redisReadLockPointcut;
+    }
+
+    @Bean
+    public Advisor redisReadLockAdvisor(final RedisReadLockInterceptor redisReadLockInterceptor, final Pointcut redisReadLockPointcut) {
+        DefaultBeanFactoryPointcutAdvisor redisReadLockAdvisor = new DefaultBeanFactoryPointcutAdvisor();
+        redisReadLockAdvisor.setAdvice(redisReadLockInterceptor);
+        redisReadLockAdvisor.setPointcut(redisReadLockPointcut);
+
+        return redisReadLockAdvisor;
+    }
+
+    @Bean
+    public RedisWriteLockInterceptor redisWriteLockInterceptor(final RedissonClient redissonClient, final ObjectProvider<RedisMetricsRecorder> redisMetricsRecorder) {
+        RedisWriteLockInterceptor redisWriteLockInterceptor = new RedisWriteLockInterceptor(redissonClient);
+        redisWriteLockInterceptor.setMetricsRecorder(redisMetricsRecorder.getIfAvailable(() -> RedisMetricsRecorder.NOOP));
+        return redisWriteLockInterceptor;
+    }
+
+    @Bean
+    public Pointcut redisWriteLockPointcut() {
+        AspectJExpressionPointcut redisWriteLockPointcut = new AspectJExpressionPointcut();
+        redisWriteLockPointcut.setExpression(String.format("@annotation(%s)", RedisWriteLock.class.getTypeName()));
+        return redisWriteLockPointcut;
+    }
+
+    @Bean
+    public Advisor redisWriteLockAdvisor(final RedisWriteLockInterceptor redisWriteLockInterceptor, final Pointcut redisWriteLockPointcut) {
+        DefaultBeanFactoryPointcutAdvisor redisWriteLockAdvisor = new DefaultBeanFactoryPointcutAdvisor();
+        redisWriteLockAdvisor.setAdvice(redisWriteLockInterceptor);
+        redisWriteLockAdvisor.setPointcut(redisWriteLockPointcut);
+
+        return redisWriteLockAdvisor;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 布隆过滤器数据加载器
+ *
+ * <p>布隆过滤器在redis中首次创建时调用，将已存在的key后缀（与{@link io.github.smart.cloud.starter.redis.annotation.Cacheable#expressions()}
+ * 计算出的key后缀一致，多个表达式用冒号拼接）全部放入过滤器；超过32位的后缀由{@link BloomFilterRepository}统一取md5
+ * （同{@link io.github.smart.cloud.starter.redis.key.RedisKeyGenerator#toSuffix(String)}），传入原值即可</p>
+ *
+ * <p>加载后新增的数据不会自动放入过滤器：新增数据的方法需使用{@link io.github.smart.cloud.starter.redis.annotation.CacheEvict#bloomFilter()}，
+ * 或调用{@link BloomFilterRepository#add(String, String)}，否则在过滤器重建前对{@link io.github.smart.cloud.starter.redis.annotation.Cacheable}不可见</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public interface BloomFilterLoader {
+
+    /**
+     * 缓存名称
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 加载已存在的key后缀
+     *
+     * @param collector
+     */
+    void load(Consumer<String> collector);
+
+}
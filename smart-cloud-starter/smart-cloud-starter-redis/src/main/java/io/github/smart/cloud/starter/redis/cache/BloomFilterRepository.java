@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.properties.BloomFilterProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 缓存布隆过滤器（防缓存穿透）
+ *
+ * <p>过滤器保存在redis中（redisson bitmap），服务重启后无需重新加载；只有在redis中首次创建过滤器的节点在后台线程调用{@link BloomFilterLoader}加载数据，
+ * 加载完成后在redis中写入就绪标记。未就绪（加载中、加载失败、加载节点中途宕机）时{@link #mightContain(String, String)}始终返回true，不拦截任何key，
+ * 加载耗时与加载异常都不会传递到业务请求</p>
+ *
+ * <p>只有存在对应{@link BloomFilterLoader}的缓存名称才会创建过滤器；过滤器加载后新增的数据需调用{@link #add(String, String)}
+ * （或使用{@link io.github.smart.cloud.starter.redis.annotation.CacheEvict#bloomFilter()}）放入过滤器</p>
+ *
+ * <p>key后缀超过32位时统一取md5（同{@link RedisKeyGenerator#toSuffix(String)}），与缓存key的后缀一致</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class BloomFilterRepository implements InitializingBean, DisposableBean {
+
+    /**
+     * 就绪标记key后缀
+     */
+    private static final String READY_SUFFIX = ":ready";
+    private static final String READY_VALUE = "1";
+    /**
+     * 重新检查就绪标记的间隔
+     */
+    private static final long READY_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RedissonClient redissonClient;
+    private final RedisCacheProperties redisCacheProperties;
+    private final Map<String, BloomFilterLoader> loaders = new HashMap<>();
+    /**
+     * 缓存名称与布隆过滤器的映射（未声明加载器的名称对应{@link Optional#empty()}）
+     */
+    private final ConcurrentMap<String, Optional<BloomFilterHolder>> bloomFilters = new ConcurrentHashMap<>();
+    /**
+     * 加载线程池（同一缓存名称同时只有一个加载任务，任务数不超过加载器数量）
+     */
+    private final ThreadPoolExecutor executor;
+
+    public BloomFilterRepository(RedissonClient redissonClient, RedisCacheProperties redisCacheProperties, List<BloomFilterLoader> loaders) {
+        this.redissonClient = redissonClient;
+        this.redisCacheProperties = redisCacheProperties;
+        for (BloomFilterLoader loader : loaders) {
+            this.loaders.put(loader.getName(), loader);
+        }
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("bloom-filter-load"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (String name : redisCacheProperties.getBloomFilter().getConfigs().keySet()) {
+            if (!loaders.containsKey(name)) {
+                log.warn("bloom filter ignored, no BloomFilterLoader declared|name={}", name);
+            }
+        }
+        for (String name : loaders.keySet()) {
+            getBloomFilter(name);
+        }
+    }
+
+    /**
+     * key后缀是否可能存在；未声明布隆过滤器、或过滤器未就绪时始终返回true
+     *
+     * @param name
+     * @param keySuffix
+     * @return
+     */
+    public boolean mightContain(String name, String keySuffix) {
+        BloomFilterHolder holder = getBloomFilter(name);
+        if (holder == null || !holder.isReady()) {
+            return true;
+        }
+
+        try {
+            return holder.bloomFilter.contains(RedisKeyGenerator.toSuffix(keySuffix));
+        } catch (IllegalStateException e) {
+            // 过滤器在redis中被删除（如flushdb）或配置变更，本次不拦截，下次访问时重新创建并加载
+            log.warn("bloom filter unavailable|name={}", name, e);
+            bloomFilters.remove(name);
+            return true;
+        }
+    }
+
+    /**
+     * 布隆过滤器是否已就绪（未声明加载器的名称返回false）
+     *
+     * @param name
+     * @return
+     */
+    public boolean isReady(String name) {
+        BloomFilterHolder holder = getBloomFilter(name);
+        return holder != null && holder.isReady();
+    }
+
+    /**
+     * 将key后缀放入布隆过滤器（加载中也可放入）
+     *
+     * @param name
+     * @param keySuffix
+     */
+    public void add(String name, String keySuffix) {
+        BloomFilterHolder holder = getBloomFilter(name);
+        if (holder != null) {
+            holder.bloomFilter.add(RedisKeyGenerator.toSuffix(keySuffix));
+        }
+    }
+
+    /**
+     * 获取布隆过滤器；在redis中新创建时提交后台加载任务，当前线程不等待
+     *
+     * @param name
+     * @return
+     */
+    private BloomFilterHolder getBloomFilter(String name) {
+        BloomFilterHolder holder = bloomFilters.computeIfAbsent(name, this::createBloomFilter).orElse(null);
+        if (holder != null && holder.created && holder.loading.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> load(name, holder));
+            } catch (RejectedExecutionException e) {
+                // 已关闭，保持未就绪状态
+                log.warn("bloom filter load rejected|name={}", name);
+            }
+        }
+        return holder;
+    }
+
+    private Optional<BloomFilterHolder> createBloomFilter(String name) {
+        if (!loaders.containsKey(name)) {
+            return Optional.empty();
+        }
+
+        BloomFilterProperties bloomFilterProperties = redisCacheProperties.getBloomFilter();
+        BloomFilterProperties.BloomFilterConfig config = bloomFilterProperties.getConfigs().get(name);
+        long expectedInsertions = config != null && config.getExpectedInsertions() != null ? config.getExpectedInsertions() : bloomFilterProperties.getExpectedInsertions();
+        double falseProbability = config != null && config.getFalseProbability() != null ? config.getFalseProbability() : bloomFilterProperties.getFalseProbability();
+        String key = RedisKeyPrefix.BLOOM_FILTER.getKey() + name;
+        RBloomFilter<String> bloomFilter = redissonClient.getBloomFilter(key, StringCodec.INSTANCE);
+        RBucket<String> readyFlag = redissonClient.getBucket(key + READY_SUFFIX, StringCodec.INSTANCE);
+        boolean created = bloomFilter.tryInit(expectedInsertions, falseProbability);
+        if (created) {
+            // 过滤器被删除后重建时，清除旧的就绪标记
+            readyFlag.delete();
+        }
+        return Optional.of(new BloomFilterHolder(bloomFilter, readyFlag, created));
+    }
+
+    /**
+     * 加载数据，完成后写入就绪标记；失败时删除过滤器，下次访问时重新创建并加载
+     *
+     * @param name
+     * @param holder
+     */
+    private void load(String name, BloomFilterHolder holder) {
+        long start = System.currentTimeMillis();
+        try {
+            loaders.get(name).load(keySuffix -> holder.bloomFilter.add(RedisKeyGenerator.toSuffix(keySuffix)));
+        } catch (RuntimeException e) {
+            log.error("bloom filter load fail|name={}", name, e);
+            try {
+                holder.bloomFilter.delete();
+            } catch (RuntimeException deleteException) {
+                log.warn("bloom filter delete fail|name={}", name, deleteException);
+            }
+            bloomFilters.remove(name);
+            return;
+        }
+        holder.readyFlag.set(READY_VALUE);
+        holder.ready = true;
+        log.info("bloom filter loaded|name={}, count={}, cost={}ms", name, holder.bloomFilter.count(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 布隆过滤器及其就绪状态
+     */
+    private static class BloomFilterHolder {
+
+        private final RBloomFilter<String> bloomFilter;
+        private final RBucket<String> readyFlag;
+        /**
+         * 是否由本节点在redis中创建（需由本节点加载数据）
+         */
+        private final boolean created;
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private volatile boolean ready;
+        private volatile long nextReadyCheckNanos = System.nanoTime();
+
+        BloomFilterHolder(RBloomFilter<String> bloomFilter, RBucket<String> readyFlag, boolean created) {
+            this.bloomFilter = bloomFilter;
+            this.readyFlag = readyFlag;
+            this.created = created;
+        }
+
+        /**
+         * 是否已就绪；定期从redis重新读取就绪标记，其他节点加载完成或过滤器被重建时及时感知
+         *
+         * @return
+         */
+        boolean isReady() {
+            long now = System.nanoTime();
+            if (now - nextReadyCheckNanos >= 0) {
+                nextReadyCheckNanos = now + READY_CHECK_INTERVAL_NANOS;
+                ready = readyFlag.isExists();
+            }
+            return ready;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.starter.redis.properties.CacheRefreshProperties;
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 缓存后台刷新
+ *
+ * <p>同一个key在本节点同时只有一个刷新任务；线程数、队列长度有界，队列满时放弃本次刷新（继续返回旧值）</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class CacheRefresher implements DisposableBean {
+
+    /**
+     * 正在刷新的key
+     */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public CacheRefresher(CacheRefreshProperties cacheRefreshProperties) {
+        int threads = cacheRefreshProperties.getThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(cacheRefreshProperties.getQueueCapacity()),
+                new NamedThreadFactory("cache-refresh"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交后台刷新任务
+     *
+     * @param key
+     * @param task
+     */
+    public void refresh(String key, Runnable task) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    log.warn("cache refresh fail|key={}", key, e);
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            log.warn("cache refresh rejected|key={}", key);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+}
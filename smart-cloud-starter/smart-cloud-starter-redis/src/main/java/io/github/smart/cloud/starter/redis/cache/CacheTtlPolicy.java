@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.starter.redis.properties.CacheTtlProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存过期时间策略：按缓存名称覆盖过期时间、开关，并增加随机抖动
+ *
+ * <p>读取的是配置的不可变快照，配置刷新时通过{@link #update(CacheTtlProperties)}整体替换（见{@link CacheTtlRefreshListener}），
+ * 读取时不会看到绑定了一半的配置，已删除的配置项也随之失效</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class CacheTtlPolicy {
+
+    private volatile TtlSnapshot snapshot;
+
+    public CacheTtlPolicy(RedisCacheProperties redisCacheProperties) {
+        update(redisCacheProperties.getTtl());
+    }
+
+    /**
+     * 替换配置快照
+     *
+     * @param ttlProperties 新绑定的配置
+     */
+    public void update(CacheTtlProperties ttlProperties) {
+        this.snapshot = new TtlSnapshot(ttlProperties);
+    }
+
+    /**
+     * 缓存是否开启
+     *
+     * @param name 缓存名称
+     * @return
+     */
+    public boolean isEnabled(String name) {
+        CacheTtlProperties.CacheTtlConfig config = snapshot.configs.get(name);
+        return config == null || config.getEnabled() == null || config.getEnabled();
+    }
+
+    /**
+     * 获取缓存过期时间（已加抖动）
+     *
+     * @param name             缓存名称
+     * @param defaultTtlMillis 注解指定的过期时间（毫秒）
+     * @return
+     */
+    public long getTtlMillis(String name, long defaultTtlMillis) {
+        TtlSnapshot current = snapshot;
+        CacheTtlProperties.CacheTtlConfig config = current.configs.get(name);
+        long ttlMillis = config != null && config.getTtlMillis() != null ? config.getTtlMillis() : defaultTtlMillis;
+        return jitter(current, config, ttlMillis);
+    }
+
+    /**
+     * 获取空值缓存过期时间（已加抖动，不受ttlMillis覆盖）
+     *
+     * @param name                 缓存名称
+     * @param defaultNullTtlMillis 注解指定的空值过期时间（毫秒）
+     * @return
+     */
+    public long getNullTtlMillis(String name, long defaultNullTtlMillis) {
+        TtlSnapshot current = snapshot;
+        return jitter(current, current.configs.get(name), defaultNullTtlMillis);
+    }
+
+    private long jitter(TtlSnapshot current, CacheTtlProperties.CacheTtlConfig config, long ttlMillis) {
+        long jitterMillis = config != null && config.getJitterMillis() != null ? config.getJitterMillis() : current.jitterMillis;
+        if (jitterMillis <= 0) {
+            int jitterPercent = config != null && config.getJitterPercent() != null ? config.getJitterPercent() : current.jitterPercent;
+            jitterMillis = ttlMillis * jitterPercent / 100;
+        }
+        if (jitterMillis <= 0 || ttlMillis <= 0) {
+            return ttlMillis;
+        }
+        return ttlMillis + ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+    }
+
+    /**
+     * 配置快照（创建后不再修改）
+     */
+    private static final class TtlSnapshot {
+
+        private final int jitterPercent;
+        private final long jitterMillis;
+        private final Map<String, CacheTtlProperties.CacheTtlConfig> configs;
+
+        private TtlSnapshot(CacheTtlProperties ttlProperties) {
+            this.jitterPercent = ttlProperties.getJitterPercent();
+            this.jitterMillis = ttlProperties.getJitterMillis();
+            Map<String, CacheTtlProperties.CacheTtlConfig> copies = new HashMap<>(ttlProperties.getConfigs().size());
+            ttlProperties.getConfigs().forEach((name, config) -> {
+                CacheTtlProperties.CacheTtlConfig copy = new CacheTtlProperties.CacheTtlConfig();
+                copy.setEnabled(config.getEnabled());
+                copy.setTtlMillis(config.getTtlMillis());
+                copy.setJitterPercent(config.getJitterPercent());
+                copy.setJitterMillis(config.getJitterMillis());
+                copies.put(name, copy);
+            });
+            this.configs = Collections.unmodifiableMap(copies);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.starter.redis.properties.CacheTtlProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * 配置刷新（如配置中心推送）时重新绑定缓存过期时间配置
+ *
+ * <p>每次绑定到新的{@link CacheTtlProperties}对象并整体替换{@link CacheTtlPolicy}中的快照，
+ * 不在原对象上合并，已删除的配置项随之失效</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@RequiredArgsConstructor
+public class CacheTtlRefreshListener implements ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final String TTL_PREFIX = RedisCacheProperties.PREFIX + ".ttl";
+
+    private final Environment environment;
+    private final CacheTtlPolicy cacheTtlPolicy;
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        CacheTtlProperties ttlProperties = Binder.get(environment).bind(TTL_PREFIX, CacheTtlProperties.class).orElseGet(CacheTtlProperties::new);
+        cacheTtlPolicy.update(ttlProperties);
+    }
+
+}
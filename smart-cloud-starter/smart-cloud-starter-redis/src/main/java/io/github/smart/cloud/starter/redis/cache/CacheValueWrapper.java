@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 带过期信息的缓存值（开启软过期或提前刷新时使用）
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheValueWrapper implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 缓存值
+     */
+    private Object value;
+    /**
+     * 软过期时间戳（毫秒），0表示未开启软过期
+     */
+    private long softExpireAt;
+    /**
+     * 硬过期时间戳（毫秒）
+     */
+    private long hardExpireAt;
+    /**
+     * 加载耗时（毫秒）
+     */
+    private long loadMillis;
+
+    /**
+     * 是否需要后台刷新
+     *
+     * <p>已超过软过期时间；或开启提前刷新时，按XFetch算法（now - loadMillis * beta * ln(random) >= expireAt）概率性提前刷新</p>
+     *
+     * @param now
+     * @param beta 提前刷新系数，小于等于0表示不开启提前刷新
+     * @return
+     */
+    public boolean shouldRefresh(long now, double beta) {
+        if (softExpireAt > 0 && now >= softExpireAt) {
+            return true;
+        }
+        if (beta <= 0) {
+            return false;
+        }
+
+        long expireAt = softExpireAt > 0 ? softExpireAt : hardExpireAt;
+        double random = ThreadLocalRandom.current().nextDouble();
+        return now - Math.max(loadMillis, 1L) * beta * Math.log(random) >= expireAt;
+    }
+
+}
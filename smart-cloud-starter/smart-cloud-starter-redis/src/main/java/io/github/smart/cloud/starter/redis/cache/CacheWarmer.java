@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 缓存预热数据加载器
+ *
+ * <p>服务启动时（就绪前）调用，将加载的数据写入{@link io.github.smart.cloud.starter.redis.annotation.Cacheable#name()}相同的缓存；
+ * key后缀与{@link io.github.smart.cloud.starter.redis.annotation.Cacheable#expressions()}计算出的一致（多个表达式用冒号拼接）</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see CacheWarmupRunner
+ */
+public interface CacheWarmer {
+
+    /**
+     * 缓存名称
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 缓存过期时间（毫秒），一般与{@link io.github.smart.cloud.starter.redis.annotation.Cacheable#cacheTtl()}一致
+     *
+     * @return
+     */
+    long getCacheTtlMillis();
+
+    /**
+     * 加载预热数据
+     *
+     * @param collector 参数依次为key后缀、缓存值
+     */
+    void load(BiConsumer<String, Object> collector);
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.constants.SymbolConstant;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.properties.CacheWarmupProperties;
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存启动预热
+ *
+ * <p>在ApplicationRunner阶段执行（spring boot在所有ApplicationRunner执行完后才将就绪状态置为ACCEPTING_TRAFFIC），
+ * 多个{@link CacheWarmer}按有界并发执行，数据按批通过pipeline写入；超时后不再阻塞启动，未完成的预热在后台继续执行</p>
+ *
+ * <p>写入使用SET NX，不覆盖已存在的缓存（避免用预热时读取的旧数据覆盖运行中实例写入的新数据）</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class CacheWarmupRunner implements ApplicationRunner {
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final CacheWarmupProperties cacheWarmupProperties;
+    private final List<CacheWarmer> cacheWarmers;
+    private final CacheTtlPolicy cacheTtlPolicy;
+
+    public CacheWarmupRunner(RedisTemplate<Object, Object> redisTemplate, CacheWarmupProperties cacheWarmupProperties, List<CacheWarmer> cacheWarmers,
+                             CacheTtlPolicy cacheTtlPolicy) {
+        this.redisTemplate = redisTemplate;
+        this.cacheWarmupProperties = cacheWarmupProperties;
+        this.cacheWarmers = cacheWarmers;
+        this.cacheTtlPolicy = cacheTtlPolicy;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!cacheWarmupProperties.isEnabled() || cacheWarmers.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int concurrency = Math.max(1, Math.min(cacheWarmupProperties.getConcurrency(), cacheWarmers.size()));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("cache-warmup"));
+        for (CacheWarmer cacheWarmer : cacheWarmers) {
+            executor.execute(() -> warmup(cacheWarmer));
+        }
+        executor.shutdown();
+
+        if (executor.awaitTermination(cacheWarmupProperties.getTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            log.info("cache warmup finished|cost={}ms", System.currentTimeMillis() - start);
+        } else {
+            log.warn("cache warmup timeout, continue in background|timeout={}ms", cacheWarmupProperties.getTimeoutMillis());
+        }
+    }
+
+    /**
+     * 预热单个缓存
+     *
+     * @param cacheWarmer
+     */
+    private void warmup(CacheWarmer cacheWarmer) {
+        if (!cacheTtlPolicy.isEnabled(StringUtils.removeEnd(cacheWarmer.getName(), SymbolConstant.COLON))) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int batchSize = Math.max(1, cacheWarmupProperties.getBatchSize());
+        Map<Object, Object> batch = new HashMap<>(batchSize * 4 / 3 + 1);
+        int[] count = {0};
+        try {
+            cacheWarmer.load((suffix, value) -> {
+                if (value == null) {
+                    return;
+                }
+                batch.put(RedisKeyGenerator.buildKey(RedisKeyPrefix.CACHE.getKey(), cacheWarmer.getName(), suffix), value);
+                if (batch.size() >= batchSize) {
+                    count[0] += write(batch, cacheWarmer);
+                }
+            });
+            count[0] += write(batch, cacheWarmer);
+            log.info("cache warmup|name={}, count={}, cost={}ms", cacheWarmer.getName(), count[0], System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("cache warmup fail|name={}", cacheWarmer.getName(), e);
+        }
+    }
+
+    /**
+     * 通过pipeline批量写入（SET NX），写入后清空batch；每个key的过期时间单独计算抖动
+     *
+     * @param batch
+     * @param cacheWarmer
+     * @return 写入的数量
+     */
+    private int write(Map<Object, Object> batch, CacheWarmer cacheWarmer) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        String name = StringUtils.removeEnd(cacheWarmer.getName(), SymbolConstant.COLON);
+        long cacheTtlMillis = cacheWarmer.getCacheTtlMillis();
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@Nonnull RedisOperations<K, V> redisOperations) {
+                ValueOperations<Object, Object> valueOperations = ((RedisOperations<Object, Object>) redisOperations).opsForValue();
+                batch.forEach((cacheKey, value) -> valueOperations.setIfAbsent(cacheKey, value, cacheTtlPolicy.getTtlMillis(name, cacheTtlMillis),
+                        TimeUnit.MILLISECONDS));
+                return null;
+            }
+        });
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.smart.cloud.starter.redis.properties.HotKeyProperties;
+import io.github.smart.cloud.utility.concurrent.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.support.NullValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热点key探测
+ *
+ * <p>按采样率统计访问，计数保存在count-min sketch中（4行，计数器非原子自增，允许少量丢失），
+ * 估算访问次数达到阈值的key进入有界的top-K集合；每个衰减周期所有计数减半，冷却的key移出top-K。
+ * 未采样的访问只有一次随机数判断，采样的访问为4次数组自增</p>
+ *
+ * <p>开启提升后，top-K中的key从redis读到的值放入短有效期的进程内缓存，之后的访问不再请求redis</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class HotKeyRepository implements DisposableBean {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final HotKeyProperties hotKeyProperties;
+    private final int[] counters;
+    private final int mask;
+    private final int width;
+    /**
+     * 热点key<缓存key，热点key>
+     */
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final Cache<String, Object> promotedCache;
+    private final ScheduledThreadPoolExecutor executor;
+
+    public HotKeyRepository(HotKeyProperties hotKeyProperties) {
+        this.hotKeyProperties = hotKeyProperties;
+        int sketchWidth = 16;
+        while (sketchWidth < hotKeyProperties.getSketchWidth()) {
+            sketchWidth <<= 1;
+        }
+        this.width = sketchWidth;
+        this.mask = sketchWidth - 1;
+        this.counters = new int[DEPTH * width];
+        this.promotedCache = hotKeyProperties.isPromote() ? Caffeine.newBuilder()
+                .maximumSize(hotKeyProperties.getPromoteMaximumSize())
+                .expireAfterWrite(hotKeyProperties.getPromoteTtlMillis(), TimeUnit.MILLISECONDS)
+                .build() : null;
+        if (hotKeyProperties.isEnabled()) {
+            this.executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("redis-hot-key-decay"));
+            long decayIntervalMillis = hotKeyProperties.getDecayIntervalMillis();
+            this.executor.scheduleWithFixedDelay(this::decay, decayIntervalMillis, decayIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 记录一次访问（按采样率采样）
+     *
+     * @param name 缓存名称
+     * @param key  缓存key
+     */
+    public void record(String name, String key) {
+        if (!hotKeyProperties.isEnabled()) {
+            return;
+        }
+        int sampleRate = hotKeyProperties.getSampleRate();
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+
+        long hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = i * width + indexOf(hash, i);
+            int count = ++counters[index];
+            if (count < min) {
+                min = count;
+            }
+        }
+
+        long estimate = (long) min * Math.max(1, sampleRate);
+        if (estimate >= hotKeyProperties.getHotThreshold()) {
+            offer(name, key, estimate);
+        }
+    }
+
+    /**
+     * 获取提升到进程内缓存的值
+     *
+     * @param key
+     * @return 未提升时返回null
+     */
+    public Object getPromoted(String key) {
+        return promotedCache == null ? null : promotedCache.getIfPresent(key);
+    }
+
+    /**
+     * 热点key的值放入进程内缓存
+     *
+     * @param key
+     * @param value
+     */
+    public void promote(String key, Object value) {
+        if (promotedCache != null && value != null && !(value instanceof NullValue) && hotKeys.containsKey(key)) {
+            promotedCache.put(key, value);
+        }
+    }
+
+    /**
+     * 删除本节点进程内缓存的热点key
+     *
+     * @param key
+     */
+    public void invalidate(String key) {
+        if (promotedCache != null) {
+            promotedCache.invalidate(key);
+        }
+    }
+
+    /**
+     * 获取当前的热点key（按访问次数倒序）
+     *
+     * @return
+     */
+    public List<HotKey> getHotKeys() {
+        List<HotKey> result = new ArrayList<>(hotKeys.values());
+        result.sort(Comparator.comparingLong(HotKey::getCount).reversed());
+        return result;
+    }
+
+    /**
+     * 进入top-K集合：未满时直接加入，已满时替换访问次数最少的key
+     *
+     * @param name
+     * @param key
+     * @param estimate
+     */
+    private void offer(String name, String key, long estimate) {
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey != null) {
+            hotKey.setCount(estimate);
+            return;
+        }
+
+        synchronized (hotKeys) {
+            if (hotKeys.size() >= hotKeyProperties.getTopK()) {
+                HotKey coldest = null;
+                for (HotKey candidate : hotKeys.values()) {
+                    if (coldest == null || candidate.getCount() < coldest.getCount()) {
+                        coldest = candidate;
+                    }
+                }
+                if (coldest == null || coldest.getCount() >= estimate) {
+                    return;
+                }
+                hotKeys.remove(coldest.getKey());
+                invalidate(coldest.getKey());
+            }
+            if (hotKeys.putIfAbsent(key, new HotKey(name, key, estimate)) == null) {
+                log.info("redis hot key detected|name={}, key={}, count={}", name, key, estimate);
+            }
+        }
+    }
+
+    /**
+     * 衰减：所有计数减半，移出低于阈值的热点key（由定时任务按衰减周期调用）
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>>= 1;
+        }
+
+        int sampleRate = Math.max(1, hotKeyProperties.getSampleRate());
+        synchronized (hotKeys) {
+            hotKeys.values().removeIf(hotKey -> {
+                long estimate = (long) estimate(hotKey.getKey()) * sampleRate;
+                hotKey.setCount(estimate);
+                if (estimate >= hotKeyProperties.getHotThreshold()) {
+                    return false;
+                }
+                invalidate(hotKey.getKey());
+                return true;
+            });
+        }
+    }
+
+    private int estimate(String key) {
+        long hash = spread(key.hashCode());
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counters[i * width + indexOf(hash, i)]);
+        }
+        return min;
+    }
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long spread(int hashCode) {
+        long h = hashCode * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 29);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
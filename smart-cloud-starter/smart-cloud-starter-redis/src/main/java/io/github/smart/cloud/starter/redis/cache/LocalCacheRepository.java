@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.smart.cloud.starter.redis.properties.HotKeyProperties;
+import io.github.smart.cloud.starter.redis.properties.LocalCacheProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存（一级缓存）
+ *
+ * <p>按缓存名称创建有界的进程内缓存；缓存删除时通过redis pub/sub广播，各节点收到消息后删除本地缓存及提升到进程内的热点key
+ * （开启本地缓存或热点key提升时广播）</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LocalCacheRepository implements MessageListener {
+
+    private final RedisCacheProperties redisCacheProperties;
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final HotKeyRepository hotKeyRepository;
+    /**
+     * 缓存名称与本地缓存的映射（未开启本地缓存的名称对应{@link Optional#empty()}）
+     */
+    private final ConcurrentMap<String, Optional<Cache<String, Object>>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 获取缓存名称对应的本地缓存
+     *
+     * @param name
+     * @return 未开启本地缓存时返回null
+     */
+    public Cache<String, Object> getCache(String name) {
+        if (!redisCacheProperties.getLocal().isEnabled()) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, this::createCache).orElse(null);
+    }
+
+    /**
+     * 删除本地缓存及热点key，并广播给其他节点
+     *
+     * @param name
+     * @param key
+     */
+    public void evict(String name, String key) {
+        LocalCacheProperties localCacheProperties = redisCacheProperties.getLocal();
+        if (!localCacheProperties.isEnabled() && !isPromoteEnabled(redisCacheProperties.getHotKey())) {
+            return;
+        }
+
+        invalidate(name, key);
+        try {
+            redisTemplate.convertAndSend(localCacheProperties.getEvictChannel(), new CacheEvictMessage(name, key));
+        } catch (Exception e) {
+            log.error("publish local cache evict message fail|name={}, key={}", name, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (body instanceof CacheEvictMessage) {
+            CacheEvictMessage cacheEvictMessage = (CacheEvictMessage) body;
+            invalidate(cacheEvictMessage.getName(), cacheEvictMessage.getKey());
+        }
+    }
+
+    /**
+     * 删除本节点的本地缓存及热点key
+     *
+     * @param name
+     * @param key
+     */
+    private void invalidate(String name, String key) {
+        Optional<Cache<String, Object>> cache = caches.get(name);
+        if (cache != null && cache.isPresent()) {
+            cache.get().invalidate(key);
+        }
+        hotKeyRepository.invalidate(key);
+    }
+
+    /**
+     * 是否开启热点key提升（开启探测且开启提升）
+     *
+     * @param hotKeyProperties
+     * @return
+     */
+    public static boolean isPromoteEnabled(HotKeyProperties hotKeyProperties) {
+        return hotKeyProperties.isEnabled() && hotKeyProperties.isPromote();
+    }
+
+    /**
+     * 根据配置创建本地缓存
+     *
+     * @param name
+     * @return
+     */
+    private Optional<Cache<String, Object>> createCache(String name) {
+        LocalCacheProperties localCacheProperties = redisCacheProperties.getLocal();
+        LocalCacheProperties.LocalCacheConfig config = localCacheProperties.getConfigs().get(name);
+        boolean enabled = true;
+        long maximumSize = localCacheProperties.getMaximumSize();
+        long expireAfterWriteMillis = localCacheProperties.getExpireAfterWriteMillis();
+        if (config != null) {
+            if (config.getEnabled() != null) {
+                enabled = config.getEnabled();
+            }
+            if (config.getMaximumSize() != null) {
+                maximumSize = config.getMaximumSize();
+            }
+            if (config.getExpireAfterWriteMillis() != null) {
+                expireAfterWriteMillis = config.getExpireAfterWriteMillis();
+            }
+        }
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        log.info("create local cache|name={}, maximumSize={}, expireAfterWriteMillis={}", name, maximumSize, expireAfterWriteMillis);
+        return Optional.of(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+                .build());
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.starter.redis.properties.CacheCircuitBreakerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.RedisException;
+import org.springframework.dao.DataAccessException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存访问redis的熔断器
+ *
+ * <p>按秒分桶统计窗口内redis调用的失败率、慢调用率，超过阈值后熔断（缓存拦截器不再访问redis，直接执行目标方法）；
+ * 熔断持续{@link CacheCircuitBreakerProperties#getOpenDurationMillis()}后进入半开状态，放行少量探测调用，全部成功则恢复，否则继续熔断</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final CacheCircuitBreakerProperties properties;
+    private final long slowCallNanos;
+    private final Bucket[] buckets;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private volatile long stateChangedAt;
+
+    public RedisCircuitBreaker(CacheCircuitBreakerProperties properties) {
+        this.properties = properties;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallMillis());
+        this.buckets = new Bucket[Math.max(1, properties.getWindowSeconds())];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * 是否为redis访问异常（连接失败、超时等），序列化等异常不计入失败
+     *
+     * @param e
+     * @return
+     */
+    public static boolean isRedisError(Throwable e) {
+        return e instanceof DataAccessException || e instanceof RedisException;
+    }
+
+    /**
+     * 是否允许访问redis
+     *
+     * @return
+     */
+    public boolean allowRequest() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        // 熔断时间已过（或半开探测长时间没有结果），重新放行探测调用
+        if (System.currentTimeMillis() - stateChangedAt >= properties.getOpenDurationMillis()) {
+            synchronized (this) {
+                if (state.get() == current && System.currentTimeMillis() - stateChangedAt >= properties.getOpenDurationMillis()) {
+                    halfOpenSuccesses.set(0);
+                    halfOpenPermits.set(properties.getHalfOpenCalls());
+                    stateChangedAt = System.currentTimeMillis();
+                    state.set(HALF_OPEN);
+                }
+            }
+        }
+        return state.get() == HALF_OPEN && halfOpenPermits.getAndDecrement() > 0;
+    }
+
+    /**
+     * 执行redis操作，并记录结果
+     *
+     * @param call
+     * @param <T>
+     * @return
+     * @throws Exception
+     */
+    public <T> T execute(RedisCall<T> call) throws Exception {
+        return execute(call, true);
+    }
+
+    /**
+     * 执行redis操作，并记录结果（不统计耗时，用于加锁等本身可能长时间等待的操作）
+     *
+     * @param call
+     * @param <T>
+     * @return
+     * @throws Exception
+     */
+    public <T> T executeIgnoreLatency(RedisCall<T> call) throws Exception {
+        return execute(call, false);
+    }
+
+    /**
+     * 记录异步执行的redis操作结果（响应式访问redis时在完成或出错时调用）
+     *
+     * @param error 成功时为null
+     * @param nanos 耗时，不统计耗时时传0
+     */
+    public void recordResult(Throwable error, long nanos) {
+        record(error != null && isRedisError(error), nanos);
+    }
+
+    /**
+     * 是否处于熔断（非关闭）状态
+     *
+     * @return
+     */
+    public boolean isOpen() {
+        return state.get() != CLOSED;
+    }
+
+    private <T> T execute(RedisCall<T> call, boolean timed) throws Exception {
+        long start = timed ? System.nanoTime() : 0L;
+        try {
+            T result = call.call();
+            record(false, timed ? System.nanoTime() - start : 0L);
+            return result;
+        } catch (Exception e) {
+            record(isRedisError(e), timed ? System.nanoTime() - start : 0L);
+            throw e;
+        }
+    }
+
+    private void record(boolean failure, long nanos) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        boolean slow = nanos >= slowCallNanos;
+        int current = state.get();
+        if (current == HALF_OPEN) {
+            if (failure || slow) {
+                transitionTo(HALF_OPEN, OPEN);
+            } else if (halfOpenSuccesses.incrementAndGet() >= properties.getHalfOpenCalls()) {
+                transitionTo(HALF_OPEN, CLOSED);
+            }
+            return;
+        }
+        if (current == OPEN) {
+            return;
+        }
+
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        Bucket bucket = getBucket(second);
+        bucket.calls.increment();
+        if (failure) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        if ((failure || slow) && shouldOpen(second)) {
+            transitionTo(CLOSED, OPEN);
+        }
+    }
+
+    private boolean shouldOpen(long second) {
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.second > second - buckets.length) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        if (calls < properties.getMinimumCalls()) {
+            return false;
+        }
+        return failures * 100 >= calls * properties.getFailureRateThreshold() || slowCalls * 100 >= calls * properties.getSlowCallRateThreshold();
+    }
+
+    private Bucket getBucket(long second) {
+        Bucket bucket = buckets[(int) (second % buckets.length)];
+        if (bucket.second != second) {
+            synchronized (bucket) {
+                if (bucket.second != second) {
+                    bucket.reset(second);
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private synchronized void transitionTo(int expect, int update) {
+        if (!state.compareAndSet(expect, update)) {
+            return;
+        }
+
+        stateChangedAt = System.currentTimeMillis();
+        if (update == OPEN) {
+            log.warn("redis circuit breaker open, cache will bypass redis for {}ms", properties.getOpenDurationMillis());
+        } else {
+            for (Bucket bucket : buckets) {
+                bucket.reset(Long.MIN_VALUE);
+            }
+            log.info("redis circuit breaker closed");
+        }
+    }
+
+    /**
+     * redis操作
+     *
+     * @param <T>
+     */
+    @FunctionalInterface
+    public interface RedisCall<T> {
+
+        /**
+         * 执行
+         *
+         * @return
+         * @throws Exception
+         */
+        T call() throws Exception;
+
+    }
+
+    private static final class Bucket {
+
+        private volatile long second = Long.MIN_VALUE;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        private void reset(long second) {
+            calls.reset();
+            failures.reset();
+            slowCalls.reset();
+            this.second = second;
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.cache;
+
+import io.github.smart.cloud.constants.CommonReturnCodes;
+import io.github.smart.cloud.exception.AcquiredLockFailException;
+
+import java.util.concurrent.*;
+
+/**
+ * 进程内请求合并
+ *
+ * <p>同一个key同一时刻只有一个线程执行加载逻辑，其他线程等待其结果，从而把分布式锁的竞争从“线程数”降低到“节点数”</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class SingleFlight {
+
+    /**
+     * 正在执行的加载任务<key，结果>
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 执行加载逻辑；同一个key已有线程在加载时，等待其结果
+     *
+     * @param key
+     * @param timeout 等待其他线程加载结果的最大时间
+     * @param unit
+     * @param loader
+     * @return
+     * @throws Throwable
+     */
+    public Object execute(String key, long timeout, TimeUnit unit, Loader loader) throws Throwable {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existCall = calls.putIfAbsent(key, call);
+        if (existCall != null) {
+            return await(existCall, timeout, unit);
+        }
+
+        try {
+            Object result = loader.load();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 等待其他线程的加载结果
+     *
+     * @param call
+     * @param timeout
+     * @param unit
+     * @return
+     * @throws Throwable
+     */
+    private Object await(CompletableFuture<Object> call, long timeout, TimeUnit unit) throws Throwable {
+        try {
+            return call.get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new AcquiredLockFailException(CommonReturnCodes.GET_LOCK_FAIL);
+        }
+    }
+
+    /**
+     * 加载逻辑
+     *
+     * @author collin
+     * @date 2026-10-18
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * 加载数据
+         *
+         * @return
+         * @throws Throwable
+         */
+        Object load() throws Throwable;
+
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.condition;
+
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 判断是否需要订阅本地缓存失效广播：开启本地缓存，或开启热点key提升
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class LocalCacheEvictCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        RedisCacheProperties redisCacheProperties = Binder.get(context.getEnvironment())
+                .bind(RedisCacheProperties.PREFIX, RedisCacheProperties.class)
+                .orElseGet(RedisCacheProperties::new);
+        return redisCacheProperties.getLocal().isEnabled() || LocalCacheRepository.isPromoteEnabled(redisCacheProperties.getHotKey());
+    }
+
+}
@@ -35,6 +35,11 @@ public class RedisLockConstants {
      */
     public static final long DEFAULT_LEASE_TIME = -1L;
 
+    /**
+     * 分布式锁在本jvm内连续移交的最大次数
+     */
+    public static final int MAX_HANDOFFS = 16;
+
     private RedisLockConstants() {
     }
 
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.endpoint;
+
+import io.github.smart.cloud.starter.redis.cache.HotKey;
+import io.github.smart.cloud.starter.redis.cache.HotKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 热点key查询端点（/actuator/redishotkeys）
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Endpoint(id = "redishotkeys")
+@RequiredArgsConstructor
+public class RedisHotKeyEndpoint {
+
+    private final HotKeyRepository hotKeyRepository;
+
+    /**
+     * 当前节点的热点key（按访问次数倒序）
+     *
+     * @return
+     */
+    @ReadOperation
+    public List<HotKey> hotKeys() {
+        return hotKeyRepository.getHotKeys();
+    }
+
+}
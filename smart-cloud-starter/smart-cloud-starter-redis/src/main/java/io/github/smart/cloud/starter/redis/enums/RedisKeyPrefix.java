@@ -41,10 +41,18 @@ public enum RedisKeyPrefix {
      * 用于加锁:
      */
     LOCK("lock" + REDIS_KEY_SEPARATOR.key),
+    /**
+     * 用于加读写锁
+     */
+    READ_WRITE_LOCK("rwlock" + REDIS_KEY_SEPARATOR.key),
     /**
      * 用于缓存加锁
      */
     LOCK_CACHE("lock" + REDIS_KEY_SEPARATOR.key + "cache" + REDIS_KEY_SEPARATOR.key),
+    /**
+     * 缓存布隆过滤器
+     */
+    BLOOM_FILTER("bloom" + REDIS_KEY_SEPARATOR.key),
     /**
      * 用户数据
      */
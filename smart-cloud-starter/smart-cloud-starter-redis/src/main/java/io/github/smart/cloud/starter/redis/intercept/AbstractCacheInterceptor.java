@@ -15,22 +15,64 @@
  */
 package io.github.smart.cloud.starter.redis.intercept;
 
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
 import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.annotation.Annotation;
 
 /**
  * 缓存父类
  *
+ * @param <A> 拦截的注解类型
  * @author collin
  * @date 2022-03-11
  */
-public abstract class AbstractCacheInterceptor extends AbstractRedisInterceptor {
+public abstract class AbstractCacheInterceptor<A extends Annotation> extends AbstractRedisInterceptor<A> {
 
     protected final RedisTemplate<Object, Object> redisTemplate;
+    protected final LocalCacheRepository localCacheRepository;
+    /**
+     * 读缓存使用的RedisTemplate（开启从节点读时路由到从节点）；加锁后的二次检查、写入、删除仍使用redisTemplate
+     */
+    protected RedisTemplate<Object, Object> readRedisTemplate;
 
-    protected AbstractCacheInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient) {
-        super(redissonClient);
+    protected AbstractCacheInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient, LocalCacheRepository localCacheRepository,
+                                       Class<A> annotationType) {
+        super(redissonClient, annotationType);
         this.redisTemplate = redisTemplate;
+        this.localCacheRepository = localCacheRepository;
+        this.readRedisTemplate = redisTemplate;
+    }
+
+    /**
+     * 设置读缓存使用的RedisTemplate（未设置时读主节点）
+     *
+     * @param readRedisTemplate
+     */
+    public void setReadRedisTemplate(RedisTemplate<Object, Object> readRedisTemplate) {
+        this.readRedisTemplate = readRedisTemplate;
+    }
+
+    /**
+     * 从redis获取缓存，并记录序列化后的缓存值大小
+     *
+     * @param name     缓存名称
+     * @param cacheKey
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    protected final Object getRedisCache(String name, String cacheKey) {
+        byte[] rawKey = ((RedisSerializer<Object>) redisTemplate.getKeySerializer()).serialize(cacheKey);
+        byte[] rawValue = readRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+        if (rawValue == null) {
+            return null;
+        }
+
+        metricsRecorder.recordCacheValueSize(name, rawValue.length);
+        return redisTemplate.getValueSerializer().deserialize(rawValue);
     }
 
 }
\ No newline at end of file
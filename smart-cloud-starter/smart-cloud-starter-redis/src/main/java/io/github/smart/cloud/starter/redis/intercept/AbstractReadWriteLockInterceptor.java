@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.exception.AcquiredLockFailException;
+import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RReadWriteLockReactive;
+import org.redisson.api.RedissonClient;
+import org.springframework.core.Ordered;
+import org.springframework.core.ReactiveAdapter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式读写锁拦截器父类
+ *
+ * @param <A> 拦截的注解类型
+ * @author collin
+ * @date 2026-10-18
+ */
+public abstract class AbstractReadWriteLockInterceptor<A extends Annotation> extends AbstractRedisInterceptor<A> implements Ordered {
+
+    protected AbstractReadWriteLockInterceptor(RedissonClient redissonClient, Class<A> annotationType) {
+        super(redissonClient, annotationType);
+    }
+
+    @Override
+    public int getOrder() {
+        // 与RedisLockInterceptor一致，先于数据库事务拦截器执行
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Nullable
+    @Override
+    public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
+        RedisKeyGenerator<A> keyGenerator = getKeyGenerator(invocation.getMethod());
+        A annotation = keyGenerator.getAnnotation();
+        String lockName = keyGenerator.getKey(RedisKeyPrefix.READ_WRITE_LOCK.getKey(), keyGenerator.getSuffix(invocation.getArguments()));
+        long waitTime = getWaitTime(annotation);
+        long leaseTime = getLeaseTime(annotation);
+        TimeUnit unit = getUnit(annotation);
+        ReactiveAdapter reactiveAdapter = getReactiveAdapter(invocation.getMethod());
+        if (reactiveAdapter != null) {
+            RLockReactive lock = getLock(getRedissonReactiveClient().getReadWriteLock(lockName));
+            return lockReactive(invocation, reactiveAdapter, keyGenerator.getName(), lock, waitTime, leaseTime, unit, getAcquiredFailCode(annotation));
+        }
+
+        RLock lock = getLock(redissonClient.getReadWriteLock(lockName));
+        boolean isRequiredLock = false;
+        long start = System.nanoTime();
+        long acquiredAt = 0L;
+        try {
+            if (leaseTime == RedisLockConstants.DEFAULT_LEASE_TIME) {
+                isRequiredLock = lock.tryLock(waitTime, unit);
+            } else {
+                isRequiredLock = lock.tryLock(waitTime, leaseTime, unit);
+            }
+            acquiredAt = System.nanoTime();
+            metricsRecorder.recordLockWait(keyGenerator.getName(), acquiredAt - start, isRequiredLock);
+            if (!isRequiredLock) {
+                throw new AcquiredLockFailException(getAcquiredFailCode(annotation));
+            }
+
+            return invocation.proceed();
+        } finally {
+            if (isRequiredLock) {
+                metricsRecorder.recordLockHold(keyGenerator.getName(), System.nanoTime() - acquiredAt);
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 从读写锁中获取读锁或写锁
+     *
+     * @param readWriteLock
+     * @return
+     */
+    protected abstract RLock getLock(RReadWriteLock readWriteLock);
+
+    /**
+     * 从响应式读写锁中获取读锁或写锁
+     *
+     * @param readWriteLock
+     * @return
+     */
+    protected abstract RLockReactive getLock(RReadWriteLockReactive readWriteLock);
+
+    /**
+     * 获取注解中的获取锁失败提示code
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract String getAcquiredFailCode(A annotation);
+
+    /**
+     * 获取注解中的获取锁最大等待时间
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract long getWaitTime(A annotation);
+
+    /**
+     * 获取注解中的锁释放时间
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract long getLeaseTime(A annotation);
+
+    /**
+     * 获取注解中的时间单位
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract TimeUnit getUnit(A annotation);
+
+}
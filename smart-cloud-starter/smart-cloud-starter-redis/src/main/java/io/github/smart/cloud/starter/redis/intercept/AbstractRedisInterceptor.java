@@ -15,116 +15,211 @@
  */
 package io.github.smart.cloud.starter.redis.intercept;
 
-import io.github.smart.cloud.constants.SymbolConstant;
-import lombok.RequiredArgsConstructor;
+import io.github.smart.cloud.exception.AcquiredLockFailException;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
 import org.aopalliance.intercept.MethodInterceptor;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.redisson.api.RLockReactive;
 import org.redisson.api.RedissonClient;
-import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.redisson.api.RedissonReactiveClient;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * redis拦截器父类
  *
+ * @param <A> 拦截的注解类型
  * @author collin
  * @date 2022-03-11
  */
-@RequiredArgsConstructor
-public abstract class AbstractRedisInterceptor implements MethodInterceptor {
+public abstract class AbstractRedisInterceptor<A extends Annotation> implements MethodInterceptor {
 
-    private static final LocalVariableTableParameterNameDiscoverer DISCOVERER = new LocalVariableTableParameterNameDiscoverer();
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
     /**
-     * md5长度
+     * 异步锁的持有者id（负数，与线程id区分）
      */
-    private static final int MD5_LENGTH = 32;
+    private static final AtomicLong LOCK_OWNER_ID = new AtomicLong();
+
     protected final RedissonClient redissonClient;
+    private final Class<A> annotationType;
+    /**
+     * 方法与key生成器的映射
+     */
+    private final ConcurrentMap<Method, RedisKeyGenerator<A>> keyGenerators = new ConcurrentHashMap<>();
+    /**
+     * 方法与响应式返回值适配器的映射（非响应式方法对应{@link Optional#empty()}）
+     */
+    private final ConcurrentMap<Method, Optional<ReactiveAdapter>> reactiveAdapters = new ConcurrentHashMap<>();
+    private volatile RedissonReactiveClient redissonReactiveClient;
+    protected RedisMetricsRecorder metricsRecorder = RedisMetricsRecorder.NOOP;
+
+    protected AbstractRedisInterceptor(RedissonClient redissonClient, Class<A> annotationType) {
+        this.redissonClient = redissonClient;
+        this.annotationType = annotationType;
+    }
+
+    /**
+     * 设置指标记录（未设置时不记录）
+     *
+     * @param metricsRecorder
+     */
+    public void setMetricsRecorder(RedisMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
 
     /**
-     * 获取缓存key前缀
+     * 获取方法对应的key生成器（首次调用时创建）
      *
-     * @param prefix
-     * @param name
      * @param method
      * @return
      */
-    protected StringBuilder getPrefix(String prefix, String name, Method method) {
-        StringBuilder key = new StringBuilder(32);
-        key.append(prefix);
-        if (StringUtils.isBlank(name)) {
-            key.append(method.getDeclaringClass().getSimpleName().toLowerCase());
-            key.append(SymbolConstant.COLON);
-            key.append(method.getName().toLowerCase());
-            key.append(SymbolConstant.COLON);
-        } else {
-            key.append(name);
-            if (!name.endsWith(SymbolConstant.COLON)) {
-                key.append(SymbolConstant.COLON);
-            }
+    protected final RedisKeyGenerator<A> getKeyGenerator(Method method) {
+        RedisKeyGenerator<A> keyGenerator = keyGenerators.get(method);
+        if (keyGenerator == null) {
+            keyGenerator = keyGenerators.computeIfAbsent(method, this::createKeyGenerator);
         }
-
-        return key;
+        return keyGenerator;
     }
 
     /**
-     * 获取缓存key后缀
+     * 获取方法返回值（Mono、Flux、CompletableFuture等）的响应式适配器
      *
-     * @param expressions
      * @param method
-     * @param arguments
+     * @return 非响应式方法返回null
+     */
+    protected final ReactiveAdapter getReactiveAdapter(Method method) {
+        Optional<ReactiveAdapter> reactiveAdapter = reactiveAdapters.get(method);
+        if (reactiveAdapter == null) {
+            reactiveAdapter = reactiveAdapters.computeIfAbsent(method,
+                    m -> Optional.ofNullable(ReactiveAdapterRegistry.getSharedInstance().getAdapter(m.getReturnType())));
+        }
+        return reactiveAdapter.orElse(null);
+    }
+
+    /**
+     * 获取redisson响应式客户端（首次调用时创建）
+     *
      * @return
      */
-    protected StringBuilder getSuffix(String[] expressions, Method method, Object[] arguments) {
-        EvaluationContext evaluationContext = getEvaluationContext(method, arguments);
-        StringBuilder key = new StringBuilder();
-        for (int i = 0; i < expressions.length; i++) {
-            if (i > 0) {
-                key.append(SymbolConstant.COLON);
+    protected final RedissonReactiveClient getRedissonReactiveClient() {
+        if (redissonReactiveClient == null) {
+            synchronized (this) {
+                if (redissonReactiveClient == null) {
+                    redissonReactiveClient = redissonClient.reactive();
+                }
             }
-            key.append(PARSER.parseExpression(expressions[i]).getValue(evaluationContext));
         }
+        return redissonReactiveClient;
+    }
 
-        return key;
+    /**
+     * 在订阅时执行目标方法，并转换为Publisher；每次订阅都从原调用（拦截器链停在当前位置）复制新的调用副本，
+     * 重复订阅（retry、repeat、多个订阅者）时仍会经过后续的拦截器
+     *
+     * @param invocation
+     * @param reactiveAdapter
+     * @return
+     */
+    protected static Publisher<Object> proceedReactive(MethodInvocation invocation, ReactiveAdapter reactiveAdapter) {
+        return Flux.defer(() -> {
+            MethodInvocation methodInvocation = invocation instanceof ProxyMethodInvocation ? ((ProxyMethodInvocation) invocation).invocableClone() : invocation;
+            try {
+                Object result = methodInvocation.proceed();
+                if (result == null) {
+                    return Flux.empty();
+                }
+                return reactiveAdapter.<Object>toPublisher(result);
+            } catch (Throwable e) {
+                return Flux.error(e);
+            }
+        });
     }
 
     /**
-     * 获取key
+     * 响应式方法加锁：订阅时异步加锁，返回值的Publisher结束（完成、异常、取消）后异步解锁，不阻塞线程
+     *
+     * @param invocation
+     * @param reactiveAdapter
+     * @param name             锁的key一级分类（指标标签）
+     * @param lock
+     * @param waitTime
+     * @param leaseTime
+     * @param unit
+     * @param acquiredFailCode
+     * @return
+     */
+    protected final Object lockReactive(MethodInvocation invocation, ReactiveAdapter reactiveAdapter, String name, RLockReactive lock, long waitTime,
+                                        long leaseTime, TimeUnit unit, String acquiredFailCode) {
+        Publisher<Object> publisher = proceedReactive(invocation, reactiveAdapter);
+        // 发出[ownerId, 获取到锁的时间]
+        Mono<long[]> acquire = Mono.defer(() -> {
+            long ownerId = nextLockOwnerId();
+            long start = System.nanoTime();
+            return lock.tryLock(waitTime, leaseTime, unit, ownerId)
+                    .flatMap(isRequiredLock -> {
+                        long acquiredAt = System.nanoTime();
+                        metricsRecorder.recordLockWait(name, acquiredAt - start, isRequiredLock);
+                        return isRequiredLock ? Mono.just(new long[]{ownerId, acquiredAt}) : Mono.error(new AcquiredLockFailException(acquiredFailCode));
+                    });
+        });
+        Function<long[], Publisher<Void>> release = holder -> {
+            metricsRecorder.recordLockHold(name, System.nanoTime() - holder[1]);
+            return lock.unlock(holder[0]);
+        };
+
+        if (reactiveAdapter.isMultiValue()) {
+            return reactiveAdapter.fromPublisher(Flux.usingWhen(acquire, holder -> publisher, release));
+        }
+        return reactiveAdapter.fromPublisher(Mono.usingWhen(acquire, holder -> Mono.from(publisher), release));
+    }
+
+    /**
+     * 生成异步锁的持有者id（异步场景下加锁、解锁可能在不同线程，不能使用线程id）
      *
-     * @param keyPrefix
-     * @param expressions
-     * @param method
-     * @param arguments
      * @return
      */
-    protected String getKey(String prefixType, String keyPrefix, String[] expressions, Method method, Object[] arguments) {
-        String finalKeyPrefix = getPrefix(prefixType, keyPrefix, method).toString();
-        String keySuffix = getSuffix(expressions, method, arguments).toString();
-        String finalKeySuffix = keySuffix.length() > MD5_LENGTH ? DigestUtils.md5Hex(keySuffix) : keySuffix;
-        return finalKeyPrefix + finalKeySuffix;
+    protected static long nextLockOwnerId() {
+        return LOCK_OWNER_ID.decrementAndGet();
     }
 
     /**
-     * 获取EvaluationContext对象
+     * 获取注解中的key一级分类
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract String getKeyName(A annotation);
+
+    /**
+     * 获取注解中的key表达式
+     *
+     * @param annotation
+     * @return
+     */
+    protected abstract String[] getKeyExpressions(A annotation);
+
+    /**
+     * 创建key生成器
      *
      * @param method
-     * @param arguments
      * @return
      */
-    protected final EvaluationContext getEvaluationContext(Method method, Object[] arguments) {
-        String[] parameterNames = DISCOVERER.getParameterNames(method);
-        EvaluationContext evaluationContext = new StandardEvaluationContext(method);
-        if (parameterNames != null) {
-            for (int i = 0; i < parameterNames.length; i++) {
-                evaluationContext.setVariable(parameterNames[i], arguments[i]);
-            }
-        }
-        return evaluationContext;
+    private RedisKeyGenerator<A> createKeyGenerator(Method method) {
+        A annotation = method.getAnnotation(annotationType);
+        return new RedisKeyGenerator<>(annotation, getKeyName(annotation), getKeyExpressions(annotation), method);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.starter.redis.annotation.BatchCacheable;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 批量缓存方法的解析结果（集合参数位置、返回值类型、结果key表达式）
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see BatchCacheable
+ */
+final class BatchCacheOperation {
+
+    private static final ParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final ExpressionParser PARSER = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+
+    /**
+     * 集合参数下标
+     */
+    @Getter
+    private final int argumentIndex;
+    /**
+     * 集合参数是否为Set
+     */
+    private final boolean setArgument;
+    /**
+     * 返回值是否为Map
+     */
+    private final boolean mapResult;
+    /**
+     * 返回值是否为Set
+     */
+    private final boolean setResult;
+    /**
+     * 从返回集合的元素中获取参数元素的表达式
+     */
+    private final Expression resultKeyExpression;
+
+    BatchCacheOperation(Method method, BatchCacheable batchCacheable) {
+        this.argumentIndex = indexOfArgument(method, batchCacheable.argument());
+        this.setArgument = Set.class.isAssignableFrom(method.getParameterTypes()[argumentIndex]);
+
+        Class<?> returnType = method.getReturnType();
+        this.mapResult = Map.class.isAssignableFrom(returnType);
+        this.setResult = Set.class.isAssignableFrom(returnType);
+        if (mapResult) {
+            this.resultKeyExpression = null;
+        } else if (Collection.class.isAssignableFrom(returnType) && StringUtils.isNotBlank(batchCacheable.resultKey())) {
+            this.resultKeyExpression = PARSER.parseExpression(batchCacheable.resultKey());
+        } else {
+            throw new IllegalArgumentException(String.format("@BatchCacheable method %s must return Map, or Collection with resultKey", method));
+        }
+    }
+
+    /**
+     * 用未命中的元素构造新的集合参数
+     *
+     * @param elements
+     * @return
+     */
+    Collection<Object> newArgument(List<Object> elements) {
+        return setArgument ? new LinkedHashSet<>(elements) : elements;
+    }
+
+    /**
+     * 将目标方法的返回结果转换为<缓存key，结果>
+     *
+     * @param result
+     * @param keyFunction 参数元素转缓存key
+     * @return
+     */
+    Map<String, Object> index(Object result, Function<Object, String> keyFunction) {
+        if (result == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        if (mapResult) {
+            ((Map<?, ?>) result).forEach((element, value) -> {
+                if (element != null && value != null) {
+                    values.put(keyFunction.apply(element), value);
+                }
+            });
+        } else {
+            for (Object value : (Collection<?>) result) {
+                Object element = value == null ? null : resultKeyExpression.getValue(value);
+                if (element != null) {
+                    values.put(keyFunction.apply(element), value);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 按参数顺序合并结果
+     *
+     * @param keyElements <缓存key，参数元素>
+     * @param values      <缓存key，结果>
+     * @return
+     */
+    Object merge(Map<String, Object> keyElements, Map<String, Object> values) {
+        if (mapResult) {
+            Map<Object, Object> result = new LinkedHashMap<>(keyElements.size() * 4 / 3 + 1);
+            keyElements.forEach((key, element) -> {
+                Object value = values.get(key);
+                if (value != null) {
+                    result.put(element, value);
+                }
+            });
+            return result;
+        }
+
+        Collection<Object> result = setResult ? new LinkedHashSet<>(keyElements.size() * 4 / 3 + 1) : new ArrayList<>(keyElements.size());
+        for (String key : keyElements.keySet()) {
+            Object value = values.get(key);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取集合参数下标
+     *
+     * @param method
+     * @param argument 参数名，为空时取第一个集合类型的参数
+     * @return
+     */
+    private static int indexOfArgument(Method method, String argument) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        String[] parameterNames = DISCOVERER.getParameterNames(method);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!Collection.class.isAssignableFrom(parameterTypes[i])) {
+                continue;
+            }
+            if (StringUtils.isBlank(argument) || (parameterNames != null && argument.equals(parameterNames[i]))) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("@BatchCacheable method %s has no collection argument %s", method, argument));
+    }
+
+}
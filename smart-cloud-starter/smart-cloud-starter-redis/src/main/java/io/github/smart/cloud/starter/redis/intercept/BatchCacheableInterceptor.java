@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.starter.redis.annotation.BatchCacheable;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.cache.CacheValueWrapper;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.RedissonClient;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量缓存拦截器
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see BatchCacheable
+ */
+public class BatchCacheableInterceptor extends AbstractCacheInterceptor<BatchCacheable> {
+
+    private static final String[] EMPTY_EXPRESSIONS = new String[0];
+    /**
+     * 方法与批量缓存解析结果的映射
+     */
+    private final ConcurrentMap<Method, BatchCacheOperation> operations = new ConcurrentHashMap<>();
+    private final CacheTtlPolicy cacheTtlPolicy;
+
+    public BatchCacheableInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient, LocalCacheRepository localCacheRepository,
+                                     CacheTtlPolicy cacheTtlPolicy) {
+        super(redisTemplate, redissonClient, localCacheRepository, BatchCacheable.class);
+        this.cacheTtlPolicy = cacheTtlPolicy;
+    }
+
+    @Override
+    protected String getKeyName(BatchCacheable batchCacheable) {
+        return batchCacheable.name();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(BatchCacheable batchCacheable) {
+        return EMPTY_EXPRESSIONS;
+    }
+
+    @Nullable
+    @Override
+    public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        RedisKeyGenerator<BatchCacheable> keyGenerator = getKeyGenerator(method);
+        BatchCacheOperation operation = operations.computeIfAbsent(method, m -> new BatchCacheOperation(m, keyGenerator.getAnnotation()));
+        Object[] arguments = invocation.getArguments();
+        Collection<?> elements = (Collection<?>) arguments[operation.getArgumentIndex()];
+        if (elements == null || elements.isEmpty() || !(invocation instanceof ProxyMethodInvocation)) {
+            return invocation.proceed();
+        }
+
+        // 参数元素去重：<缓存key，参数元素>
+        Map<String, Object> keyElements = new LinkedHashMap<>(elements.size() * 4 / 3 + 1);
+        for (Object element : elements) {
+            keyElements.putIfAbsent(getCacheKey(keyGenerator, element), element);
+        }
+
+        // 一次批量查询缓存
+        List<Object> cacheKeys = new ArrayList<>(keyElements.keySet());
+        List<Object> caches = readRedisTemplate.opsForValue().multiGet(cacheKeys);
+        Map<String, Object> values = new HashMap<>(keyElements.size() * 4 / 3 + 1);
+        List<Object> missElements = new ArrayList<>();
+        for (int i = 0; i < cacheKeys.size(); i++) {
+            String cacheKey = (String) cacheKeys.get(i);
+            Object cache = caches == null ? null : caches.get(i);
+            if (cache instanceof CacheValueWrapper) {
+                cache = ((CacheValueWrapper) cache).getValue();
+            }
+
+            if (cache == null) {
+                missElements.add(keyElements.get(cacheKey));
+            } else if (!(cache instanceof NullValue)) {
+                values.put(cacheKey, cache);
+            }
+        }
+
+        String name = keyGenerator.getName();
+        metricsRecorder.recordCacheGet(name, RedisMetricsRecorder.REDIS_HIT, cacheKeys.size() - missElements.size());
+        metricsRecorder.recordCacheGet(name, RedisMetricsRecorder.MISS, missElements.size());
+
+        // 只用未命中的元素调用目标方法，结果通过pipeline一次写回缓存
+        if (!missElements.isEmpty()) {
+            Object[] missArguments = arguments.clone();
+            missArguments[operation.getArgumentIndex()] = operation.newArgument(missElements);
+            long start = System.nanoTime();
+            Object result = ((ProxyMethodInvocation) invocation).invocableClone(missArguments).proceed();
+            metricsRecorder.recordCacheLoad(name, System.nanoTime() - start);
+            Map<String, Object> loadValues = operation.index(result, element -> getCacheKey(keyGenerator, element));
+            cache(loadValues, keyGenerator);
+            values.putAll(loadValues);
+        }
+
+        return operation.merge(keyElements, values);
+    }
+
+    /**
+     * 获取参数元素对应的缓存key
+     *
+     * @param keyGenerator
+     * @param element
+     * @return
+     */
+    private String getCacheKey(RedisKeyGenerator<BatchCacheable> keyGenerator, Object element) {
+        return keyGenerator.getKey(RedisKeyPrefix.CACHE.getKey(), keyGenerator.getElementSuffix(element));
+    }
+
+    /**
+     * 通过pipeline批量写入缓存
+     *
+     * @param values
+     * @param keyGenerator
+     */
+    private void cache(Map<String, Object> values, RedisKeyGenerator<BatchCacheable> keyGenerator) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        BatchCacheable batchCacheable = keyGenerator.getAnnotation();
+        long cacheTtlMillis = batchCacheable.cacheUnit().toMillis(batchCacheable.cacheTtl());
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(@Nonnull RedisOperations<K, V> redisOperations) {
+                ValueOperations<Object, Object> valueOperations = ((RedisOperations<Object, Object>) redisOperations).opsForValue();
+                // 每个key单独计算抖动，同一批写入的缓存不在同一时刻过期
+                values.forEach((cacheKey, value) -> valueOperations.set(cacheKey, value, cacheTtlPolicy.getTtlMillis(keyGenerator.getName(), cacheTtlMillis),
+                        TimeUnit.MILLISECONDS));
+                return null;
+            }
+        });
+    }
+
+}
@@ -15,18 +15,42 @@
  */
 package io.github.smart.cloud.starter.redis.intercept;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import io.github.smart.cloud.constants.CommonReturnCodes;
 import io.github.smart.cloud.exception.AcquiredLockFailException;
 import io.github.smart.cloud.starter.redis.annotation.Cacheable;
+import io.github.smart.cloud.starter.redis.cache.BloomFilterRepository;
+import io.github.smart.cloud.starter.redis.cache.CacheRefresher;
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.cache.CacheValueWrapper;
+import io.github.smart.cloud.starter.redis.cache.HotKeyRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.cache.RedisCircuitBreaker;
+import io.github.smart.cloud.starter.redis.cache.SingleFlight;
+import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
 import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
 import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
 import org.redisson.api.RedissonClient;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.support.NullValue;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存拦截器
@@ -35,43 +59,275 @@ import java.lang.reflect.Method;
  * @date 2022-03-11
  * @see Cacheable
  */
-public class CacheableInterceptor extends AbstractCacheInterceptor {
+@Slf4j
+public class CacheableInterceptor extends AbstractCacheInterceptor<Cacheable> {
 
-    public CacheableInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient) {
-        super(redisTemplate, redissonClient);
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final CacheRefresher cacheRefresher;
+    private final BloomFilterRepository bloomFilterRepository;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final CacheTtlPolicy cacheTtlPolicy;
+    private final HotKeyRepository hotKeyRepository;
+    private final ObjectProvider<ReactiveRedisTemplate<Object, Object>> reactiveRedisTemplateProvider;
+
+    public CacheableInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient, LocalCacheRepository localCacheRepository,
+                                CacheRefresher cacheRefresher, BloomFilterRepository bloomFilterRepository, RedisCircuitBreaker redisCircuitBreaker,
+                                CacheTtlPolicy cacheTtlPolicy, HotKeyRepository hotKeyRepository,
+                                ObjectProvider<ReactiveRedisTemplate<Object, Object>> reactiveRedisTemplateProvider) {
+        super(redisTemplate, redissonClient, localCacheRepository, Cacheable.class);
+        this.cacheRefresher = cacheRefresher;
+        this.bloomFilterRepository = bloomFilterRepository;
+        this.redisCircuitBreaker = redisCircuitBreaker;
+        this.cacheTtlPolicy = cacheTtlPolicy;
+        this.hotKeyRepository = hotKeyRepository;
+        this.reactiveRedisTemplateProvider = reactiveRedisTemplateProvider;
+    }
+
+    @Override
+    protected String getKeyName(Cacheable cacheable) {
+        return cacheable.name();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(Cacheable cacheable) {
+        return cacheable.expressions();
     }
 
     @Nullable
     @Override
     public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
-        Method method = invocation.getMethod();
-        Cacheable cacheable = method.getAnnotation(Cacheable.class);
-        String cacheKey = getKey(RedisKeyPrefix.CACHE.getKey(), cacheable.name(), cacheable.expressions(), method, invocation.getArguments());
-        // 从缓存获取
-        Object cache = redisTemplate.opsForValue().get(cacheKey);
+        RedisKeyGenerator<Cacheable> keyGenerator = getKeyGenerator(invocation.getMethod());
+        // 配置关闭的缓存，直接执行目标方法
+        if (!cacheTtlPolicy.isEnabled(keyGenerator.getName())) {
+            return invocation.proceed();
+        }
+
+        Cacheable cacheable = keyGenerator.getAnnotation();
+        String keySuffix = keyGenerator.getSuffix(invocation.getArguments());
+        String cacheKey = keyGenerator.getKey(RedisKeyPrefix.CACHE.getKey(), keySuffix);
+        Cache<String, Object> localCache = localCacheRepository.getCache(keyGenerator.getName());
+        ReactiveAdapter reactiveAdapter = getReactiveAdapter(invocation.getMethod());
+        if (reactiveAdapter != null) {
+            return invokeReactive(invocation, reactiveAdapter, keyGenerator, keySuffix, cacheKey, localCache);
+        }
+
+        // 从本地缓存获取
+        Object cache = localCache == null ? null : localCache.getIfPresent(cacheKey);
         if (cache != null) {
+            metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.LOCAL_HIT, 1);
             return cache;
         }
 
+        // 统计访问频率；热点key优先从进程内的热点缓存获取
+        hotKeyRepository.record(keyGenerator.getName(), cacheKey);
+        cache = hotKeyRepository.getPromoted(cacheKey);
+        if (cache != null) {
+            metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.LOCAL_HIT, 1);
+            return cache;
+        }
+
+        // redis熔断时不访问redis，直接执行目标方法
+        if (!redisCircuitBreaker.allowRequest()) {
+            return invokeDegraded(invocation, cacheable, cacheKey, localCache);
+        }
+
+        try {
+            return invokeRedis(invocation, keyGenerator, keySuffix, cacheKey, localCache);
+        } catch (ProceedException e) {
+            throw e.getCause();
+        } catch (Exception e) {
+            if (!RedisCircuitBreaker.isRedisError(e)) {
+                throw e;
+            }
+            log.warn("cache access redis fail, bypass redis|cacheKey={}", cacheKey, e);
+            return invokeDegraded(invocation, cacheable, cacheKey, localCache);
+        }
+    }
+
+    /**
+     * 从redis获取缓存，缓存中没有则加锁从数据源获取（redis访问异常时，保证未执行过目标方法）
+     *
+     * @param invocation
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     * @param localCache
+     * @return
+     * @throws Throwable
+     */
+    private Object invokeRedis(MethodInvocation invocation, RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix, String cacheKey,
+                               Cache<String, Object> localCache) throws Throwable {
+        Cacheable cacheable = keyGenerator.getAnnotation();
+        // 从redis缓存获取
+        Object cache = redisCircuitBreaker.execute(() -> getRedisCache(keyGenerator.getName(), cacheKey));
+        if (cache != null) {
+            metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.REDIS_HIT, 1);
+            Object value = unwrap(invocation, keyGenerator, keySuffix, cacheKey, cache);
+            putLocalCache(localCache, cacheKey, value);
+            hotKeyRepository.promote(cacheKey, value);
+            return fromStoreValue(value);
+        }
+        metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.MISS, 1);
+
+        // 布隆过滤器判定不存在的key，直接返回，不再加锁查询数据源
+        if (cacheable.bloomFilter() && !redisCircuitBreaker.execute(() -> bloomFilterRepository.mightContain(keyGenerator.getName(), keySuffix))) {
+            return null;
+        }
+
         // 缓存中没有，则从数据源获取，并放入缓存
+        // 同一个key在本节点只有一个线程去竞争分布式锁并加载数据，其他线程等待其结果
+        return singleFlight.execute(cacheKey, cacheable.lockWaitTime(), cacheable.lockWaitTimeUnit(),
+                () -> load(invocation, keyGenerator, keySuffix, cacheKey, localCache));
+    }
+
+    /**
+     * redis熔断或访问异常时的降级：不读写redis、不加分布式锁，本节点合并同一个key的并发请求后直接执行目标方法，结果放入本地缓存
+     *
+     * @param invocation
+     * @param cacheable
+     * @param cacheKey
+     * @param localCache
+     * @return
+     * @throws Throwable
+     */
+    private Object invokeDegraded(MethodInvocation invocation, Cacheable cacheable, String cacheKey, Cache<String, Object> localCache) throws Throwable {
+        return singleFlight.execute(cacheKey, cacheable.lockWaitTime(), cacheable.lockWaitTimeUnit(), () -> {
+            Object result = invocation.proceed();
+            putLocalCache(localCache, cacheKey, result);
+            return result;
+        });
+    }
+
+    /**
+     * 加分布式锁后从数据源获取，并放入缓存
+     *
+     * @param invocation
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     * @param localCache
+     * @return
+     * @throws Throwable
+     */
+    private Object load(MethodInvocation invocation, RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix, String cacheKey,
+                        Cache<String, Object> localCache) throws Throwable {
+        Cacheable cacheable = keyGenerator.getAnnotation();
         // 为了避免出现缓存雪崩，加分布式锁
-        String cacheLockKey = getKey(RedisKeyPrefix.LOCK_CACHE.getKey(), cacheable.name(), cacheable.expressions(), method, invocation.getArguments());
+        String cacheLockKey = keyGenerator.getKey(RedisKeyPrefix.LOCK_CACHE.getKey(), keySuffix);
         RLock lock = redissonClient.getLock(cacheLockKey);
-        boolean isRequiredLock = false;
+        boolean isRequiredLock = redisCircuitBreaker.executeIgnoreLatency(() -> lock.tryLock(cacheable.lockWaitTime(), cacheable.lockWaitTimeUnit()));
+        if (!isRequiredLock) {
+            throw new AcquiredLockFailException(CommonReturnCodes.GET_LOCK_FAIL);
+        }
         try {
-            isRequiredLock = lock.tryLock(cacheable.lockWaitTime(), cacheable.lockWaitTimeUnit());
-            if (!isRequiredLock) {
-                throw new AcquiredLockFailException(CommonReturnCodes.GET_LOCK_FAIL);
-            }
             // 再次从缓存中获取一次，如果存在则返回
-            cache = redisTemplate.opsForValue().get(cacheKey);
+            Object cache = redisCircuitBreaker.execute(() -> redisTemplate.opsForValue().get(cacheKey));
             if (cache != null) {
-                return cache;
+                Object value = cache instanceof CacheValueWrapper ? ((CacheValueWrapper) cache).getValue() : cache;
+                putLocalCache(localCache, cacheKey, value);
+                return fromStoreValue(value);
             }
 
-            Object result = invocation.proceed();
-            redisTemplate.opsForValue().set(cacheKey, result, cacheable.cacheTtl(), cacheable.cacheUnit());
+            Object result;
+            try {
+                result = proceedAndCache(invocation, keyGenerator, cacheKey, localCache);
+            } catch (Throwable e) {
+                // 目标方法抛出的异常（可能也是DataAccessException）不能触发降级，否则会重复执行目标方法
+                throw new ProceedException(e);
+            }
+            if (result != null && cacheable.bloomFilter()) {
+                addBloomFilterQuietly(keyGenerator.getName(), keySuffix);
+            }
             return result;
+        } finally {
+            unlockQuietly(lock, cacheKey);
+        }
+    }
+
+    /**
+     * 将新加载到的key放入布隆过滤器，避免之后被误判为不存在；redis异常时只记录日志
+     *
+     * @param name
+     * @param keySuffix
+     */
+    private void addBloomFilterQuietly(String name, String keySuffix) {
+        try {
+            redisCircuitBreaker.execute(() -> {
+                bloomFilterRepository.add(name, keySuffix);
+                return null;
+            });
+        } catch (Exception e) {
+            if (!RedisCircuitBreaker.isRedisError(e)) {
+                throw (RuntimeException) e;
+            }
+            log.warn("bloom filter add fail|name={}, keySuffix={}", name, keySuffix, e);
+        }
+    }
+
+    /**
+     * 解锁；redis异常时只记录日志（目标方法可能已执行，不能再抛出异常触发降级重复执行）
+     *
+     * @param lock
+     * @param cacheKey
+     */
+    private void unlockQuietly(RLock lock, String cacheKey) {
+        try {
+            redisCircuitBreaker.execute(() -> {
+                lock.unlock();
+                return null;
+            });
+        } catch (Exception e) {
+            if (!RedisCircuitBreaker.isRedisError(e)) {
+                throw (RuntimeException) e;
+            }
+            log.warn("cache unlock fail|cacheKey={}", cacheKey, e);
+        }
+    }
+
+    /**
+     * 解析redis中的缓存值；开启软过期或提前刷新时，按需提交后台刷新任务
+     *
+     * @param invocation
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     * @param cache
+     * @return
+     */
+    private Object unwrap(MethodInvocation invocation, RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix, String cacheKey, Object cache) {
+        if (!(cache instanceof CacheValueWrapper)) {
+            return cache;
+        }
+
+        CacheValueWrapper cacheValueWrapper = (CacheValueWrapper) cache;
+        if (cacheValueWrapper.shouldRefresh(System.currentTimeMillis(), keyGenerator.getAnnotation().earlyRefreshBeta())
+                && invocation instanceof ProxyMethodInvocation) {
+            MethodInvocation refreshInvocation = ((ProxyMethodInvocation) invocation).invocableClone();
+            cacheRefresher.refresh(cacheKey, () -> refresh(refreshInvocation, keyGenerator, keySuffix, cacheKey));
+        }
+        return cacheValueWrapper.getValue();
+    }
+
+    /**
+     * 后台刷新缓存；集群中只有抢到锁的节点刷新，抢不到锁则放弃
+     *
+     * @param invocation
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     */
+    private void refresh(MethodInvocation invocation, RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix, String cacheKey) {
+        RLock lock = redissonClient.getLock(keyGenerator.getKey(RedisKeyPrefix.LOCK_CACHE.getKey(), keySuffix));
+        boolean isRequiredLock = false;
+        try {
+            isRequiredLock = lock.tryLock();
+            if (!isRequiredLock) {
+                return;
+            }
+
+            proceedAndCache(invocation, keyGenerator, cacheKey, localCacheRepository.getCache(keyGenerator.getName()));
+        } catch (Throwable e) {
+            log.warn("cache refresh fail|cacheKey={}", cacheKey, e);
         } finally {
             if (isRequiredLock) {
                 lock.unlock();
@@ -79,4 +335,259 @@ public class CacheableInterceptor extends AbstractCacheInterceptor {
         }
     }
 
+    /**
+     * 执行目标方法，并将结果放入缓存
+     *
+     * @param invocation
+     * @param keyGenerator
+     * @param cacheKey
+     * @param localCache
+     * @return
+     * @throws Throwable
+     */
+    private Object proceedAndCache(MethodInvocation invocation, RedisKeyGenerator<Cacheable> keyGenerator, String cacheKey, Cache<String, Object> localCache)
+            throws Throwable {
+        Cacheable cacheable = keyGenerator.getAnnotation();
+        long startNanos = System.nanoTime();
+        long start = System.currentTimeMillis();
+        Object result = invocation.proceed();
+        long now = System.currentTimeMillis();
+        metricsRecorder.recordCacheLoad(keyGenerator.getName(), System.nanoTime() - startNanos);
+
+        if (result == null && cacheable.cacheNull()) {
+            // 缓存空值，防止不存在的key每次都穿透到数据源
+            long nullTtlMillis = cacheTtlPolicy.getNullTtlMillis(keyGenerator.getName(), cacheable.nullTtlUnit().toMillis(cacheable.nullTtl()));
+            setQuietly(cacheKey, NullValue.INSTANCE, nullTtlMillis, TimeUnit.MILLISECONDS);
+            return null;
+        }
+
+        Object cacheValue = result;
+        long cacheTtlMillis = cacheTtlPolicy.getTtlMillis(keyGenerator.getName(), cacheable.cacheUnit().toMillis(cacheable.cacheTtl()));
+        if (result != null && (cacheable.softTtl() > 0 || cacheable.earlyRefreshBeta() > 0)) {
+            long softExpireAt = cacheable.softTtl() > 0 ? now + cacheable.cacheUnit().toMillis(cacheable.softTtl()) : 0L;
+            long hardExpireAt = now + cacheTtlMillis;
+            cacheValue = new CacheValueWrapper(result, softExpireAt, hardExpireAt, now - start);
+        }
+        setQuietly(cacheKey, cacheValue, cacheTtlMillis, TimeUnit.MILLISECONDS);
+        putLocalCache(localCache, cacheKey, result);
+        return result;
+    }
+
+    /**
+     * 写入缓存；redis异常时只记录日志（目标方法已执行，直接返回其结果）
+     *
+     * @param cacheKey
+     * @param value
+     * @param ttl
+     * @param unit
+     */
+    private void setQuietly(String cacheKey, Object value, long ttl, TimeUnit unit) {
+        try {
+            redisCircuitBreaker.execute(() -> {
+                redisTemplate.opsForValue().set(cacheKey, value, ttl, unit);
+                return null;
+            });
+        } catch (Exception e) {
+            if (!RedisCircuitBreaker.isRedisError(e)) {
+                throw (RuntimeException) e;
+            }
+            log.warn("cache set fail|cacheKey={}", cacheKey, e);
+        }
+    }
+
+    /**
+     * 响应式方法（Mono、Flux、CompletableFuture等）：使用ReactiveRedisTemplate、RLockReactive，不阻塞线程；
+     * 在目标方法发出结果时写入缓存，Flux的结果以List缓存。访问redis的结果同样计入熔断器，写入缓存失败时只记录日志
+     *
+     * @param invocation
+     * @param reactiveAdapter
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     * @param localCache
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private Object invokeReactive(MethodInvocation invocation, ReactiveAdapter reactiveAdapter, RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix,
+                                  String cacheKey, Cache<String, Object> localCache) {
+        ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate = reactiveRedisTemplateProvider.getIfAvailable();
+        if (reactiveRedisTemplate == null) {
+            throw new IllegalStateException("ReactiveRedisTemplate is required by reactive @Cacheable method " + invocation.getMethod());
+        }
+
+        Publisher<Object> publisher = proceedReactive(invocation, reactiveAdapter);
+        if (!redisCircuitBreaker.allowRequest()) {
+            // redis熔断时直接执行目标方法
+            return reactiveAdapter.fromPublisher(publisher);
+        }
+        Mono<Object> result = Mono.defer(() -> {
+            Object cache = localCache == null ? null : localCache.getIfPresent(cacheKey);
+            if (cache != null) {
+                metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.LOCAL_HIT, 1);
+                return Mono.just(cache);
+            }
+            return getReactive(reactiveRedisTemplate, cacheKey, localCache)
+                    .doOnNext(value -> metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.REDIS_HIT, 1))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        metricsRecorder.recordCacheGet(keyGenerator.getName(), RedisMetricsRecorder.MISS, 1);
+                        return loadReactive(reactiveRedisTemplate, publisher, reactiveAdapter, keyGenerator, keySuffix, cacheKey, localCache);
+                    }));
+        }).filter(cache -> !(cache instanceof NullValue));
+
+        if (reactiveAdapter.isMultiValue()) {
+            return reactiveAdapter.fromPublisher(result.flatMapIterable(cache -> (Collection<Object>) cache));
+        }
+        return reactiveAdapter.fromPublisher(result);
+    }
+
+    /**
+     * 异步从redis获取缓存
+     *
+     * @param reactiveRedisTemplate
+     * @param cacheKey
+     * @param localCache
+     * @return
+     */
+    private Mono<Object> getReactive(ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate, String cacheKey, Cache<String, Object> localCache) {
+        return withCircuitBreaker(reactiveRedisTemplate.opsForValue().get(cacheKey), true).map(cache -> {
+            Object value = cache instanceof CacheValueWrapper ? ((CacheValueWrapper) cache).getValue() : cache;
+            putLocalCache(localCache, cacheKey, value);
+            return value;
+        });
+    }
+
+    /**
+     * 异步加分布式锁后从数据源获取，并放入缓存
+     *
+     * @param reactiveRedisTemplate
+     * @param publisher
+     * @param reactiveAdapter
+     * @param keyGenerator
+     * @param keySuffix
+     * @param cacheKey
+     * @param localCache
+     * @return
+     */
+    private Mono<Object> loadReactive(ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate, Publisher<Object> publisher, ReactiveAdapter reactiveAdapter,
+                                      RedisKeyGenerator<Cacheable> keyGenerator, String keySuffix, String cacheKey, Cache<String, Object> localCache) {
+        Cacheable cacheable = keyGenerator.getAnnotation();
+        RLockReactive lock = getRedissonReactiveClient().getLock(keyGenerator.getKey(RedisKeyPrefix.LOCK_CACHE.getKey(), keySuffix));
+        Mono<Long> acquire = Mono.defer(() -> {
+            long ownerId = nextLockOwnerId();
+            return withCircuitBreaker(lock.tryLock(cacheable.lockWaitTime(), RedisLockConstants.DEFAULT_LEASE_TIME, cacheable.lockWaitTimeUnit(), ownerId), false)
+                    .flatMap(isRequiredLock -> isRequiredLock ? Mono.just(ownerId) : Mono.error(new AcquiredLockFailException(CommonReturnCodes.GET_LOCK_FAIL)));
+        });
+
+        return Mono.usingWhen(acquire,
+                ownerId -> getReactive(reactiveRedisTemplate, cacheKey, localCache)
+                        .switchIfEmpty(Mono.defer(() -> proceedAndCacheReactive(reactiveRedisTemplate, publisher, reactiveAdapter, keyGenerator, cacheKey,
+                                localCache))),
+                lock::unlock);
+    }
+
+    /**
+     * 订阅目标方法的结果，发出结果时写入缓存
+     *
+     * @param reactiveRedisTemplate
+     * @param publisher
+     * @param reactiveAdapter
+     * @param keyGenerator
+     * @param cacheKey
+     * @param localCache
+     * @return
+     */
+    private Mono<Object> proceedAndCacheReactive(ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate, Publisher<Object> publisher,
+                                                 ReactiveAdapter reactiveAdapter, RedisKeyGenerator<Cacheable> keyGenerator, String cacheKey,
+                                                 Cache<String, Object> localCache) {
+        Cacheable cacheable = keyGenerator.getAnnotation();
+        Mono<Object> source = reactiveAdapter.isMultiValue() ? Flux.from(publisher).collectList().map(Object.class::cast) : Mono.from(publisher);
+        Mono<Object> result = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source.doOnSuccess(value -> metricsRecorder.recordCacheLoad(keyGenerator.getName(), System.nanoTime() - start));
+        });
+        return result
+                .flatMap(value -> setReactiveQuietly(reactiveRedisTemplate, cacheKey, value,
+                                Duration.ofMillis(cacheTtlPolicy.getTtlMillis(keyGenerator.getName(), cacheable.cacheUnit().toMillis(cacheable.cacheTtl()))))
+                        .then(Mono.fromRunnable(() -> putLocalCache(localCache, cacheKey, value)))
+                        .thenReturn(value))
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (!cacheable.cacheNull()) {
+                        return Mono.empty();
+                    }
+                    Duration nullTtl = Duration.ofMillis(cacheTtlPolicy.getNullTtlMillis(keyGenerator.getName(),
+                            cacheable.nullTtlUnit().toMillis(cacheable.nullTtl())));
+                    return setReactiveQuietly(reactiveRedisTemplate, cacheKey, NullValue.INSTANCE, nullTtl).then(Mono.empty());
+                }));
+    }
+
+    /**
+     * 异步写入缓存；redis异常时只记录日志（同{@link #setQuietly(String, Object, long, TimeUnit)}）
+     *
+     * @param reactiveRedisTemplate
+     * @param cacheKey
+     * @param value
+     * @param ttl
+     * @return
+     */
+    private Mono<Boolean> setReactiveQuietly(ReactiveRedisTemplate<Object, Object> reactiveRedisTemplate, String cacheKey, Object value, Duration ttl) {
+        return withCircuitBreaker(reactiveRedisTemplate.opsForValue().set(cacheKey, value, ttl), true)
+                .onErrorResume(RedisCircuitBreaker::isRedisError, e -> {
+                    log.warn("cache set fail|cacheKey={}", cacheKey, e);
+                    return Mono.just(Boolean.FALSE);
+                });
+    }
+
+    /**
+     * 将异步redis操作的结果计入熔断器
+     *
+     * @param call
+     * @param timed 是否统计耗时（加锁等本身可能长时间等待的操作不统计）
+     * @param <T>
+     * @return
+     */
+    private <T> Mono<T> withCircuitBreaker(Mono<T> call, boolean timed) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> redisCircuitBreaker.recordResult(null, timed ? System.nanoTime() - start : 0L))
+                    .doOnError(e -> redisCircuitBreaker.recordResult(e, timed ? System.nanoTime() - start : 0L));
+        });
+    }
+
+    /**
+     * 将缓存中的空值标记转换为null
+     *
+     * @param value
+     * @return
+     */
+    private Object fromStoreValue(Object value) {
+        return value instanceof NullValue ? null : value;
+    }
+
+    /**
+     * 放入本地缓存
+     *
+     * @param localCache
+     * @param cacheKey
+     * @param value
+     */
+    private void putLocalCache(Cache<String, Object> localCache, String cacheKey, Object value) {
+        // 空值只缓存在redis中，保证其较短的有效期
+        if (localCache != null && value != null && !(value instanceof NullValue)) {
+            localCache.put(cacheKey, value);
+        }
+    }
+
+    /**
+     * 包装目标方法抛出的异常，与访问redis的异常区分开
+     */
+    private static class ProceedException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        ProceedException(Throwable cause) {
+            super(cause);
+        }
+
+    }
+
 }
\ No newline at end of file
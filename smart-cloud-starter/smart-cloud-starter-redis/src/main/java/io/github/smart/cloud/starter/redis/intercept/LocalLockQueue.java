@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.exception.AcquiredLockFailException;
+import io.github.smart.cloud.starter.redis.annotation.RedisLock;
+import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.RLock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分布式锁的jvm本地排队
+ *
+ * <p>同一个锁key在本jvm内先通过公平锁排队，只有队首线程访问redis获取分布式锁；开启{@link RedisLock#handoff()}时，
+ * 分布式锁释放前若本地仍有等待者，则直接移交给下一个等待者，不在redis中释放再重新获取</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisLock
+ */
+@Slf4j
+final class LocalLockQueue {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * 连续移交的最大次数（达到后释放分布式锁，避免其他jvm饥饿）
+     */
+    private final int maxHandoffs;
+
+    LocalLockQueue(int maxHandoffs) {
+        this.maxHandoffs = maxHandoffs;
+    }
+
+    /**
+     * 本地排队获取锁后执行目标方法
+     *
+     * @param name            锁的key一级分类（指标标签）
+     * @param lockName
+     * @param lock
+     * @param redisLock
+     * @param metricsRecorder
+     * @param invocation
+     * @return
+     * @throws Throwable
+     */
+    Object execute(String name, String lockName, RLock lock, RedisLock redisLock, RedisMetricsRecorder metricsRecorder,
+                   MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        long deadline = start + redisLock.unit().toNanos(redisLock.waitTime());
+        Entry entry = entries.compute(lockName, (key, value) -> {
+            Entry current = value == null ? new Entry() : value;
+            current.refs++;
+            return current;
+        });
+
+        boolean isLocalLocked = false;
+        boolean isReentrant = false;
+        long acquiredAt = 0L;
+        try {
+            isLocalLocked = entry.localLock.tryLock(redisLock.waitTime(), redisLock.unit());
+            if (!isLocalLocked) {
+                metricsRecorder.recordLockWait(name, System.nanoTime() - start, false);
+                throw new AcquiredLockFailException(redisLock.acquiredFailCode());
+            }
+
+            // 重入，或上一个本地持有者已移交分布式锁时，无需访问redis
+            isReentrant = entry.localLock.getHoldCount() > 1;
+            if (!isReentrant && entry.ownerId == 0) {
+                long ownerId = AbstractRedisInterceptor.nextLockOwnerId();
+                long remainingNanos = Math.max(0L, deadline - System.nanoTime());
+                if (!tryLock(lock, remainingNanos, redisLock, ownerId)) {
+                    metricsRecorder.recordLockWait(name, System.nanoTime() - start, false);
+                    throw new AcquiredLockFailException(redisLock.acquiredFailCode());
+                }
+                entry.ownerId = ownerId;
+            }
+
+            acquiredAt = System.nanoTime();
+            metricsRecorder.recordLockWait(name, acquiredAt - start, true);
+            return invocation.proceed();
+        } finally {
+            if (acquiredAt != 0L) {
+                metricsRecorder.recordLockHold(name, System.nanoTime() - acquiredAt);
+            }
+            boolean handoff = redisLock.handoff() && redisLock.leaseTime() == RedisLockConstants.DEFAULT_LEASE_TIME;
+            release(lockName, lock, entry, isLocalLocked, isReentrant, handoff);
+        }
+    }
+
+    private boolean tryLock(RLock lock, long waitNanos, RedisLock redisLock, long ownerId) throws Throwable {
+        long leaseTime = redisLock.leaseTime() == RedisLockConstants.DEFAULT_LEASE_TIME ? RedisLockConstants.DEFAULT_LEASE_TIME
+                : redisLock.unit().toMillis(redisLock.leaseTime());
+        try {
+            return lock.tryLockAsync(TimeUnit.NANOSECONDS.toMillis(waitNanos), leaseTime, TimeUnit.MILLISECONDS, ownerId).get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 释放本地锁；最后一个持有者（或移交后无人接手时最后一个超时的等待者）释放分布式锁
+     *
+     * @param lockName
+     * @param lock
+     * @param entry
+     * @param isLocalLocked
+     * @param isReentrant
+     * @param handoff
+     */
+    private void release(String lockName, RLock lock, Entry entry, boolean isLocalLocked, boolean isReentrant, boolean handoff) {
+        long[] releaseOwnerId = {0L};
+        entries.compute(lockName, (key, value) -> {
+            value.refs--;
+            if (!isReentrant && value.ownerId != 0 && (isLocalLocked || value.refs == 0)) {
+                if (handoff && value.refs > 0 && value.handoffs < maxHandoffs) {
+                    value.handoffs++;
+                } else {
+                    releaseOwnerId[0] = value.ownerId;
+                    value.ownerId = 0;
+                    value.handoffs = 0;
+                }
+            }
+            return value.refs == 0 ? null : value;
+        });
+
+        try {
+            if (releaseOwnerId[0] != 0) {
+                lock.unlockAsync(releaseOwnerId[0]).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("unlock {} fail", lockName, e.getCause());
+        } finally {
+            if (isLocalLocked) {
+                entry.localLock.unlock();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final ReentrantLock localLock = new ReentrantLock(true);
+        /**
+         * 引用数（持有者与等待者），仅在{@link ConcurrentHashMap#compute}中修改
+         */
+        private int refs;
+        /**
+         * 当前持有的分布式锁owner id，0表示未持有
+         */
+        private volatile long ownerId;
+        /**
+         * 连续移交次数
+         */
+        private int handoffs;
+
+    }
+
+}
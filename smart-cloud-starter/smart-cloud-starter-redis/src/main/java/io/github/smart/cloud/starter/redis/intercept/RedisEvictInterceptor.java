@@ -16,14 +16,16 @@
 package io.github.smart.cloud.starter.redis.intercept;
 
 import io.github.smart.cloud.starter.redis.annotation.CacheEvict;
+import io.github.smart.cloud.starter.redis.cache.BloomFilterRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
 import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
 import org.aopalliance.intercept.MethodInvocation;
 import org.redisson.api.RedissonClient;
 import org.springframework.data.redis.core.RedisTemplate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.Method;
 
 /**
  * 缓存移除拦截器
@@ -32,10 +34,24 @@ import java.lang.reflect.Method;
  * @date 2022-03-11
  * @see CacheEvict
  */
-public class RedisEvictInterceptor extends AbstractCacheInterceptor {
+public class RedisEvictInterceptor extends AbstractCacheInterceptor<CacheEvict> {
 
-    public RedisEvictInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient) {
-        super(redisTemplate, redissonClient);
+    private final BloomFilterRepository bloomFilterRepository;
+
+    public RedisEvictInterceptor(RedisTemplate<Object, Object> redisTemplate, RedissonClient redissonClient, LocalCacheRepository localCacheRepository,
+                                 BloomFilterRepository bloomFilterRepository) {
+        super(redisTemplate, redissonClient, localCacheRepository, CacheEvict.class);
+        this.bloomFilterRepository = bloomFilterRepository;
+    }
+
+    @Override
+    protected String getKeyName(CacheEvict cacheEvict) {
+        return cacheEvict.name();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(CacheEvict cacheEvict) {
+        return cacheEvict.expressions();
     }
 
     @Nullable
@@ -44,10 +60,16 @@ public class RedisEvictInterceptor extends AbstractCacheInterceptor {
         Object result = invocation.proceed();
 
         // 移除缓存
-        Method method = invocation.getMethod();
-        CacheEvict cacheEvict = method.getAnnotation(CacheEvict.class);
-        String cacheKey = getKey(RedisKeyPrefix.CACHE.getKey(), cacheEvict.name(), cacheEvict.expressions(), method, invocation.getArguments());
+        RedisKeyGenerator<CacheEvict> keyGenerator = getKeyGenerator(invocation.getMethod());
+        String keySuffix = keyGenerator.getSuffix(invocation.getArguments());
+        String cacheKey = keyGenerator.getKey(RedisKeyPrefix.CACHE.getKey(), keySuffix);
+        // 新增的数据放入布隆过滤器，之后的查询不会被拦截
+        if (keyGenerator.getAnnotation().bloomFilter()) {
+            bloomFilterRepository.add(keyGenerator.getName(), keySuffix);
+        }
         redisTemplate.delete(cacheKey);
+        // 删除本地缓存及提升的热点key，并广播给其他节点
+        localCacheRepository.evict(keyGenerator.getName(), cacheKey);
         return result;
     }
 
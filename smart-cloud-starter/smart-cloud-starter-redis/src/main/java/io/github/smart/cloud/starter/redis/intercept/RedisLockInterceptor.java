@@ -15,18 +15,18 @@
  */
 package io.github.smart.cloud.starter.redis.intercept;
 
-import io.github.smart.cloud.exception.AcquiredLockFailException;
 import io.github.smart.cloud.starter.redis.annotation.RedisLock;
 import io.github.smart.cloud.starter.redis.constants.RedisLockConstants;
 import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
 import org.aopalliance.intercept.MethodInvocation;
-import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
 import org.redisson.api.RedissonClient;
 import org.springframework.core.Ordered;
+import org.springframework.core.ReactiveAdapter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.Method;
 
 /**
  * 分布式锁拦截器
@@ -35,10 +35,12 @@ import java.lang.reflect.Method;
  * @date 2022-02-02
  * @see RedisLock
  */
-public class RedisLockInterceptor extends AbstractRedisInterceptor implements Ordered {
+public class RedisLockInterceptor extends AbstractRedisInterceptor<RedisLock> implements Ordered {
+
+    private final LocalLockQueue localLockQueue = new LocalLockQueue(RedisLockConstants.MAX_HANDOFFS);
 
     public RedisLockInterceptor(RedissonClient redissonClient) {
-        super(redissonClient);
+        super(redissonClient, RedisLock.class);
     }
 
     @Override
@@ -47,30 +49,31 @@ public class RedisLockInterceptor extends AbstractRedisInterceptor implements Or
         return Ordered.HIGHEST_PRECEDENCE;
     }
 
+    @Override
+    protected String getKeyName(RedisLock redisLock) {
+        return redisLock.prefix();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(RedisLock redisLock) {
+        return redisLock.expressions();
+    }
+
     @Nullable
     @Override
     public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
-        Method method = invocation.getMethod();
-        RedisLock redisLock = method.getAnnotation(RedisLock.class);
-        String lockName = getKey(RedisKeyPrefix.LOCK.getKey(), redisLock.prefix(), redisLock.expressions(), method, invocation.getArguments());
-        RLock lock = redissonClient.getLock(lockName);
-        boolean isRequiredLock = false;
-        try {
-            if (redisLock.leaseTime() == RedisLockConstants.DEFAULT_LEASE_TIME) {
-                isRequiredLock = lock.tryLock(redisLock.waitTime(), redisLock.unit());
-            } else {
-                isRequiredLock = lock.tryLock(redisLock.waitTime(), redisLock.leaseTime(), redisLock.unit());
-            }
-            if (!isRequiredLock) {
-                throw new AcquiredLockFailException(redisLock.acquiredFailCode());
-            }
-
-            return invocation.proceed();
-        } finally {
-            if (isRequiredLock) {
-                lock.unlock();
-            }
+        RedisKeyGenerator<RedisLock> keyGenerator = getKeyGenerator(invocation.getMethod());
+        RedisLock redisLock = keyGenerator.getAnnotation();
+        String lockName = keyGenerator.getKey(RedisKeyPrefix.LOCK.getKey(), keyGenerator.getSuffix(invocation.getArguments()));
+        ReactiveAdapter reactiveAdapter = getReactiveAdapter(invocation.getMethod());
+        if (reactiveAdapter != null) {
+            RLockReactive lock = getRedissonReactiveClient().getLock(lockName);
+            return lockReactive(invocation, reactiveAdapter, keyGenerator.getName(), lock, redisLock.waitTime(), redisLock.leaseTime(), redisLock.unit(),
+                    redisLock.acquiredFailCode());
         }
+
+        // 同一个key先在本jvm内排队，只有队首线程访问redis
+        return localLockQueue.execute(keyGenerator.getName(), lockName, redissonClient.getLock(lockName), redisLock, metricsRecorder, invocation);
     }
 
 }
\ No newline at end of file
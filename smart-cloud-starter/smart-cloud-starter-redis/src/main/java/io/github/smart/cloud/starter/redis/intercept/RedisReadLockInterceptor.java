@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.starter.redis.annotation.RedisReadLock;
+import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RReadWriteLockReactive;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式读锁拦截器
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisReadLock
+ */
+public class RedisReadLockInterceptor extends AbstractReadWriteLockInterceptor<RedisReadLock> {
+
+    public RedisReadLockInterceptor(RedissonClient redissonClient) {
+        super(redissonClient, RedisReadLock.class);
+    }
+
+    @Override
+    protected String getKeyName(RedisReadLock redisReadLock) {
+        return redisReadLock.prefix();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(RedisReadLock redisReadLock) {
+        return redisReadLock.expressions();
+    }
+
+    @Override
+    protected RLock getLock(RReadWriteLock readWriteLock) {
+        return readWriteLock.readLock();
+    }
+
+    @Override
+    protected RLockReactive getLock(RReadWriteLockReactive readWriteLock) {
+        return readWriteLock.readLock();
+    }
+
+    @Override
+    protected String getAcquiredFailCode(RedisReadLock redisReadLock) {
+        return redisReadLock.acquiredFailCode();
+    }
+
+    @Override
+    protected long getWaitTime(RedisReadLock redisReadLock) {
+        return redisReadLock.waitTime();
+    }
+
+    @Override
+    protected long getLeaseTime(RedisReadLock redisReadLock) {
+        return redisReadLock.leaseTime();
+    }
+
+    @Override
+    protected TimeUnit getUnit(RedisReadLock redisReadLock) {
+        return redisReadLock.unit();
+    }
+
+}
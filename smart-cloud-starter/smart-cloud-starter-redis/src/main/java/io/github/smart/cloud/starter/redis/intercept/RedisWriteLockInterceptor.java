@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.intercept;
+
+import io.github.smart.cloud.starter.redis.annotation.RedisWriteLock;
+import org.redisson.api.RLock;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RReadWriteLockReactive;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式写锁拦截器
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see RedisWriteLock
+ */
+public class RedisWriteLockInterceptor extends AbstractReadWriteLockInterceptor<RedisWriteLock> {
+
+    public RedisWriteLockInterceptor(RedissonClient redissonClient) {
+        super(redissonClient, RedisWriteLock.class);
+    }
+
+    @Override
+    protected String getKeyName(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.prefix();
+    }
+
+    @Override
+    protected String[] getKeyExpressions(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.expressions();
+    }
+
+    @Override
+    protected RLock getLock(RReadWriteLock readWriteLock) {
+        return readWriteLock.writeLock();
+    }
+
+    @Override
+    protected RLockReactive getLock(RReadWriteLockReactive readWriteLock) {
+        return readWriteLock.writeLock();
+    }
+
+    @Override
+    protected String getAcquiredFailCode(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.acquiredFailCode();
+    }
+
+    @Override
+    protected long getWaitTime(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.waitTime();
+    }
+
+    @Override
+    protected long getLeaseTime(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.leaseTime();
+    }
+
+    @Override
+    protected TimeUnit getUnit(RedisWriteLock redisWriteLock) {
+        return redisWriteLock.unit();
+    }
+
+}
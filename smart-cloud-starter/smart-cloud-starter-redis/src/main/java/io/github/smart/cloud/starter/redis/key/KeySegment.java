@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.key;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.expression.Expression;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * key片段（对应注解中的一个表达式）
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@AllArgsConstructor
+final class KeySegment {
+
+    /**
+     * 无法通过快速路径取值，需要走SpEL
+     */
+    static final Object UNRESOLVED = new Object();
+
+    /**
+     * 预解析的SpEL表达式
+     */
+    private final Expression expression;
+    /**
+     * 快速路径对应的参数下标（-1表示不支持快速路径）
+     */
+    private final int argumentIndex;
+    /**
+     * 快速路径对应的属性getter链
+     */
+    private final Method[] getters;
+
+    /**
+     * 通过快速路径取值
+     *
+     * @param arguments
+     * @return 不支持快速路径，或中间属性为null时返回{@link #UNRESOLVED}
+     */
+    Object getValue(Object[] arguments) {
+        if (argumentIndex < 0) {
+            return UNRESOLVED;
+        }
+
+        Object value = arguments[argumentIndex];
+        for (Method getter : getters) {
+            if (value == null) {
+                // 交给SpEL处理，保持与原有行为一致
+                return UNRESOLVED;
+            }
+            value = ReflectionUtils.invokeMethod(getter, value);
+        }
+        return value;
+    }
+
+}
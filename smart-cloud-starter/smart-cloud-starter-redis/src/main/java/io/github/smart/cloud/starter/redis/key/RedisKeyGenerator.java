@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.key;
+
+import io.github.smart.cloud.constants.SymbolConstant;
+import lombok.Getter;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * redis key生成器
+ *
+ * <p>每个方法只在首次调用时解析一次：注解、key前缀、参数名、SpEL表达式（编译模式）均缓存复用；
+ * 形如{@code #arg}、{@code #arg.prop}的简单表达式直接通过反射取值，不经过SpEL</p>
+ *
+ * @param <A> 注解类型
+ * @author collin
+ * @date 2026-10-18
+ */
+public class RedisKeyGenerator<A extends Annotation> {
+
+    private static final ParameterNameDiscoverer DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final ExpressionParser PARSER = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+    /**
+     * 简单表达式：#arg、#arg.prop、#arg.prop1.prop2
+     */
+    private static final Pattern SIMPLE_EXPRESSION_PATTERN = Pattern.compile("^#([A-Za-z_$][\\w$]*)((?:\\.[A-Za-z_$][\\w$]*)*)$");
+    /**
+     * md5长度
+     */
+    private static final int MD5_LENGTH = 32;
+
+    /**
+     * 方法上的注解
+     */
+    @Getter
+    private final A annotation;
+    /**
+     * 缓存名称（即去掉结尾分隔符的key一级分类）
+     */
+    @Getter
+    private final String name;
+    /**
+     * key一级分类（以“:”结尾）
+     */
+    private final String namePart;
+    private final Method method;
+    private final String[] parameterNames;
+    private final KeySegment[] segments;
+
+    public RedisKeyGenerator(A annotation, String name, String[] expressions, Method method) {
+        this.annotation = annotation;
+        this.method = method;
+        this.namePart = buildNamePart(name, method);
+        this.name = namePart.substring(0, namePart.length() - SymbolConstant.COLON.length());
+        this.parameterNames = DISCOVERER.getParameterNames(method);
+        this.segments = new KeySegment[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            segments[i] = compile(expressions[i]);
+        }
+    }
+
+    /**
+     * 获取key后缀（超过32位时取md5）
+     *
+     * @param arguments
+     * @return
+     */
+    public String getSuffix(Object[] arguments) {
+        EvaluationContext evaluationContext = null;
+        StringBuilder suffix = new StringBuilder(MD5_LENGTH);
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                suffix.append(SymbolConstant.COLON);
+            }
+
+            KeySegment segment = segments[i];
+            Object value = segment.getValue(arguments);
+            if (value == KeySegment.UNRESOLVED) {
+                if (evaluationContext == null) {
+                    evaluationContext = getEvaluationContext(arguments);
+                }
+                value = segment.getExpression().getValue(evaluationContext);
+            }
+            suffix.append(value);
+        }
+
+        return toSuffix(suffix.toString());
+    }
+
+    /**
+     * 获取单个元素作为key后缀（超过32位时取md5），与只有一个表达式时{@link #getSuffix(Object[])}的结果一致
+     *
+     * @param element
+     * @return
+     */
+    public String getElementSuffix(Object element) {
+        return toSuffix(String.valueOf(element));
+    }
+
+    /**
+     * 表达式的值（多个表达式的值用“:”拼接）转为key后缀：超过32位时取md5；对已转换的后缀再次调用结果不变
+     *
+     * @param value
+     * @return
+     */
+    public static String toSuffix(String value) {
+        return value.length() > MD5_LENGTH ? DigestUtils.md5Hex(value) : value;
+    }
+
+    /**
+     * 不经过注解（如缓存预热）时构建key，与注解指定相同name、表达式时生成的key一致
+     *
+     * @param prefixType key类型前缀，见{@link io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix}
+     * @param name       注解中的name
+     * @param suffix     表达式的值（多个表达式的值用“:”拼接）
+     * @return
+     */
+    public static String buildKey(String prefixType, String name, String suffix) {
+        StringBuilder key = new StringBuilder(prefixType.length() + name.length() + MD5_LENGTH + 1)
+                .append(prefixType)
+                .append(name);
+        if (!name.endsWith(SymbolConstant.COLON)) {
+            key.append(SymbolConstant.COLON);
+        }
+        return key.append(toSuffix(suffix)).toString();
+    }
+
+    /**
+     * 获取key
+     *
+     * @param prefixType key类型前缀，见{@link io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix}
+     * @param suffix     {@link #getSuffix(Object[])}的结果
+     * @return
+     */
+    public String getKey(String prefixType, String suffix) {
+        return new StringBuilder(prefixType.length() + namePart.length() + suffix.length())
+                .append(prefixType)
+                .append(namePart)
+                .append(suffix)
+                .toString();
+    }
+
+    /**
+     * 获取EvaluationContext对象
+     *
+     * @param arguments
+     * @return
+     */
+    private EvaluationContext getEvaluationContext(Object[] arguments) {
+        EvaluationContext evaluationContext = new StandardEvaluationContext(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                evaluationContext.setVariable(parameterNames[i], arguments[i]);
+            }
+        }
+        return evaluationContext;
+    }
+
+    /**
+     * 预编译表达式，简单表达式生成快速路径
+     *
+     * @param expression
+     * @return
+     */
+    private KeySegment compile(String expression) {
+        Matcher matcher = SIMPLE_EXPRESSION_PATTERN.matcher(expression);
+        int argumentIndex = matcher.matches() ? indexOfParameter(matcher.group(1)) : -1;
+        if (argumentIndex < 0) {
+            return new KeySegment(PARSER.parseExpression(expression), -1, null);
+        }
+
+        String properties = matcher.group(2);
+        String[] propertyNames = StringUtils.isEmpty(properties) ? new String[0] : properties.substring(1).split("\\.");
+        Method[] getters = new Method[propertyNames.length];
+        Class<?> type = method.getParameterTypes()[argumentIndex];
+        for (int i = 0; i < propertyNames.length; i++) {
+            PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(type, propertyNames[i]);
+            if (propertyDescriptor == null || propertyDescriptor.getReadMethod() == null) {
+                // 非标准getter（如map、public字段），交给SpEL处理
+                return new KeySegment(PARSER.parseExpression(expression), -1, null);
+            }
+            getters[i] = propertyDescriptor.getReadMethod();
+            ReflectionUtils.makeAccessible(getters[i]);
+            type = getters[i].getReturnType();
+        }
+
+        return new KeySegment(PARSER.parseExpression(expression), argumentIndex, getters);
+    }
+
+    /**
+     * 获取参数下标
+     *
+     * @param parameterName
+     * @return 不存在时返回-1
+     */
+    private int indexOfParameter(String parameterName) {
+        if (parameterNames == null) {
+            return -1;
+        }
+
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(parameterName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 构建key一级分类（默认为类名:方法名:）
+     *
+     * @param name
+     * @param method
+     * @return
+     */
+    private static String buildNamePart(String name, Method method) {
+        StringBuilder namePart = new StringBuilder(32);
+        if (StringUtils.isBlank(name)) {
+            namePart.append(method.getDeclaringClass().getSimpleName().toLowerCase());
+            namePart.append(SymbolConstant.COLON);
+            namePart.append(method.getName().toLowerCase());
+            namePart.append(SymbolConstant.COLON);
+        } else {
+            namePart.append(name);
+            if (!name.endsWith(SymbolConstant.COLON)) {
+                namePart.append(SymbolConstant.COLON);
+            }
+        }
+
+        return namePart.toString();
+    }
+
+}
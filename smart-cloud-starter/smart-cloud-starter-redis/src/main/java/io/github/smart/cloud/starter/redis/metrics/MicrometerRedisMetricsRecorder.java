@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于micrometer的指标记录（通过actuator的metrics、prometheus端点暴露）
+ *
+ * <ul>
+ *     <li>smart.redis.lock.wait：获取锁等待时间（标签name、result=acquired|failed）</li>
+ *     <li>smart.redis.lock.hold：锁持有时间（标签name）</li>
+ *     <li>smart.redis.cache.gets：缓存查询次数（标签name、result=local_hit|redis_hit|miss）</li>
+ *     <li>smart.redis.cache.load：未命中时从数据源加载耗时（标签name）</li>
+ *     <li>smart.redis.cache.value.size：从redis读取的缓存值字节数（标签name）</li>
+ *     <li>smart.redis.counter.dropped：缓冲计数本地key数量达到上限时丢弃的增量次数</li>
+ * </ul>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class MicrometerRedisMetricsRecorder implements RedisMetricsRecorder {
+
+    private static final String TAG_NAME = "name";
+    private static final String TAG_RESULT = "result";
+    private static final String ACQUIRED = "acquired";
+    private static final String FAILED = "failed";
+
+    private final MeterRegistry meterRegistry;
+    /**
+     * 按“指标名+标签”缓存meter，避免每次记录都经过registry查找
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MicrometerRedisMetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordLockWait(String name, long waitNanos, boolean acquired) {
+        String result = acquired ? ACQUIRED : FAILED;
+        timers.computeIfAbsent("lock.wait:" + name + ":" + result, key -> Timer.builder("smart.redis.lock.wait")
+                .description("redis lock wait time")
+                .tag(TAG_NAME, name)
+                .tag(TAG_RESULT, result)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLockHold(String name, long holdNanos) {
+        timers.computeIfAbsent("lock.hold:" + name, key -> Timer.builder("smart.redis.lock.hold")
+                .description("redis lock hold time")
+                .tag(TAG_NAME, name)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheGet(String name, String result, int count) {
+        counters.computeIfAbsent(name + ":" + result, key -> Counter.builder("smart.redis.cache.gets")
+                .description("cache gets")
+                .tag(TAG_NAME, name)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry))
+                .increment(count);
+    }
+
+    @Override
+    public void recordCacheLoad(String name, long loadNanos) {
+        timers.computeIfAbsent("cache.load:" + name, key -> Timer.builder("smart.redis.cache.load")
+                .description("cache load time on miss")
+                .tag(TAG_NAME, name)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(loadNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheValueSize(String name, int bytes) {
+        summaries.computeIfAbsent(name, key -> DistributionSummary.builder("smart.redis.cache.value.size")
+                .description("size of cache values read from redis")
+                .baseUnit("bytes")
+                .tag(TAG_NAME, name)
+                .register(meterRegistry))
+                .record(bytes);
+    }
+
+    @Override
+    public void recordCounterDropped(long count) {
+        counters.computeIfAbsent("counter.dropped", key -> Counter.builder("smart.redis.counter.dropped")
+                .description("buffered counter increments dropped when the buffer is full")
+                .register(meterRegistry))
+                .increment(count);
+    }
+
+}
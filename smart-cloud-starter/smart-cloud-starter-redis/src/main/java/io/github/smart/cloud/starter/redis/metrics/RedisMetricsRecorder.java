@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.metrics;
+
+/**
+ * 分布式锁、缓存、缓冲计数指标记录
+ *
+ * <p>指标按注解的key一级分类（锁的prefix、缓存的name）打标签，不使用完整key，避免标签基数失控</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public interface RedisMetricsRecorder {
+
+    /**
+     * 不记录任何指标（未引入micrometer时使用）
+     */
+    RedisMetricsRecorder NOOP = new RedisMetricsRecorder() {
+    };
+
+    /**
+     * 缓存结果：本地缓存命中
+     */
+    String LOCAL_HIT = "local_hit";
+    /**
+     * 缓存结果：redis缓存命中
+     */
+    String REDIS_HIT = "redis_hit";
+    /**
+     * 缓存结果：未命中
+     */
+    String MISS = "miss";
+
+    /**
+     * 记录获取锁的等待时间
+     *
+     * @param name      锁的key一级分类
+     * @param waitNanos 等待时间（纳秒）
+     * @param acquired  是否获取成功
+     */
+    default void recordLockWait(String name, long waitNanos, boolean acquired) {
+    }
+
+    /**
+     * 记录锁的持有时间
+     *
+     * @param name      锁的key一级分类
+     * @param holdNanos 持有时间（纳秒）
+     */
+    default void recordLockHold(String name, long holdNanos) {
+    }
+
+    /**
+     * 记录缓存查询结果
+     *
+     * @param name   缓存名称
+     * @param result {@link #LOCAL_HIT}、{@link #REDIS_HIT}、{@link #MISS}
+     * @param count  key数量
+     */
+    default void recordCacheGet(String name, String result, int count) {
+    }
+
+    /**
+     * 记录缓存未命中时从数据源加载的耗时
+     *
+     * @param name      缓存名称
+     * @param loadNanos 加载耗时（纳秒）
+     */
+    default void recordCacheLoad(String name, long loadNanos) {
+    }
+
+    /**
+     * 记录从redis读取的缓存值大小
+     *
+     * @param name  缓存名称
+     * @param bytes 序列化后的字节数
+     */
+    default void recordCacheValueSize(String name, int bytes) {
+    }
+
+    /**
+     * 记录缓冲计数因本地key数量达到上限而丢弃的增量次数
+     *
+     * @param count
+     */
+    default void recordCounterDropped(long count) {
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存布隆过滤器配置属性
+ *
+ * <p>只有存在对应{@link io.github.smart.cloud.starter.redis.cache.BloomFilterLoader}的缓存名称才会创建布隆过滤器，configs只用于调整其容量、误判率</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class BloomFilterProperties {
+
+    /**
+     * 默认预计元素数量
+     */
+    private long expectedInsertions = 1000000L;
+    /**
+     * 默认误判率
+     */
+    private double falseProbability = 0.01D;
+    /**
+     * 特定缓存配置<缓存名称，配置>
+     */
+    private Map<String, BloomFilterConfig> configs = new HashMap<>();
+
+    /**
+     * 单个缓存的布隆过滤器配置，为null的属性使用默认值
+     *
+     * @author collin
+     * @date 2026-10-18
+     */
+    @Getter
+    @Setter
+    public static class BloomFilterConfig {
+
+        /**
+         * 预计元素数量
+         */
+        private Long expectedInsertions;
+        /**
+         * 误判率
+         */
+        private Double falseProbability;
+
+    }
+
+}
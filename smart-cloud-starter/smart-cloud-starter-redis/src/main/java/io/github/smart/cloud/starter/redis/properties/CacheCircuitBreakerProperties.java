@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 缓存熔断配置属性
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class CacheCircuitBreakerProperties {
+
+    /**
+     * 是否开启熔断
+     */
+    private boolean enabled = true;
+    /**
+     * 统计窗口（秒）
+     */
+    private int windowSeconds = 10;
+    /**
+     * 窗口内调用数达到该值才计算失败率、慢调用率
+     */
+    private int minimumCalls = 20;
+    /**
+     * 失败率阈值（百分比）
+     */
+    private int failureRateThreshold = 50;
+    /**
+     * 慢调用阈值（毫秒）
+     */
+    private long slowCallMillis = 500L;
+    /**
+     * 慢调用率阈值（百分比）
+     */
+    private int slowCallRateThreshold = 80;
+    /**
+     * 熔断后多久进入半开状态（毫秒）
+     */
+    private long openDurationMillis = 5000L;
+    /**
+     * 半开状态下的探测调用数，全部成功则恢复
+     */
+    private int halfOpenCalls = 5;
+
+}
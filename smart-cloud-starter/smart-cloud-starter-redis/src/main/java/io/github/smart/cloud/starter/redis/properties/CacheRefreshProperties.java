@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 缓存后台刷新配置属性
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class CacheRefreshProperties {
+
+    /**
+     * 后台刷新线程数（即最大并发刷新数）
+     */
+    private int threads = 4;
+    /**
+     * 等待刷新的任务队列长度
+     */
+    private int queueCapacity = 1000;
+
+}
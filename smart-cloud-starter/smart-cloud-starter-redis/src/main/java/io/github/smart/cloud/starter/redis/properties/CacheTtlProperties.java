@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存过期时间配置属性
+ *
+ * <p>过期时间在注解值（或单个缓存配置的ttlMillis）的基础上，随机增加[0, 抖动值]毫秒，避免同一批写入的缓存在同一时刻过期；
+ * 抖动值优先取jitterMillis，未配置时取过期时间的jitterPercent%</p>
+ *
+ * <p>动态刷新需要引入spring-cloud-context（可选依赖）：收到EnvironmentChangeEvent（如配置中心推送）时重新绑定为新的配置快照，
+ * 已删除的配置项随之失效；未引入时只在启动时读取一次</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class CacheTtlProperties {
+
+    /**
+     * 默认抖动百分比（0表示不抖动）
+     */
+    private int jitterPercent = 0;
+    /**
+     * 默认抖动值（毫秒，0表示按jitterPercent计算）
+     */
+    private long jitterMillis = 0L;
+    /**
+     * 特定缓存配置<缓存名称，配置>
+     */
+    private Map<String, CacheTtlConfig> configs = new HashMap<>();
+
+    /**
+     * 单个缓存的配置，为null的属性使用注解值或默认值
+     *
+     * @author collin
+     * @date 2026-10-18
+     */
+    @Getter
+    @Setter
+    public static class CacheTtlConfig {
+
+        /**
+         * 是否开启缓存（关闭时直接执行目标方法）
+         */
+        private Boolean enabled;
+        /**
+         * 过期时间（毫秒），覆盖注解的cacheTtl
+         */
+        private Long ttlMillis;
+        /**
+         * 抖动百分比
+         */
+        private Integer jitterPercent;
+        /**
+         * 抖动值（毫秒）
+         */
+        private Long jitterMillis;
+
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 缓存启动预热配置属性
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class CacheWarmupProperties {
+
+    /**
+     * 是否开启预热（存在{@link io.github.smart.cloud.starter.redis.cache.CacheWarmer}时生效）
+     */
+    private boolean enabled = true;
+    /**
+     * 预热最长等待时间（毫秒）；超时后不再阻塞就绪状态，未完成的预热在后台继续执行
+     */
+    private long timeoutMillis = 60000L;
+    /**
+     * 同时预热的缓存数
+     */
+    private int concurrency = 4;
+    /**
+     * 每次pipeline写入的key数量
+     */
+    private int batchSize = 500;
+
+}
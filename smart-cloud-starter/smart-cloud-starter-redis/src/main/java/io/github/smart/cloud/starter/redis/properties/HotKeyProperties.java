@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 热点key探测配置属性
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class HotKeyProperties {
+
+    /**
+     * 是否开启热点key探测
+     */
+    private boolean enabled = false;
+    /**
+     * 采样率：每N次访问统计1次
+     */
+    private int sampleRate = 16;
+    /**
+     * count-min sketch每行的计数器个数（向上取2的幂）
+     */
+    private int sketchWidth = 4096;
+    /**
+     * 保留的热点key个数
+     */
+    private int topK = 32;
+    /**
+     * 一个衰减周期内估算访问次数达到该值视为热点key
+     */
+    private long hotThreshold = 1000L;
+    /**
+     * 衰减周期（毫秒），每个周期所有计数减半
+     */
+    private long decayIntervalMillis = 10000L;
+    /**
+     * 是否将热点key提升到进程内缓存
+     */
+    private boolean promote = false;
+    /**
+     * 提升到进程内缓存的过期时间（毫秒）；其他节点删除缓存时通过广播删除，广播丢失时本节点最多读到旧值的时间
+     */
+    private long promoteTtlMillis = 1000L;
+    /**
+     * 进程内热点缓存最大条数
+     */
+    private long promoteMaximumSize = 1000L;
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 本地缓存（一级缓存）配置属性
+ *
+ * <p>开启后，{@link io.github.smart.cloud.starter.redis.annotation.Cacheable}会先查询进程内缓存，未命中再查询redis；
+ * 本地缓存中保存的是同一个对象引用，调用方不要修改返回的缓存对象</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class LocalCacheProperties {
+
+    /**
+     * 本地缓存总开关（默认关闭）
+     */
+    private boolean enabled = false;
+    /**
+     * 默认最大缓存条数
+     */
+    private long maximumSize = 1000L;
+    /**
+     * 默认写入后过期时间（单位：毫秒）
+     */
+    private long expireAfterWriteMillis = 60 * 1000L;
+    /**
+     * 缓存失效广播的redis channel
+     */
+    private String evictChannel = "smart:cache:evict";
+    /**
+     * 特定缓存配置<缓存名称，配置>
+     */
+    private Map<String, LocalCacheConfig> configs = new HashMap<>();
+
+    /**
+     * 单个缓存的本地缓存配置，为null的属性使用默认值
+     *
+     * @author collin
+     * @date 2026-10-18
+     */
+    @Getter
+    @Setter
+    public static class LocalCacheConfig {
+
+        /**
+         * 是否开启
+         */
+        private Boolean enabled;
+        /**
+         * 最大缓存条数
+         */
+        private Long maximumSize;
+        /**
+         * 写入后过期时间（单位：毫秒）
+         */
+        private Long expireAfterWriteMillis;
+
+    }
+
+}
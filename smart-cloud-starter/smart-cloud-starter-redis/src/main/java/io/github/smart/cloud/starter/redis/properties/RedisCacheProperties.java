@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 缓存配置属性
+ * <p/>
+ * <b>配置样例：</b>
+ * <pre>
+ * smart:
+ *   redis:
+ *     cache:
+ *       local:
+ *         enabled: true
+ *         maximumSize: 1000
+ *         expireAfterWriteMillis: 60000
+ *         configs:
+ *           dict:
+ *             maximumSize: 5000
+ *             expireAfterWriteMillis: 300000
+ *           order:
+ *             enabled: false
+ *       refresh:
+ *         threads: 4
+ *         queueCapacity: 1000
+ *       bloomFilter:
+ *         expectedInsertions: 1000000
+ *         falseProbability: 0.01
+ *         configs:
+ *           order:
+ *             expectedInsertions: 10000000
+ *       warmup:
+ *         enabled: true
+ *         timeoutMillis: 60000
+ *         concurrency: 4
+ *         batchSize: 500
+ *       ttl:
+ *         jitterPercent: 10
+ *         configs:
+ *           order:
+ *             ttlMillis: 600000
+ *             jitterMillis: 30000
+ *           dict:
+ *             enabled: false
+ *       hotKey:
+ *         enabled: true
+ *         sampleRate: 16
+ *         topK: 32
+ *         hotThreshold: 1000
+ *         decayIntervalMillis: 10000
+ *         promote: true
+ *         promoteTtlMillis: 1000
+ *       circuitBreaker:
+ *         enabled: true
+ *         failureRateThreshold: 50
+ *         slowCallMillis: 500
+ *         openDurationMillis: 5000
+ * </pre>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class RedisCacheProperties {
+
+    public static final String PREFIX = "smart.redis.cache";
+
+    /**
+     * 本地缓存（一级缓存）配置
+     */
+    private LocalCacheProperties local = new LocalCacheProperties();
+    /**
+     * 后台刷新（软过期、提前刷新）配置
+     */
+    private CacheRefreshProperties refresh = new CacheRefreshProperties();
+    /**
+     * 布隆过滤器配置
+     */
+    private BloomFilterProperties bloomFilter = new BloomFilterProperties();
+    /**
+     * 启动预热配置
+     */
+    private CacheWarmupProperties warmup = new CacheWarmupProperties();
+    /**
+     * redis熔断配置
+     */
+    private CacheCircuitBreakerProperties circuitBreaker = new CacheCircuitBreakerProperties();
+    /**
+     * 过期时间配置（抖动、按缓存名称覆盖）
+     */
+    private CacheTtlProperties ttl = new CacheTtlProperties();
+    /**
+     * 热点key探测配置
+     */
+    private HotKeyProperties hotKey = new HotKeyProperties();
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 缓冲计数配置属性
+ * <p/>
+ * <b>配置样例：</b>
+ * <pre>
+ * smart:
+ *   redis:
+ *     counter:
+ *       flushIntervalMillis: 1000
+ *       maxPendingKeys: 10000
+ *       batchSize: 500
+ *       retryExpireMillis: 60000
+ *       maxRetryBackoffMillis: 10000
+ *       maxBufferedKeys: 100000
+ * </pre>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class RedisCounterProperties {
+
+    public static final String PREFIX = "smart.redis.counter";
+
+    /**
+     * 刷新间隔（毫秒），即进程异常退出时最多丢失的增量时间窗口
+     */
+    private long flushIntervalMillis = 1000L;
+    /**
+     * 待刷新的key数量达到该值时，立即触发一次刷新
+     */
+    private int maxPendingKeys = 10000;
+    /**
+     * 每次pipeline累加的key数量
+     */
+    private int batchSize = 500;
+    /**
+     * 写入失败的增量的最长重试时间（毫秒），同时是redis中幂等标记的有效期；超过后放弃重试，避免标记过期后重复累加
+     */
+    private long retryExpireMillis = 60000L;
+    /**
+     * 写入失败后重试的最大间隔（毫秒）；从刷新间隔开始每次失败翻倍，期间不再触发刷新，增量继续在本地累加
+     */
+    private long maxRetryBackoffMillis = 10000L;
+    /**
+     * 本地最多累加的key数量；redis长时间不可用时，超过后新key的增量被丢弃（已有key仍可累加），
+     * 丢弃数量记录在smart.redis.counter.dropped指标中
+     */
+    private int maxBufferedKeys = 100000;
+
+}
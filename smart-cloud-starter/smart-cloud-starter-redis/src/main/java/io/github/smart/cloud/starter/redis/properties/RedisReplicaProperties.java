@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从节点读配置属性
+ * <p/>
+ * <b>配置样例：</b>
+ * <pre>
+ * smart:
+ *   redis:
+ *     replica:
+ *       enabled: true
+ *       readFrom: replicaPreferred
+ *       nodes:
+ *         - 192.168.1.11:6379
+ *         - 192.168.1.12:6379
+ * </pre>
+ * 主节点及密码、库、超时等取自spring.redis；配置了spring.redis.sentinel或spring.redis.cluster时，由哨兵或集群发现从节点，无需配置nodes
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class RedisReplicaProperties {
+
+    public static final String PREFIX = "smart.redis.replica";
+
+    /**
+     * 是否将缓存读、IRedisAdapter读操作路由到从节点
+     */
+    private boolean enabled = false;
+    /**
+     * 读节点选择策略，见io.lettuce.core.ReadFrom（如replicaPreferred、replica、nearest、any）
+     */
+    private String readFrom = "replicaPreferred";
+    /**
+     * 从节点列表（host:port），主从模式（非哨兵、集群）时使用
+     */
+    private List<String> nodes = new ArrayList<>();
+
+}
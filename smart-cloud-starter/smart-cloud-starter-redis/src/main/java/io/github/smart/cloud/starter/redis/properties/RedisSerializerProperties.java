@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * redis value序列化配置属性
+ * <p/>
+ * <b>配置样例：</b>
+ * <pre>
+ * smart:
+ *   redis:
+ *     serializer:
+ *       codec: smile
+ *       compression: lz4
+ *       compressThreshold: 1024
+ * </pre>
+ * 默认配置（json、不压缩）写入的数据与{@link org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer}完全一致；
+ * 切换配置滚动发布期间，新旧格式的数据均可读取，但旧版本服务无法读取新格式的数据
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@Getter
+@Setter
+public class RedisSerializerProperties {
+
+    public static final String PREFIX = "smart.redis.serializer";
+
+    /**
+     * 编解码器名称：json（默认）、smile（需引入jackson-dataformat-smile），或自定义{@link io.github.smart.cloud.starter.redis.serializer.RedisValueCodec}的名称
+     */
+    private String codec = "json";
+    /**
+     * 压缩算法名称：为空表示不压缩（默认）、deflate、lz4（需引入lz4-java），或自定义{@link io.github.smart.cloud.starter.redis.serializer.RedisValueCompressor}的名称
+     */
+    private String compression;
+    /**
+     * 超过该字节数才压缩
+     */
+    private int compressThreshold = 1024;
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.script;
+
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * lua脚本注册中心
+ *
+ * <p>脚本只创建一次并缓存sha1，执行时使用EVALSHA，redis中不存在该脚本（NOSCRIPT）时自动回退为EVAL；
+ * 脚本内容应固定不变，变化的数据通过KEYS、ARGV传入，避免redis脚本缓存无限增长</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class RedisScriptRegistry {
+
+    /**
+     * 设置hash结构缓存，并设置有效期。KEYS[1]：key；ARGV[1]：有效期（秒）；ARGV[2...]：hashKey、value交替
+     */
+    public static final String SET_HASH = "smart:setHash";
+    /**
+     * 幂等累加计数：标记key不存在时才累加。KEYS[1]：计数key；KEYS[2]：标记key；ARGV[1]：标记有效期（毫秒）；ARGV[2]：增量；ARGV[3]：hash的field（可选）
+     */
+    public static final String INCREMENT_ONCE = "smart:incrementOnce";
+    /**
+     * 批量幂等累加计数：标记key不存在时才累加全部计数。KEYS[1]：标记key；KEYS[2...]：计数key（集群时与标记key位于同一slot）；
+     * ARGV[1]：标记有效期（毫秒）；之后每个计数key依次为增量、类型（0：INCRBY，1：HINCRBY）、hash的field（INCRBY时为空）
+     */
+    public static final String INCREMENT_BATCH_ONCE = "smart:incrementBatchOnce";
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final ConcurrentMap<String, RedisScript<?>> scripts = new ConcurrentHashMap<>();
+
+    public RedisScriptRegistry(RedisTemplate<Object, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        register(SET_HASH, "for i = 2, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                + "return redis.call('expire', KEYS[1], ARGV[1])", Long.class);
+        register(INCREMENT_ONCE, "if not redis.call('set', KEYS[2], 1, 'nx', 'px', ARGV[1]) then return 0 end "
+                + "if #ARGV > 2 then redis.call('hincrby', KEYS[1], ARGV[3], ARGV[2]) else redis.call('incrby', KEYS[1], ARGV[2]) end "
+                + "return 1", Long.class);
+        register(INCREMENT_BATCH_ONCE, "if not redis.call('set', KEYS[1], 1, 'nx', 'px', ARGV[1]) then return 0 end "
+                + "for i = 2, #KEYS do local j = i * 3 - 4 "
+                + "if ARGV[j + 1] == '1' then redis.call('hincrby', KEYS[i], ARGV[j + 2], ARGV[j]) else redis.call('incrby', KEYS[i], ARGV[j]) end end "
+                + "return 1", Long.class);
+    }
+
+    /**
+     * 注册脚本
+     *
+     * @param name       脚本名称
+     * @param scriptText 脚本内容
+     * @param resultType 返回值类型
+     * @param <T>
+     * @return
+     * @throws IllegalStateException 名称已被其他内容的脚本注册
+     */
+    public <T> RedisScript<T> register(String name, String scriptText, Class<T> resultType) {
+        return register(name, RedisScript.of(scriptText, resultType));
+    }
+
+    /**
+     * 注册脚本
+     *
+     * @param name       脚本名称
+     * @param location   脚本文件
+     * @param resultType 返回值类型
+     * @param <T>
+     * @return
+     * @throws IllegalStateException 名称已被其他内容的脚本注册
+     */
+    public <T> RedisScript<T> register(String name, Resource location, Class<T> resultType) {
+        DefaultRedisScript<T> redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(location));
+        redisScript.setResultType(resultType);
+        return register(name, redisScript);
+    }
+
+    /**
+     * 获取脚本
+     *
+     * @param name
+     * @param <T>
+     * @return
+     * @throws IllegalArgumentException 脚本不存在
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisScript<T> get(String name) {
+        RedisScript<T> redisScript = (RedisScript<T>) scripts.get(name);
+        if (redisScript == null) {
+            throw new IllegalArgumentException("redis script not registered: " + name);
+        }
+        return redisScript;
+    }
+
+    /**
+     * 执行脚本（参数使用redisTemplate的key、value序列化方式）
+     *
+     * @param name
+     * @param keys
+     * @param args
+     * @param <T>
+     * @return
+     */
+    public <T> T execute(String name, List<Object> keys, Object... args) {
+        return redisTemplate.execute(this.<T>get(name), keys, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RedisScript<T> register(String name, RedisScript<T> redisScript) {
+        RedisScript<?> existScript = scripts.putIfAbsent(name, redisScript);
+        if (existScript == null) {
+            return redisScript;
+        }
+        if (!existScript.getSha1().equals(redisScript.getSha1())) {
+            throw new IllegalStateException("redis script already registered with different content: " + name);
+        }
+        return (RedisScript<T>) existScript;
+    }
+
+}
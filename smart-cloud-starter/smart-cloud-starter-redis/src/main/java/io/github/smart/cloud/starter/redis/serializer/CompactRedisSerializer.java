@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.serializer;
+
+import io.github.smart.cloud.starter.redis.properties.RedisSerializerProperties;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 可选编解码器、可压缩的redis value序列化
+ * <p/>
+ * 格式：1字节头部（第3~4位为压缩算法id，第0~2位为编解码器id）+ 数据；头部取值范围为1~31，
+ * 而json文本的首字节均不小于0x20，因此首字节不在头部范围内的数据按无头部的json（旧格式）读取。
+ * 未压缩的json数据不写头部，与旧格式保持一致。
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+    /**
+     * 头部取值上限（不含）
+     */
+    private static final int HEADER_LIMIT = 0x20;
+    private static final int CODEC_BITS = 3;
+    private static final int CODEC_MASK = (1 << CODEC_BITS) - 1;
+    private static final int COMPRESSOR_MASK = 0x03;
+
+    private final RedisValueCodec[] codecs = new RedisValueCodec[CODEC_MASK + 1];
+    private final RedisValueCompressor[] compressors = new RedisValueCompressor[COMPRESSOR_MASK + 1];
+    /**
+     * 写入使用的编解码器
+     */
+    private final RedisValueCodec codec;
+    /**
+     * 写入使用的压缩算法（为null表示不压缩）
+     */
+    private final RedisValueCompressor compressor;
+    private final int compressThreshold;
+
+    public CompactRedisSerializer(RedisSerializerProperties redisSerializerProperties, List<RedisValueCodec> codecs,
+                                  List<RedisValueCompressor> compressors) {
+        this.codecs[JsonRedisValueCodec.ID] = new JsonRedisValueCodec();
+        for (RedisValueCodec item : codecs) {
+            register(this.codecs, item.getId(), item, item.getName());
+        }
+        for (RedisValueCompressor item : compressors) {
+            register(this.compressors, item.getId(), item, item.getName());
+        }
+
+        this.codec = Arrays.stream(this.codecs)
+                .filter(item -> item != null && item.getName().equals(redisSerializerProperties.getCodec()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown redis value codec: " + redisSerializerProperties.getCodec()));
+        if (StringUtils.isBlank(redisSerializerProperties.getCompression())) {
+            this.compressor = null;
+        } else {
+            this.compressor = Arrays.stream(this.compressors)
+                    .filter(item -> item != null && item.getName().equals(redisSerializerProperties.getCompression()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown redis value compression: " + redisSerializerProperties.getCompression()));
+        }
+        this.compressThreshold = redisSerializerProperties.getCompressThreshold();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+
+        byte[] bytes = codec.encode(value);
+        int compressorId = 0;
+        if (compressor != null && bytes.length >= compressThreshold) {
+            byte[] compressed = compressor.compress(bytes);
+            if (compressed.length < bytes.length) {
+                bytes = compressed;
+                compressorId = compressor.getId();
+            }
+        }
+        if (compressorId == 0 && codec.getId() == JsonRedisValueCodec.ID) {
+            return bytes;
+        }
+
+        byte[] result = new byte[bytes.length + 1];
+        result[0] = (byte) ((compressorId << CODEC_BITS) | codec.getId());
+        System.arraycopy(bytes, 0, result, 1, bytes.length);
+        return result;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        int header = bytes[0];
+        if (header <= 0 || header >= HEADER_LIMIT) {
+            return codecs[JsonRedisValueCodec.ID].decode(bytes);
+        }
+
+        RedisValueCodec valueCodec = codecs[header & CODEC_MASK];
+        int compressorId = (header >> CODEC_BITS) & COMPRESSOR_MASK;
+        RedisValueCompressor valueCompressor = compressors[compressorId];
+        if (valueCodec == null || (compressorId > 0 && valueCompressor == null)) {
+            throw new SerializationException("Unknown redis value header: " + header);
+        }
+
+        byte[] data = Arrays.copyOfRange(bytes, 1, bytes.length);
+        if (valueCompressor != null) {
+            data = valueCompressor.decompress(data);
+        }
+        return valueCodec.decode(data);
+    }
+
+    private static <T> void register(T[] registry, int id, T item, String name) {
+        if (id <= 0 || id >= registry.length) {
+            throw new IllegalArgumentException(String.format("Illegal id %s of %s, must between 1 and %s", id, name, registry.length - 1));
+        }
+        registry[id] = item;
+    }
+
+}
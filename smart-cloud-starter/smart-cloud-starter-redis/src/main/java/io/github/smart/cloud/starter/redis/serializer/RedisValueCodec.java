@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.serializer;
+
+/**
+ * redis value编解码器
+ *
+ * <p>实现类注册为spring bean后即可通过配置“smart.redis.serializer.codec”选用；
+ * 写入的数据头部记录编解码器id，读取时按id选择编解码器，因此切换编解码器后旧数据仍可读取</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see CompactRedisSerializer
+ */
+public interface RedisValueCodec {
+
+    /**
+     * 编解码器id（1~7，不能重复）
+     *
+     * @return
+     */
+    byte getId();
+
+    /**
+     * 编解码器名称（用于配置）
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 编码
+     *
+     * @param value 不为null
+     * @return
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码
+     *
+     * @param bytes 不为空
+     * @return
+     */
+    Object decode(byte[] bytes);
+
+}
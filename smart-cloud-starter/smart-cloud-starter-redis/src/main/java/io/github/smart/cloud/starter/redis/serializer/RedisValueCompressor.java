@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.serializer;
+
+/**
+ * redis value压缩算法
+ *
+ * <p>实现类注册为spring bean后即可通过配置“smart.redis.serializer.compression”选用</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ * @see CompactRedisSerializer
+ */
+public interface RedisValueCompressor {
+
+    /**
+     * 压缩算法id（1~3，不能重复）
+     *
+     * @return
+     */
+    byte getId();
+
+    /**
+     * 压缩算法名称（用于配置）
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 压缩
+     *
+     * @param bytes
+     * @return
+     */
+    byte[] compress(byte[] bytes);
+
+    /**
+     * 解压
+     *
+     * @param bytes
+     * @return
+     */
+    byte[] decompress(byte[] bytes);
+
+}
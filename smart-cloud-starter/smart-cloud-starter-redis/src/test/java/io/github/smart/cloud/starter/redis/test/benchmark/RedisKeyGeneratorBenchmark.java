@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.benchmark;
+
+import io.github.smart.cloud.constants.SymbolConstant;
+import io.github.smart.cloud.starter.redis.annotation.RedisLock;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.test.prepare.controller.RedisLockController;
+import io.github.smart.cloud.starter.redis.test.prepare.vo.User;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * key生成基准测试：对比每次解析SpEL（优化前）与预编译key生成器（优化后）的单次调用耗时
+ *
+ * <p>运行方式：执行{@link #main(String[])}</p>
+ *
+ * @author collin
+ * @date 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisKeyGeneratorBenchmark {
+
+    private static final LocalVariableTableParameterNameDiscoverer DISCOVERER = new LocalVariableTableParameterNameDiscoverer();
+    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private static final String NAME = "test:benchmark:";
+    private static final String[] SIMPLE_EXPRESSIONS = {"#mobile", "#user.id"};
+    private static final String[] SPEL_EXPRESSIONS = {"#mobile.substring(0, 7)", "#user.id"};
+
+    private Method method;
+    private Object[] arguments;
+    private final ConcurrentMap<Method, RedisKeyGenerator<RedisLock>> simpleKeyGenerators = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, RedisKeyGenerator<RedisLock>> spelKeyGenerators = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = RedisLockController.class.getMethod("testWithKeyPrefix", User.class, String.class);
+        User user = new User();
+        user.setId(100L);
+        user.setMobile("18700000000");
+        arguments = new Object[]{user, "13112341234"};
+
+        RedisLock redisLock = method.getAnnotation(RedisLock.class);
+        simpleKeyGenerators.put(method, new RedisKeyGenerator<>(redisLock, NAME, SIMPLE_EXPRESSIONS, method));
+        spelKeyGenerators.put(method, new RedisKeyGenerator<>(redisLock, NAME, SPEL_EXPRESSIONS, method));
+    }
+
+    /**
+     * 优化前：缓存key与锁key各计算一次，每次都解析表达式
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void legacySimple(Blackhole blackhole) {
+        blackhole.consume(legacyKey(RedisKeyPrefix.CACHE.getKey(), SIMPLE_EXPRESSIONS));
+        blackhole.consume(legacyKey(RedisKeyPrefix.LOCK_CACHE.getKey(), SIMPLE_EXPRESSIONS));
+    }
+
+    @Benchmark
+    public void compiledSimple(Blackhole blackhole) {
+        consume(simpleKeyGenerators.get(method), blackhole);
+    }
+
+    @Benchmark
+    public void legacySpel(Blackhole blackhole) {
+        blackhole.consume(legacyKey(RedisKeyPrefix.CACHE.getKey(), SPEL_EXPRESSIONS));
+        blackhole.consume(legacyKey(RedisKeyPrefix.LOCK_CACHE.getKey(), SPEL_EXPRESSIONS));
+    }
+
+    @Benchmark
+    public void compiledSpel(Blackhole blackhole) {
+        consume(spelKeyGenerators.get(method), blackhole);
+    }
+
+    private void consume(RedisKeyGenerator<RedisLock> keyGenerator, Blackhole blackhole) {
+        String suffix = keyGenerator.getSuffix(arguments);
+        blackhole.consume(keyGenerator.getKey(RedisKeyPrefix.CACHE.getKey(), suffix));
+        blackhole.consume(keyGenerator.getKey(RedisKeyPrefix.LOCK_CACHE.getKey(), suffix));
+    }
+
+    /**
+     * 优化前的key生成逻辑
+     *
+     * @param prefixType
+     * @param expressions
+     * @return
+     */
+    private String legacyKey(String prefixType, String[] expressions) {
+        StringBuilder prefix = new StringBuilder(32);
+        prefix.append(prefixType);
+        if (StringUtils.isBlank(NAME)) {
+            prefix.append(method.getDeclaringClass().getSimpleName().toLowerCase()).append(SymbolConstant.COLON);
+            prefix.append(method.getName().toLowerCase()).append(SymbolConstant.COLON);
+        } else {
+            prefix.append(NAME);
+        }
+
+        String[] parameterNames = DISCOVERER.getParameterNames(method);
+        EvaluationContext evaluationContext = new StandardEvaluationContext(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                evaluationContext.setVariable(parameterNames[i], arguments[i]);
+            }
+        }
+        StringBuilder suffix = new StringBuilder();
+        for (int i = 0; i < expressions.length; i++) {
+            if (i > 0) {
+                suffix.append(SymbolConstant.COLON);
+            }
+            suffix.append(PARSER.parseExpression(expressions[i]).getValue(evaluationContext));
+        }
+
+        String keySuffix = suffix.toString();
+        return prefix + (keySuffix.length() > 32 ? DigestUtils.md5Hex(keySuffix) : keySuffix);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisKeyGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -15,16 +15,27 @@
  */
 package io.github.smart.cloud.starter.redis.test.integration;
 
+import io.github.smart.cloud.starter.redis.cache.BloomFilterRepository;
+import io.github.smart.cloud.starter.redis.cache.CacheWarmupRunner;
 import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.properties.CacheTtlProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
 import io.github.smart.cloud.starter.redis.test.prepare.bo.CreateOrderBO;
+import io.github.smart.cloud.starter.redis.test.prepare.cache.OrderBloomFilterLoader;
+import io.github.smart.cloud.starter.redis.test.prepare.cache.OrderCacheWarmer;
 import io.github.smart.cloud.starter.redis.test.prepare.dataobject.OrderInfo;
 import io.github.smart.cloud.starter.redis.test.prepare.service.ICacheTestService;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.support.NullValue;
 import org.springframework.data.redis.core.RedisTemplate;
+import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 class CacheIntegrationTest extends AbstractRedisIntegrationTest {
@@ -33,6 +44,12 @@ class CacheIntegrationTest extends AbstractRedisIntegrationTest {
     private ICacheTestService cacheTestService;
     @Autowired
     private RedisTemplate<Object, Object> redisTemplate;
+    @Autowired
+    private CacheWarmupRunner cacheWarmupRunner;
+    @Autowired
+    private RedisCacheProperties redisCacheProperties;
+    @Autowired
+    private BloomFilterRepository bloomFilterRepository;
 
     @Test
     void testCacheable() {
@@ -64,4 +81,149 @@ class CacheIntegrationTest extends AbstractRedisIntegrationTest {
         Assertions.assertThat(redisTemplate.opsForValue().get(orderNo)).isNull();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testLocalCache() {
+        String orderNo = RandomStringUtils.random(32, true, true);
+        OrderInfo orderInfo = cacheTestService.query(orderNo);
+        Assertions.assertThat(orderInfo).isNotNull();
+
+        // 删除redis缓存后，仍能从本地缓存获取
+        String key = RedisKeyPrefix.CACHE.getKey() + "order:" + orderNo;
+        redisTemplate.delete(key);
+        Assertions.assertThat(cacheTestService.query(orderNo)).isSameAs(orderInfo);
+
+        // 触发缓存删除后，本地缓存同时被删除
+        CreateOrderBO createOrderBO = new CreateOrderBO();
+        createOrderBO.setOrderNo(orderNo);
+        createOrderBO.setPrice(100L);
+        cacheTestService.createOrder(createOrderBO);
+        Assertions.assertThat(cacheTestService.query(orderNo)).isNotSameAs(orderInfo);
+    }
+
+    @Test
+    void testTtlConfig() {
+        CacheTtlProperties.CacheTtlConfig config = new CacheTtlProperties.CacheTtlConfig();
+        config.setTtlMillis(600000L);
+        config.setJitterMillis(60000L);
+        // 模拟配置刷新
+        redisCacheProperties.getTtl().getConfigs().put("order", config);
+        try {
+            String orderNo = RandomStringUtils.random(32, true, true);
+            cacheTestService.query(orderNo);
+            String key = RedisKeyPrefix.CACHE.getKey() + "order:" + orderNo;
+            Assertions.assertThat(redisTemplate.getExpire(key, TimeUnit.SECONDS)).isBetween(590L, 660L);
+
+            // 关闭后直接执行目标方法，不再写缓存
+            config.setEnabled(false);
+            String disabledOrderNo = RandomStringUtils.random(32, true, true);
+            Assertions.assertThat(cacheTestService.query(disabledOrderNo)).isNotNull();
+            Assertions.assertThat(redisTemplate.hasKey(RedisKeyPrefix.CACHE.getKey() + "order:" + disabledOrderNo)).isFalse();
+        } finally {
+            redisCacheProperties.getTtl().getConfigs().remove("order");
+        }
+    }
+
+    @Test
+    void testSoftTtl() throws InterruptedException {
+        String orderNo = RandomStringUtils.random(32, true, true);
+        OrderInfo orderInfo = cacheTestService.queryWithSoftTtl(orderNo);
+        Assertions.assertThat(cacheTestService.queryWithSoftTtl(orderNo).getPrice()).isEqualTo(orderInfo.getPrice());
+
+        // 软过期后，先返回旧值，后台刷新完成后返回新值
+        TimeUnit.MILLISECONDS.sleep(1200);
+        Assertions.assertThat(cacheTestService.queryWithSoftTtl(orderNo).getPrice()).isEqualTo(orderInfo.getPrice());
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assertions.assertThat(cacheTestService.queryWithSoftTtl(orderNo).getPrice()).isNotEqualTo(orderInfo.getPrice());
+
+        String key = RedisKeyPrefix.CACHE.getKey() + "order-soft:" + orderNo;
+        Assertions.assertThat(redisTemplate.getExpire(key, TimeUnit.SECONDS)).isGreaterThan(3000L);
+    }
+
+    @Test
+    void testCacheNull() {
+        String orderNo = RandomStringUtils.random(32, true, true);
+        Assertions.assertThat(cacheTestService.queryNotExists(orderNo)).isNull();
+
+        String key = RedisKeyPrefix.CACHE.getKey() + "order-null:" + orderNo;
+        Assertions.assertThat(redisTemplate.opsForValue().get(key)).isInstanceOf(NullValue.class);
+        Assertions.assertThat(redisTemplate.getExpire(key, TimeUnit.SECONDS)).isLessThanOrEqualTo(60L);
+        Assertions.assertThat(cacheTestService.queryNotExists(orderNo)).isNull();
+    }
+
+    @Test
+    void testBloomFilter() throws InterruptedException {
+        // 过滤器在后台加载，就绪前不拦截
+        for (int i = 0; i < 50 && !bloomFilterRepository.isReady(OrderBloomFilterLoader.NAME); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertThat(bloomFilterRepository.isReady(OrderBloomFilterLoader.NAME)).isTrue();
+        Assertions.assertThat(cacheTestService.queryWithBloomFilter(OrderBloomFilterLoader.EXISTS_ORDER_NO)).isNotNull();
+
+        // 布隆过滤器中不存在的key，不会执行目标方法，因此也不会缓存空值
+        String orderNo = RandomStringUtils.random(32, true, true);
+        Assertions.assertThat(cacheTestService.queryWithBloomFilter(orderNo)).isNull();
+        String key = RedisKeyPrefix.CACHE.getKey() + OrderBloomFilterLoader.NAME + ":" + orderNo;
+        Assertions.assertThat(redisTemplate.hasKey(key)).isFalse();
+
+        // 放入过滤器后不再被拦截；未声明加载器的缓存名称不拦截
+        bloomFilterRepository.add(OrderBloomFilterLoader.NAME, orderNo);
+        Assertions.assertThat(bloomFilterRepository.mightContain(OrderBloomFilterLoader.NAME, orderNo)).isTrue();
+        Assertions.assertThat(bloomFilterRepository.mightContain("order-no-loader", orderNo)).isTrue();
+
+        // 新增数据时通过@CacheEvict放入过滤器；超过32位的后缀与缓存key一样取md5
+        String longOrderNo = RandomStringUtils.random(40, true, true);
+        cacheTestService.createOrderWithBloomFilter(longOrderNo);
+        Assertions.assertThat(bloomFilterRepository.mightContain(OrderBloomFilterLoader.NAME, longOrderNo)).isTrue();
+        Assertions.assertThat(bloomFilterRepository.mightContain(OrderBloomFilterLoader.NAME, DigestUtils.md5Hex(longOrderNo))).isTrue();
+    }
+
+    @Test
+    void testBatchCacheable() {
+        String orderNo1 = RandomStringUtils.random(32, true, true);
+        String orderNo2 = RandomStringUtils.random(32, true, true);
+        String orderNo3 = RandomStringUtils.random(32, true, true);
+        List<OrderInfo> orderInfos = cacheTestService.queryByOrderNos(Arrays.asList(orderNo1, orderNo2));
+        Assertions.assertThat(orderInfos).hasSize(2);
+        Assertions.assertThat(redisTemplate.hasKey(RedisKeyPrefix.CACHE.getKey() + "order-batch:" + orderNo1)).isTrue();
+
+        // 已缓存的元素直接返回缓存，只加载未命中的元素，并按参数顺序返回
+        List<OrderInfo> orderInfos2 = cacheTestService.queryByOrderNos(Arrays.asList(orderNo3, orderNo1, orderNo2, orderNo1));
+        Assertions.assertThat(orderInfos2).extracting(OrderInfo::getOrderNo).containsExactly(orderNo3, orderNo1, orderNo2);
+        Assertions.assertThat(orderInfos2.get(1).getPrice()).isEqualTo(orderInfos.get(0).getPrice());
+        Assertions.assertThat(orderInfos2.get(2).getPrice()).isEqualTo(orderInfos.get(1).getPrice());
+        Assertions.assertThat(redisTemplate.hasKey(RedisKeyPrefix.CACHE.getKey() + "order-batch:" + orderNo3)).isTrue();
+    }
+
+    @Test
+    void testCacheWarmup() throws InterruptedException {
+        String key = RedisKeyPrefix.CACHE.getKey() + "order:" + OrderCacheWarmer.WARMUP_ORDER_NO;
+        redisTemplate.delete(key);
+        cacheWarmupRunner.run(null);
+
+        // 预热的数据直接从缓存返回，不执行目标方法
+        Assertions.assertThat(redisTemplate.hasKey(key)).isTrue();
+        Assertions.assertThat(cacheTestService.query(OrderCacheWarmer.WARMUP_ORDER_NO).getPrice()).isEqualTo(OrderCacheWarmer.WARMUP_PRICE);
+    }
+
+    @Test
+    void testReactiveCacheable() {
+        String orderNo = RandomStringUtils.random(32, true, true);
+        Mono<OrderInfo> orderInfoMono = cacheTestService.queryReactive(orderNo);
+        // 未订阅前不会执行目标方法，也不会写缓存
+        String key = RedisKeyPrefix.CACHE.getKey() + "order-reactive:" + orderNo;
+        Assertions.assertThat(redisTemplate.hasKey(key)).isFalse();
+
+        OrderInfo orderInfo = orderInfoMono.block();
+        Assertions.assertThat(orderInfo).isNotNull();
+        OrderInfo orderInfoCache = (OrderInfo) redisTemplate.opsForValue().get(key);
+        Assertions.assertThat(orderInfoCache).isNotNull();
+        Assertions.assertThat(orderInfoCache.getPrice()).isEqualTo(orderInfo.getPrice());
+        Assertions.assertThat(cacheTestService.queryReactive(orderNo).block().getPrice()).isEqualTo(orderInfo.getPrice());
+
+        List<OrderInfo> orderInfos = cacheTestService.queryReactiveList(orderNo).collectList().block();
+        Assertions.assertThat(orderInfos).hasSize(2);
+        Assertions.assertThat(redisTemplate.hasKey(RedisKeyPrefix.CACHE.getKey() + "order-reactive-list:" + orderNo)).isTrue();
+        Assertions.assertThat(cacheTestService.queryReactiveList(orderNo).collectList().block()).isEqualTo(orderInfos);
+    }
+
+}
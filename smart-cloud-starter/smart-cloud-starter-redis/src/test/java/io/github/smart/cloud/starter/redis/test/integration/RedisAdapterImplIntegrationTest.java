@@ -16,6 +16,8 @@
 package io.github.smart.cloud.starter.redis.test.integration;
 
 import io.github.smart.cloud.starter.redis.adapter.IRedisAdapter;
+import io.github.smart.cloud.starter.redis.adapter.RedisBufferedCounter;
+import io.github.smart.cloud.starter.redis.adapter.RedisResponse;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,15 +27,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class RedisAdapterImplIntegrationTest extends AbstractRedisIntegrationTest {
 
     @Autowired
     private IRedisAdapter redisAdapter;
+    @Autowired
+    private RedisBufferedCounter redisBufferedCounter;
 
     @BeforeEach
     void beforeTest() {
@@ -146,6 +150,86 @@ class RedisAdapterImplIntegrationTest extends AbstractRedisIntegrationTest {
         Assertions.assertThat(islogin).isTrue();
     }
 
+    @Test
+    void testScan() {
+        for (int i = 0; i < 25; i++) {
+            redisAdapter.set("scan:" + i, i, 60000L);
+        }
+        redisAdapter.set("other", "other", 60000L);
+
+        try (Stream<Object> keys = redisAdapter.scan("scan:*", 10)) {
+            Assertions.assertThat(keys.collect(Collectors.toSet())).hasSize(25);
+        }
+    }
+
+    @Test
+    void testUnlinkByPattern() {
+        for (int i = 0; i < 25; i++) {
+            redisAdapter.set("unlink:" + i, i, 60000L);
+        }
+        redisAdapter.set("other", "other", 60000L);
+
+        Assertions.assertThat(redisAdapter.unlinkByPattern("unlink:*", 10)).isEqualTo(25L);
+        Assertions.assertThat(redisAdapter.keys("unlink:*")).isEmpty();
+        Assertions.assertThat(redisAdapter.get("other")).isEqualTo("other");
+    }
+
+    @Test
+    void testMultiGetAndSet() {
+        Map<Object, Object> data = new HashMap<>();
+        data.put("multi1", "value1");
+        data.put("multi2", "value2");
+        Map<Object, Long> expireMillis = new HashMap<>();
+        expireMillis.put("multi1", 60000L);
+        redisAdapter.multiSet(data, expireMillis);
+
+        Assertions.assertThat(redisAdapter.multiGet(Arrays.asList("multi1", "multi3", "multi2"))).containsExactly("value1", null, "value2");
+        Assertions.assertThat(redisAdapter.getExpire("multi1", TimeUnit.SECONDS)).isPositive();
+        Assertions.assertThat(redisAdapter.getExpire("multi2", TimeUnit.SECONDS)).isEqualTo(-1L);
+
+        redisAdapter.multiExpire(Arrays.asList("multi1", "multi2"), 120000L);
+        Assertions.assertThat(redisAdapter.getExpire("multi2", TimeUnit.SECONDS)).isPositive();
+    }
+
+    @Test
+    void testPipeline() {
+        List<RedisResponse<?>> responses = new ArrayList<>();
+        redisAdapter.pipeline(batch -> {
+            batch.set("pipeline1", "value1", 60000L);
+            responses.add(batch.get("pipeline1"));
+            responses.add(batch.increment("pipeline2", 5L));
+            responses.add(batch.putHash("pipeline3", "name", "value3"));
+            responses.add(batch.getHash("pipeline3", "name"));
+            responses.add(batch.unlink("pipeline1"));
+        });
+
+        Assertions.assertThat(responses).extracting(RedisResponse::get).containsExactly("value1", 5L, true, "value3", 1L);
+        Assertions.assertThat(redisAdapter.get("pipeline1")).isNull();
+    }
+
+    @Test
+    void testIncrementBuffered() throws InterruptedException {
+        int threads = 4;
+        int times = 1000;
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                for (int j = 0; j < times; j++) {
+                    redisAdapter.incrementBuffered("counter:view", 1L);
+                    redisAdapter.incrementHashBuffered("counter:like", "item1", 2L);
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        redisBufferedCounter.flush();
+
+        Assertions.assertThat(((Number) redisAdapter.get("counter:view")).longValue()).isEqualTo(threads * times);
+        Assertions.assertThat(((Number) redisAdapter.getHash("counter:like").get("item1")).longValue()).isEqualTo(2L * threads * times);
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
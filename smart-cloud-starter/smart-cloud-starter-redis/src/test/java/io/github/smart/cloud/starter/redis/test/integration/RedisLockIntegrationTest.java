@@ -18,11 +18,18 @@ package io.github.smart.cloud.starter.redis.test.integration;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import io.github.smart.cloud.exception.AcquiredLockFailException;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
 import io.github.smart.cloud.starter.redis.test.prepare.controller.RedisLockController;
 import io.github.smart.cloud.starter.redis.test.prepare.vo.User;
+import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
@@ -30,6 +37,8 @@ class RedisLockIntegrationTest extends AbstractRedisIntegrationTest {
 
     @Autowired
     private RedisLockController redisLockController;
+    @Autowired
+    private RedissonClient redissonClient;
 
     @Test
     void testWithKeyPrefix() {
@@ -87,4 +96,53 @@ class RedisLockIntegrationTest extends AbstractRedisIntegrationTest {
         redisLockController.testWithoutKeyPrefix(user, "13112341234");
     }
 
+    @Test
+    void testReadWriteLock() throws InterruptedException, ExecutionException {
+        Long skuId = 300L;
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            // 读锁之间不互斥
+            Future<String> read1 = executorService.submit(() -> redisLockController.readStock(skuId));
+            Future<String> read2 = executorService.submit(() -> redisLockController.readStock(skuId));
+            TimeUnit.MILLISECONDS.sleep(300);
+
+            // 持有读锁期间，写锁获取失败
+            Assertions.assertThatThrownBy(() -> redisLockController.updateStock(skuId)).isInstanceOf(AcquiredLockFailException.class);
+            Assertions.assertThat(read1.get()).isEqualTo("ok");
+            Assertions.assertThat(read2.get()).isEqualTo("ok");
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assertions.assertThat(redisLockController.updateStock(skuId)).isEqualTo("ok");
+    }
+
+    @Test
+    void testHandoff() throws InterruptedException, ExecutionException {
+        User user = new User();
+        user.setId(200L);
+        int threads = 8;
+        int times = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < times; j++) {
+                        redisLockController.testHandoff(user);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // 本地排队与移交不破坏互斥；全部执行完后分布式锁已释放
+        Assertions.assertThat(redisLockController.getHandoffCount()).isEqualTo(threads * times);
+        Assertions.assertThat(redissonClient.getLock(RedisKeyPrefix.LOCK.getKey() + "test:testHandoff:200").isLocked()).isFalse();
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.integration;
+
+import io.github.smart.cloud.starter.redis.script.RedisScriptRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class RedisScriptRegistryIntegrationTest extends AbstractRedisIntegrationTest {
+
+    private static final String SCRIPT = "return redis.call('incrby', KEYS[1], ARGV[1])";
+
+    @Autowired
+    private RedisScriptRegistry redisScriptRegistry;
+
+    @Test
+    void testRegisterAndExecute() {
+        RedisScript<Long> redisScript = redisScriptRegistry.register("test:incrby", SCRIPT, Long.class);
+        Assertions.assertThat(redisScriptRegistry.register("test:incrby", SCRIPT, Long.class)).isSameAs(redisScript);
+
+        Long result1 = redisScriptRegistry.execute("test:incrby", Collections.singletonList("script:incrby"), 2);
+        Long result2 = redisScriptRegistry.execute("test:incrby", Collections.singletonList("script:incrby"), 3);
+        Assertions.assertThat(result1).isEqualTo(2L);
+        Assertions.assertThat(result2).isEqualTo(5L);
+    }
+
+    /**
+     * 同一标记key重复执行时只累加一次
+     */
+    @Test
+    void testIncrementOnce() {
+        List<Object> keys = Arrays.asList("script:once", "smart:counter:flush:{script:once}:1");
+        Long result1 = redisScriptRegistry.execute(RedisScriptRegistry.INCREMENT_ONCE, keys, 60000L, 5);
+        Long result2 = redisScriptRegistry.execute(RedisScriptRegistry.INCREMENT_ONCE, keys, 60000L, 5);
+        Assertions.assertThat(result1).isEqualTo(1L);
+        Assertions.assertThat(result2).isEqualTo(0L);
+
+        redisScriptRegistry.register("test:incrby", SCRIPT, Long.class);
+        Assertions.assertThat(redisScriptRegistry.<Long>execute("test:incrby", Collections.singletonList("script:once"), 0)).isEqualTo(5L);
+    }
+
+    /**
+     * 一批key共用一个标记key，重复执行时整批只累加一次
+     */
+    @Test
+    void testIncrementBatchOnce() {
+        List<Object> keys = Arrays.asList("smart:counter:flush:{script:batch}:1", "script:batch:a", "script:batch:b");
+        Long result1 = redisScriptRegistry.execute(RedisScriptRegistry.INCREMENT_BATCH_ONCE, keys, 60000L, 2, 0, "", 3, 0, "");
+        Long result2 = redisScriptRegistry.execute(RedisScriptRegistry.INCREMENT_BATCH_ONCE, keys, 60000L, 2, 0, "", 3, 0, "");
+        Assertions.assertThat(result1).isEqualTo(1L);
+        Assertions.assertThat(result2).isEqualTo(0L);
+
+        redisScriptRegistry.register("test:incrby", SCRIPT, Long.class);
+        Assertions.assertThat(redisScriptRegistry.<Long>execute("test:incrby", Collections.singletonList("script:batch:a"), 0)).isEqualTo(2L);
+        Assertions.assertThat(redisScriptRegistry.<Long>execute("test:incrby", Collections.singletonList("script:batch:b"), 0)).isEqualTo(3L);
+    }
+
+    @Test
+    void testRegisterConflict() {
+        redisScriptRegistry.register("test:conflict", "return 1", Long.class);
+        Assertions.assertThatThrownBy(() -> redisScriptRegistry.register("test:conflict", "return 2", Long.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+}
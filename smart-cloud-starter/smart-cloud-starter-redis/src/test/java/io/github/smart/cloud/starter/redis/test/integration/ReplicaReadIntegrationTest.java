@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.integration;
+
+import io.github.smart.cloud.starter.redis.adapter.IRedisAdapter;
+import io.github.smart.cloud.starter.redis.adapter.ReplicaRedisTemplate;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.context.TestPropertySource;
+import redis.embedded.RedisServer;
+
+import java.nio.charset.StandardCharsets;
+
+@TestPropertySource(properties = {"smart.redis.replica.enabled=true", "smart.redis.replica.nodes=localhost:6380"})
+class ReplicaReadIntegrationTest extends AbstractRedisIntegrationTest {
+
+    /**
+     * 从节点端口
+     */
+    private static final int REPLICA_PORT = 6380;
+    private static RedisServer replicaServer;
+
+    @Autowired
+    private IRedisAdapter redisAdapter;
+    @Autowired
+    private RedisTemplate<Object, Object> redisTemplate;
+    @Autowired
+    private ReplicaRedisTemplate replicaRedisTemplate;
+
+    @BeforeAll
+    static void startReplica() {
+        // 从节点可写，便于验证读请求确实路由到了从节点
+        replicaServer = RedisServer.builder()
+                .port(REPLICA_PORT)
+                .slaveOf("localhost", 6379)
+                .setting("slave-read-only no")
+                .setting("maxmemory 128M")
+                .build();
+        replicaServer.start();
+    }
+
+    @AfterAll
+    static void stopReplica() {
+        if (replicaServer.isActive()) {
+            replicaServer.stop();
+        }
+    }
+
+    @Test
+    void testReadFromReplica() throws InterruptedException {
+        // 主节点写入，复制到从节点后可读
+        redisAdapter.set("replica:sync", "master-value", 60000L);
+        Object value = null;
+        for (int i = 0; i < 50 && value == null; i++) {
+            value = redisAdapter.get("replica:sync");
+            if (value == null) {
+                Thread.sleep(100);
+            }
+        }
+        Assertions.assertThat(value).isEqualTo("master-value");
+
+        // 只写入从节点的key，主节点读不到，读操作能读到
+        writeToReplicaOnly("replica:only", "replica-value");
+        Assertions.assertThat(redisTemplate.opsForValue().get("replica:only")).isNull();
+        Assertions.assertThat(redisAdapter.get("replica:only")).isEqualTo("replica-value");
+        Assertions.assertThat(replicaRedisTemplate.opsForValue().get("replica:only")).isEqualTo("replica-value");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeToReplicaOnly(String key, Object value) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory("localhost", REPLICA_PORT);
+        connectionFactory.afterPropertiesSet();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            byte[] rawValue = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+            connection.stringCommands().set(key.getBytes(StandardCharsets.UTF_8), rawValue);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.prepare.cache;
+
+import io.github.smart.cloud.starter.redis.cache.BloomFilterLoader;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+@Component
+public class OrderBloomFilterLoader implements BloomFilterLoader {
+
+    public static final String NAME = "order-bloom";
+    public static final String EXISTS_ORDER_NO = "exists";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void load(Consumer<String> collector) {
+        collector.accept(EXISTS_ORDER_NO);
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.prepare.cache;
+
+import io.github.smart.cloud.starter.redis.cache.CacheWarmer;
+import io.github.smart.cloud.starter.redis.test.prepare.dataobject.OrderInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+@Component
+public class OrderCacheWarmer implements CacheWarmer {
+
+    public static final String WARMUP_ORDER_NO = "warmup";
+    public static final long WARMUP_PRICE = 999L;
+
+    @Override
+    public String getName() {
+        return "order";
+    }
+
+    @Override
+    public long getCacheTtlMillis() {
+        return TimeUnit.HOURS.toMillis(1);
+    }
+
+    @Override
+    public void load(BiConsumer<String, Object> collector) {
+        OrderInfo orderInfo = new OrderInfo();
+        orderInfo.setOrderNo(WARMUP_ORDER_NO);
+        orderInfo.setPrice(WARMUP_PRICE);
+        collector.accept(WARMUP_ORDER_NO, orderInfo);
+    }
+
+}
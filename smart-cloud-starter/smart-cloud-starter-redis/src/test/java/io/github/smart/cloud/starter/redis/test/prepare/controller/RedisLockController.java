@@ -16,6 +16,8 @@
 package io.github.smart.cloud.starter.redis.test.prepare.controller;
 
 import io.github.smart.cloud.starter.redis.annotation.RedisLock;
+import io.github.smart.cloud.starter.redis.annotation.RedisReadLock;
+import io.github.smart.cloud.starter.redis.annotation.RedisWriteLock;
 import io.github.smart.cloud.starter.redis.test.prepare.vo.User;
 import org.springframework.stereotype.Component;
 
@@ -24,6 +26,8 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class RedisLockController {
 
+    private int handoffCount = 0;
+
     @RedisLock(prefix = "test:testWithKeyPrefix:", expressions = {"#mobile", "#user.id"}, waitTime = 10)
     public String testWithKeyPrefix(User user, String mobile) throws InterruptedException {
         TimeUnit.SECONDS.sleep(3);
@@ -35,4 +39,24 @@ public class RedisLockController {
         return "ok";
     }
 
+    @RedisLock(prefix = "test:testHandoff:", expressions = {"#user.id"}, waitTime = 10000, handoff = true)
+    public int testHandoff(User user) {
+        return ++handoffCount;
+    }
+
+    @RedisReadLock(prefix = "test:stock:", expressions = {"#skuId"}, waitTime = 100)
+    public String readStock(Long skuId) throws InterruptedException {
+        TimeUnit.SECONDS.sleep(1);
+        return "ok";
+    }
+
+    @RedisWriteLock(prefix = "test:stock:", expressions = {"#skuId"}, waitTime = 100)
+    public String updateStock(Long skuId) {
+        return "ok";
+    }
+
+    public int getHandoffCount() {
+        return handoffCount;
+    }
+
 }
@@ -18,6 +18,11 @@ package io.github.smart.cloud.starter.redis.test.prepare.service;
 import io.github.smart.cloud.starter.redis.test.prepare.bo.CreateOrderBO;
 import io.github.smart.cloud.starter.redis.test.prepare.dataobject.OrderInfo;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
 public interface ICacheTestService {
 
     /**
@@ -36,4 +41,59 @@ public interface ICacheTestService {
      */
     OrderInfo query(String orderNo);
 
+    /**
+     * 查询订单（软过期）
+     *
+     * @param orderNo
+     * @return
+     */
+    OrderInfo queryWithSoftTtl(String orderNo);
+
+    /**
+     * 查询不存在的订单（缓存空值）
+     *
+     * @param orderNo
+     * @return
+     */
+    OrderInfo queryNotExists(String orderNo);
+
+    /**
+     * 查询订单（布隆过滤器）
+     *
+     * @param orderNo
+     * @return
+     */
+    OrderInfo queryWithBloomFilter(String orderNo);
+
+    /**
+     * 新增订单，并将订单号放入布隆过滤器
+     *
+     * @param orderNo
+     */
+    void createOrderWithBloomFilter(String orderNo);
+
+    /**
+     * 批量查询订单
+     *
+     * @param orderNos
+     * @return
+     */
+    List<OrderInfo> queryByOrderNos(List<String> orderNos);
+
+    /**
+     * 查询订单（响应式）
+     *
+     * @param orderNo
+     * @return
+     */
+    Mono<OrderInfo> queryReactive(String orderNo);
+
+    /**
+     * 查询订单列表（响应式）
+     *
+     * @param orderNo
+     * @return
+     */
+    Flux<OrderInfo> queryReactiveList(String orderNo);
+
 }
\ No newline at end of file
@@ -15,13 +15,19 @@
  */
 package io.github.smart.cloud.starter.redis.test.prepare.service.impl;
 
+import io.github.smart.cloud.starter.redis.annotation.BatchCacheable;
 import io.github.smart.cloud.starter.redis.annotation.CacheEvict;
 import io.github.smart.cloud.starter.redis.annotation.Cacheable;
 import io.github.smart.cloud.starter.redis.test.prepare.bo.CreateOrderBO;
+import io.github.smart.cloud.starter.redis.test.prepare.cache.OrderBloomFilterLoader;
 import io.github.smart.cloud.starter.redis.test.prepare.dataobject.OrderInfo;
 import io.github.smart.cloud.starter.redis.test.prepare.service.ICacheTestService;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -46,4 +52,73 @@ public class CacheTestServiceImpl implements ICacheTestService {
         return orderInfo;
     }
 
-}
\ No newline at end of file
+    @Cacheable(name = "order-soft", expressions = {"#orderNo"}, cacheTtl = 3600, softTtl = 1, cacheUnit = TimeUnit.SECONDS)
+    @Override
+    public OrderInfo queryWithSoftTtl(String orderNo) {
+        OrderInfo orderInfo = new OrderInfo();
+        orderInfo.setOrderNo(orderNo);
+        orderInfo.setPrice(System.nanoTime());
+        return orderInfo;
+    }
+
+    @Cacheable(name = "order-null", expressions = {"#orderNo"}, cacheTtl = 3600, cacheUnit = TimeUnit.SECONDS, cacheNull = true)
+    @Override
+    public OrderInfo queryNotExists(String orderNo) {
+        return null;
+    }
+
+    @Cacheable(name = OrderBloomFilterLoader.NAME, expressions = {"#orderNo"}, cacheTtl = 3600, cacheUnit = TimeUnit.SECONDS, cacheNull = true,
+            bloomFilter = true)
+    @Override
+    public OrderInfo queryWithBloomFilter(String orderNo) {
+        if (!OrderBloomFilterLoader.EXISTS_ORDER_NO.equals(orderNo)) {
+            return null;
+        }
+
+        OrderInfo orderInfo = new OrderInfo();
+        orderInfo.setOrderNo(orderNo);
+        orderInfo.setPrice(100L);
+        return orderInfo;
+    }
+
+    @CacheEvict(name = OrderBloomFilterLoader.NAME, expressions = {"#orderNo"}, bloomFilter = true)
+    @Override
+    public void createOrderWithBloomFilter(String orderNo) {
+    }
+
+    @BatchCacheable(name = "order-batch", resultKey = "orderNo", cacheTtl = 3600, cacheUnit = TimeUnit.SECONDS)
+    @Override
+    public List<OrderInfo> queryByOrderNos(List<String> orderNos) {
+        List<OrderInfo> orderInfos = new ArrayList<>(orderNos.size());
+        for (String orderNo : orderNos) {
+            OrderInfo orderInfo = new OrderInfo();
+            orderInfo.setOrderNo(orderNo);
+            orderInfo.setPrice(System.nanoTime());
+            orderInfos.add(orderInfo);
+        }
+        return orderInfos;
+    }
+
+    @Cacheable(name = "order-reactive", expressions = {"#orderNo"}, cacheTtl = 3600, cacheUnit = TimeUnit.SECONDS)
+    @Override
+    public Mono<OrderInfo> queryReactive(String orderNo) {
+        return Mono.fromSupplier(() -> {
+            OrderInfo orderInfo = new OrderInfo();
+            orderInfo.setOrderNo(orderNo);
+            orderInfo.setPrice(System.nanoTime());
+            return orderInfo;
+        });
+    }
+
+    @Cacheable(name = "order-reactive-list", expressions = {"#orderNo"}, cacheTtl = 3600, cacheUnit = TimeUnit.SECONDS)
+    @Override
+    public Flux<OrderInfo> queryReactiveList(String orderNo) {
+        return Flux.range(0, 2).map(i -> {
+            OrderInfo orderInfo = new OrderInfo();
+            orderInfo.setOrderNo(orderNo);
+            orderInfo.setPrice(System.nanoTime());
+            return orderInfo;
+        });
+    }
+
+}
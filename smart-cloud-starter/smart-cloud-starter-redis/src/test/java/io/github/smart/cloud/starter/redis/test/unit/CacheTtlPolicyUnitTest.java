@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.cache.CacheTtlPolicy;
+import io.github.smart.cloud.starter.redis.properties.CacheTtlProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class CacheTtlPolicyUnitTest {
+
+    @Test
+    void testJitter() {
+        RedisCacheProperties redisCacheProperties = new RedisCacheProperties();
+        redisCacheProperties.getTtl().setJitterPercent(10);
+        CacheTtlPolicy cacheTtlPolicy = new CacheTtlPolicy(redisCacheProperties);
+
+        Set<Long> ttls = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long ttl = cacheTtlPolicy.getTtlMillis("order", 10000L);
+            Assertions.assertThat(ttl).isBetween(10000L, 11000L);
+            ttls.add(ttl);
+        }
+        Assertions.assertThat(ttls.size()).isGreaterThan(1);
+    }
+
+    @Test
+    void testNoJitter() {
+        CacheTtlPolicy cacheTtlPolicy = new CacheTtlPolicy(new RedisCacheProperties());
+        Assertions.assertThat(cacheTtlPolicy.getTtlMillis("order", 10000L)).isEqualTo(10000L);
+        Assertions.assertThat(cacheTtlPolicy.isEnabled("order")).isTrue();
+    }
+
+    @Test
+    void testConfigOverride() {
+        RedisCacheProperties redisCacheProperties = new RedisCacheProperties();
+        redisCacheProperties.getTtl().setJitterPercent(50);
+        CacheTtlProperties.CacheTtlConfig config = new CacheTtlProperties.CacheTtlConfig();
+        config.setTtlMillis(2000L);
+        config.setJitterMillis(100L);
+        redisCacheProperties.getTtl().getConfigs().put("order", config);
+        CacheTtlPolicy cacheTtlPolicy = new CacheTtlPolicy(redisCacheProperties);
+
+        Assertions.assertThat(cacheTtlPolicy.getTtlMillis("order", 10000L)).isBetween(2000L, 2100L);
+        Assertions.assertThat(cacheTtlPolicy.getNullTtlMillis("order", 1000L)).isBetween(1000L, 1100L);
+        Assertions.assertThat(cacheTtlPolicy.getTtlMillis("dict", 10000L)).isBetween(10000L, 15000L);
+
+        // 配置变更在替换快照后生效
+        config.setEnabled(false);
+        Assertions.assertThat(cacheTtlPolicy.isEnabled("order")).isTrue();
+        cacheTtlPolicy.update(redisCacheProperties.getTtl());
+        Assertions.assertThat(cacheTtlPolicy.isEnabled("order")).isFalse();
+        Assertions.assertThat(cacheTtlPolicy.isEnabled("dict")).isTrue();
+    }
+
+    /**
+     * 刷新后已删除的配置项不再生效
+     */
+    @Test
+    void testRemovedConfig() {
+        RedisCacheProperties redisCacheProperties = new RedisCacheProperties();
+        CacheTtlProperties.CacheTtlConfig config = new CacheTtlProperties.CacheTtlConfig();
+        config.setTtlMillis(2000L);
+        redisCacheProperties.getTtl().getConfigs().put("order", config);
+        CacheTtlPolicy cacheTtlPolicy = new CacheTtlPolicy(redisCacheProperties);
+        Assertions.assertThat(cacheTtlPolicy.getTtlMillis("order", 10000L)).isEqualTo(2000L);
+
+        cacheTtlPolicy.update(new CacheTtlProperties());
+        Assertions.assertThat(cacheTtlPolicy.getTtlMillis("order", 10000L)).isEqualTo(10000L);
+    }
+
+}
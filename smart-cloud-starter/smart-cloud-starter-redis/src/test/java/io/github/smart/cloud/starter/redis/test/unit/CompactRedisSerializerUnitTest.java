@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.properties.RedisSerializerProperties;
+import io.github.smart.cloud.starter.redis.serializer.*;
+import io.github.smart.cloud.starter.redis.test.prepare.dataobject.OrderInfo;
+import org.apache.commons.lang3.StringUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.Arrays;
+
+class CompactRedisSerializerUnitTest {
+
+    private static CompactRedisSerializer create(String codec, String compression, int compressThreshold) {
+        RedisSerializerProperties redisSerializerProperties = new RedisSerializerProperties();
+        redisSerializerProperties.setCodec(codec);
+        redisSerializerProperties.setCompression(compression);
+        redisSerializerProperties.setCompressThreshold(compressThreshold);
+        return new CompactRedisSerializer(redisSerializerProperties, Arrays.asList(new JsonRedisValueCodec(), new SmileRedisValueCodec()),
+                Arrays.asList(new DeflateRedisValueCompressor(), new Lz4RedisValueCompressor()));
+    }
+
+    private static OrderInfo createOrderInfo(String orderNo) {
+        OrderInfo orderInfo = new OrderInfo();
+        orderInfo.setOrderNo(orderNo);
+        orderInfo.setPrice(100L);
+        return orderInfo;
+    }
+
+    @Test
+    void testDefaultSameAsLegacyJson() {
+        OrderInfo orderInfo = createOrderInfo("123");
+        byte[] bytes = create(JsonRedisValueCodec.NAME, null, 1024).serialize(orderInfo);
+
+        Assertions.assertThat(bytes).isEqualTo(new GenericJackson2JsonRedisSerializer().serialize(orderInfo));
+    }
+
+    @Test
+    void testRoundTrip() {
+        OrderInfo orderInfo = createOrderInfo(StringUtils.repeat("1234567890", 50));
+        for (String codec : new String[]{JsonRedisValueCodec.NAME, SmileRedisValueCodec.NAME}) {
+            for (String compression : new String[]{null, DeflateRedisValueCompressor.NAME, Lz4RedisValueCompressor.NAME}) {
+                CompactRedisSerializer serializer = create(codec, compression, 64);
+                byte[] bytes = serializer.serialize(orderInfo);
+
+                Assertions.assertThat(serializer.deserialize(bytes)).isEqualTo(orderInfo);
+                Assertions.assertThat(serializer.deserialize(serializer.serialize("abc"))).isEqualTo("abc");
+                Assertions.assertThat(serializer.deserialize(serializer.serialize(null))).isNull();
+            }
+        }
+    }
+
+    @Test
+    void testCompressed() {
+        OrderInfo orderInfo = createOrderInfo(StringUtils.repeat("1234567890", 50));
+        byte[] json = create(JsonRedisValueCodec.NAME, null, 64).serialize(orderInfo);
+        byte[] compressed = create(SmileRedisValueCodec.NAME, Lz4RedisValueCompressor.NAME, 64).serialize(orderInfo);
+
+        Assertions.assertThat(compressed.length).isLessThan(json.length);
+    }
+
+    @Test
+    void testReadMixedFormat() {
+        OrderInfo orderInfo = createOrderInfo("123");
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(orderInfo);
+        byte[] smile = create(SmileRedisValueCodec.NAME, DeflateRedisValueCompressor.NAME, 0).serialize(orderInfo);
+
+        // 任意配置均可读取新旧格式的数据
+        CompactRedisSerializer serializer = create(JsonRedisValueCodec.NAME, null, 1024);
+        Assertions.assertThat(serializer.deserialize(legacy)).isEqualTo(orderInfo);
+        Assertions.assertThat(serializer.deserialize(smile)).isEqualTo(orderInfo);
+    }
+
+}
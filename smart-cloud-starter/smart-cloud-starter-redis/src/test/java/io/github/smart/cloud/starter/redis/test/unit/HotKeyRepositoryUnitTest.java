@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.cache.CacheEvictMessage;
+import io.github.smart.cloud.starter.redis.cache.HotKey;
+import io.github.smart.cloud.starter.redis.cache.HotKeyRepository;
+import io.github.smart.cloud.starter.redis.cache.LocalCacheRepository;
+import io.github.smart.cloud.starter.redis.properties.HotKeyProperties;
+import io.github.smart.cloud.starter.redis.properties.RedisCacheProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.List;
+
+class HotKeyRepositoryUnitTest {
+
+    @Test
+    void testDetectAndDecay() {
+        HotKeyRepository hotKeyRepository = new HotKeyRepository(newProperties(false));
+        try {
+            for (int i = 0; i < 200; i++) {
+                hotKeyRepository.record("product", "cache:product:1");
+            }
+            for (int i = 0; i < 1000; i++) {
+                hotKeyRepository.record("product", "cache:product:cold" + i);
+            }
+
+            List<HotKey> hotKeys = hotKeyRepository.getHotKeys();
+            Assertions.assertThat(hotKeys).extracting(HotKey::getKey).containsExactly("cache:product:1");
+            Assertions.assertThat(hotKeys.get(0).getCount()).isGreaterThanOrEqualTo(200L);
+
+            // 计数减半后仍不低于阈值，多次减半后移出
+            hotKeyRepository.decay();
+            Assertions.assertThat(hotKeyRepository.getHotKeys()).hasSize(1);
+            hotKeyRepository.decay();
+            hotKeyRepository.decay();
+            Assertions.assertThat(hotKeyRepository.getHotKeys()).isEmpty();
+        } finally {
+            hotKeyRepository.destroy();
+        }
+    }
+
+    @Test
+    void testTopK() {
+        HotKeyRepository hotKeyRepository = new HotKeyRepository(newProperties(false));
+        try {
+            for (int k = 0; k < 5; k++) {
+                for (int i = 0; i < 100 + k * 10; i++) {
+                    hotKeyRepository.record("product", "cache:product:" + k);
+                }
+            }
+
+            // 只保留访问次数最多的3个
+            Assertions.assertThat(hotKeyRepository.getHotKeys()).extracting(HotKey::getKey)
+                    .containsExactly("cache:product:4", "cache:product:3", "cache:product:2");
+        } finally {
+            hotKeyRepository.destroy();
+        }
+    }
+
+    @Test
+    void testPromote() {
+        HotKeyRepository hotKeyRepository = new HotKeyRepository(newProperties(true));
+        try {
+            hotKeyRepository.promote("cache:product:1", "value");
+            Assertions.assertThat(hotKeyRepository.getPromoted("cache:product:1")).isNull();
+
+            for (int i = 0; i < 100; i++) {
+                hotKeyRepository.record("product", "cache:product:1");
+            }
+            hotKeyRepository.promote("cache:product:1", "value");
+            Assertions.assertThat(hotKeyRepository.getPromoted("cache:product:1")).isEqualTo("value");
+
+            hotKeyRepository.invalidate("cache:product:1");
+            Assertions.assertThat(hotKeyRepository.getPromoted("cache:product:1")).isNull();
+        } finally {
+            hotKeyRepository.destroy();
+        }
+    }
+
+    @Test
+    void testInvalidateOnEvictMessage() {
+        // 未开启本地缓存，只开启热点key提升时，其他节点的删除广播也要删除本节点提升的热点key
+        RedisCacheProperties redisCacheProperties = new RedisCacheProperties();
+        redisCacheProperties.setHotKey(newProperties(true));
+        HotKeyRepository hotKeyRepository = new HotKeyRepository(redisCacheProperties.getHotKey());
+        RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>();
+        JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+        redisTemplate.setValueSerializer(serializer);
+        LocalCacheRepository localCacheRepository = new LocalCacheRepository(redisCacheProperties, redisTemplate, hotKeyRepository);
+        try {
+            for (int i = 0; i < 100; i++) {
+                hotKeyRepository.record("product", "cache:product:1");
+            }
+            hotKeyRepository.promote("cache:product:1", "value");
+            Assertions.assertThat(hotKeyRepository.getPromoted("cache:product:1")).isEqualTo("value");
+
+            byte[] body = serializer.serialize(new CacheEvictMessage("product", "cache:product:1"));
+            localCacheRepository.onMessage(new DefaultMessage(new byte[0], body), null);
+            Assertions.assertThat(hotKeyRepository.getPromoted("cache:product:1")).isNull();
+        } finally {
+            hotKeyRepository.destroy();
+        }
+    }
+
+    private HotKeyProperties newProperties(boolean promote) {
+        HotKeyProperties hotKeyProperties = new HotKeyProperties();
+        hotKeyProperties.setEnabled(true);
+        hotKeyProperties.setSampleRate(1);
+        hotKeyProperties.setTopK(3);
+        hotKeyProperties.setHotThreshold(50L);
+        hotKeyProperties.setDecayIntervalMillis(60000L);
+        hotKeyProperties.setPromote(promote);
+        return hotKeyProperties;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.metrics.MicrometerRedisMetricsRecorder;
+import io.github.smart.cloud.starter.redis.metrics.RedisMetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class MicrometerRedisMetricsRecorderUnitTest {
+
+    @Test
+    void testLockMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisMetricsRecorder metricsRecorder = new MicrometerRedisMetricsRecorder(meterRegistry);
+        metricsRecorder.recordLockWait("account", TimeUnit.MILLISECONDS.toNanos(5), true);
+        metricsRecorder.recordLockWait("account", TimeUnit.MILLISECONDS.toNanos(5), true);
+        metricsRecorder.recordLockWait("account", TimeUnit.MILLISECONDS.toNanos(100), false);
+        metricsRecorder.recordLockHold("account", TimeUnit.MILLISECONDS.toNanos(20));
+
+        Assertions.assertThat(meterRegistry.get("smart.redis.lock.wait").tags("name", "account", "result", "acquired").timer().count()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.get("smart.redis.lock.wait").tags("name", "account", "result", "failed").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("smart.redis.lock.hold").tag("name", "account").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+    }
+
+    @Test
+    void testCacheMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisMetricsRecorder metricsRecorder = new MicrometerRedisMetricsRecorder(meterRegistry);
+        metricsRecorder.recordCacheGet("order", RedisMetricsRecorder.LOCAL_HIT, 1);
+        metricsRecorder.recordCacheGet("order", RedisMetricsRecorder.REDIS_HIT, 3);
+        metricsRecorder.recordCacheGet("order", RedisMetricsRecorder.MISS, 1);
+        metricsRecorder.recordCacheLoad("order", TimeUnit.MILLISECONDS.toNanos(10));
+        metricsRecorder.recordCacheValueSize("order", 128);
+
+        Assertions.assertThat(meterRegistry.get("smart.redis.cache.gets").tags("name", "order", "result", RedisMetricsRecorder.REDIS_HIT).counter().count())
+                .isEqualTo(3);
+        Assertions.assertThat(meterRegistry.get("smart.redis.cache.gets").tags("name", "order", "result", RedisMetricsRecorder.MISS).counter().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("smart.redis.cache.load").tag("name", "order").timer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("smart.redis.cache.value.size").tag("name", "order").summary().totalAmount()).isEqualTo(128);
+    }
+
+    @Test
+    void testCounterMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisMetricsRecorder metricsRecorder = new MicrometerRedisMetricsRecorder(meterRegistry);
+        metricsRecorder.recordCounterDropped(1);
+        metricsRecorder.recordCounterDropped(2);
+
+        Assertions.assertThat(meterRegistry.get("smart.redis.counter.dropped").counter().count()).isEqualTo(3);
+    }
+
+}
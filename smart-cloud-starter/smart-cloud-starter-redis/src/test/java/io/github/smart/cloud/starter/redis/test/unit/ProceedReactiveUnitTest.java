@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.annotation.Cacheable;
+import io.github.smart.cloud.starter.redis.intercept.AbstractRedisInterceptor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.ReactiveAdapter;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ProceedReactiveUnitTest {
+
+    /**
+     * 重复订阅时仍会经过后续的拦截器
+     */
+    @Test
+    void testResubscribe() {
+        AtomicInteger invokeCount = new AtomicInteger();
+        ProxyFactory proxyFactory = new ProxyFactory(new OrderApiImpl());
+        proxyFactory.addAdvice(new ReactiveInterceptor());
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            invokeCount.incrementAndGet();
+            return invocation.proceed();
+        });
+        OrderApi orderApi = (OrderApi) proxyFactory.getProxy();
+
+        Mono<String> result = orderApi.query();
+        Assertions.assertThat(result.block()).isEqualTo("order");
+        Assertions.assertThat(result.block()).isEqualTo("order");
+        Assertions.assertThat(invokeCount.get()).isEqualTo(2);
+    }
+
+    public interface OrderApi {
+
+        Mono<String> query();
+
+    }
+
+    static class OrderApiImpl implements OrderApi {
+
+        @Override
+        public Mono<String> query() {
+            return Mono.just("order");
+        }
+
+    }
+
+    static class ReactiveInterceptor extends AbstractRedisInterceptor<Cacheable> {
+
+        ReactiveInterceptor() {
+            super(null, Cacheable.class);
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) {
+            ReactiveAdapter reactiveAdapter = getReactiveAdapter(invocation.getMethod());
+            return reactiveAdapter.fromPublisher(proceedReactive(invocation, reactiveAdapter));
+        }
+
+        @Override
+        protected String getKeyName(Cacheable annotation) {
+            return annotation.name();
+        }
+
+        @Override
+        protected String[] getKeyExpressions(Cacheable annotation) {
+            return annotation.expressions();
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.cache.RedisCircuitBreaker;
+import io.github.smart.cloud.starter.redis.properties.CacheCircuitBreakerProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+class RedisCircuitBreakerUnitTest {
+
+    @Test
+    void testOpenAndRecover() throws Exception {
+        CacheCircuitBreakerProperties properties = new CacheCircuitBreakerProperties();
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDurationMillis(200);
+        properties.setHalfOpenCalls(2);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(properties);
+
+        circuitBreaker.execute(() -> "ok");
+        circuitBreaker.execute(() -> "ok");
+        fail(circuitBreaker);
+        Assertions.assertThat(circuitBreaker.isOpen()).isFalse();
+        fail(circuitBreaker);
+        Assertions.assertThat(circuitBreaker.isOpen()).isTrue();
+        Assertions.assertThat(circuitBreaker.allowRequest()).isFalse();
+
+        // 熔断时间过后，放行有限的探测调用
+        Thread.sleep(properties.getOpenDurationMillis() + 50);
+        Assertions.assertThat(circuitBreaker.allowRequest()).isTrue();
+        Assertions.assertThat(circuitBreaker.allowRequest()).isTrue();
+        Assertions.assertThat(circuitBreaker.allowRequest()).isFalse();
+        circuitBreaker.execute(() -> "ok");
+        circuitBreaker.execute(() -> "ok");
+        Assertions.assertThat(circuitBreaker.isOpen()).isFalse();
+        Assertions.assertThat(circuitBreaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void testHalfOpenFailure() throws Exception {
+        CacheCircuitBreakerProperties properties = new CacheCircuitBreakerProperties();
+        properties.setMinimumCalls(1);
+        properties.setOpenDurationMillis(100);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(properties);
+
+        fail(circuitBreaker);
+        Assertions.assertThat(circuitBreaker.isOpen()).isTrue();
+
+        Thread.sleep(properties.getOpenDurationMillis() + 50);
+        Assertions.assertThat(circuitBreaker.allowRequest()).isTrue();
+        fail(circuitBreaker);
+        Assertions.assertThat(circuitBreaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void testIgnoreNonRedisError() {
+        CacheCircuitBreakerProperties properties = new CacheCircuitBreakerProperties();
+        properties.setMinimumCalls(1);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(properties);
+
+        Assertions.assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+            throw new IllegalArgumentException("serialize fail");
+        })).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    void testRecordAsyncResult() {
+        CacheCircuitBreakerProperties properties = new CacheCircuitBreakerProperties();
+        properties.setMinimumCalls(2);
+        properties.setFailureRateThreshold(50);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(properties);
+
+        // 响应式访问redis的结果同样计入熔断器
+        circuitBreaker.recordResult(null, 0L);
+        circuitBreaker.recordResult(new IllegalArgumentException("serialize fail"), 0L);
+        Assertions.assertThat(circuitBreaker.isOpen()).isFalse();
+        circuitBreaker.recordResult(new QueryTimeoutException("redis timeout"), 0L);
+        Assertions.assertThat(circuitBreaker.isOpen()).isFalse();
+        circuitBreaker.recordResult(new QueryTimeoutException("redis timeout"), 0L);
+        Assertions.assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    private void fail(RedisCircuitBreaker circuitBreaker) {
+        Assertions.assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+            throw new QueryTimeoutException("redis timeout");
+        })).isInstanceOf(QueryTimeoutException.class);
+    }
+
+}
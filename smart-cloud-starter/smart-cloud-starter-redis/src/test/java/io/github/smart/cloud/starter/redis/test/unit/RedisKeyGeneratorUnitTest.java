@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.starter.redis.annotation.RedisLock;
+import io.github.smart.cloud.starter.redis.enums.RedisKeyPrefix;
+import io.github.smart.cloud.starter.redis.key.RedisKeyGenerator;
+import io.github.smart.cloud.starter.redis.test.prepare.controller.RedisLockController;
+import io.github.smart.cloud.starter.redis.test.prepare.vo.User;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelEvaluationException;
+
+import java.lang.reflect.Method;
+
+class RedisKeyGeneratorUnitTest {
+
+    @Test
+    void testSimpleExpression() throws NoSuchMethodException {
+        RedisKeyGenerator<RedisLock> keyGenerator = createKeyGenerator("test:testWithKeyPrefix:", "#mobile", "#user.id");
+        Assertions.assertThat(keyGenerator.getName()).isEqualTo("test:testWithKeyPrefix");
+
+        String suffix = keyGenerator.getSuffix(new Object[]{createUser(), "13112341234"});
+        Assertions.assertThat(suffix).isEqualTo("13112341234:100");
+        Assertions.assertThat(keyGenerator.getKey(RedisKeyPrefix.LOCK.getKey(), suffix)).isEqualTo("lock:test:testWithKeyPrefix:13112341234:100");
+    }
+
+    @Test
+    void testSpelExpression() throws NoSuchMethodException {
+        RedisKeyGenerator<RedisLock> keyGenerator = createKeyGenerator("test", "#mobile.substring(0, 3)", "#user.id + 1");
+        Assertions.assertThat(keyGenerator.getSuffix(new Object[]{createUser(), "13112341234"})).isEqualTo("131:101");
+    }
+
+    @Test
+    void testNullProperty() throws NoSuchMethodException {
+        RedisKeyGenerator<RedisLock> keyGenerator = createKeyGenerator("test", "#mobile", "#user.id");
+        Assertions.assertThat(keyGenerator.getSuffix(new Object[]{createUser(), null})).isEqualTo("null:100");
+        Assertions.assertThatExceptionOfType(SpelEvaluationException.class).isThrownBy(() -> keyGenerator.getSuffix(new Object[]{null, "13112341234"}));
+    }
+
+    @Test
+    void testDefaultNameAndMd5() throws NoSuchMethodException {
+        RedisKeyGenerator<RedisLock> keyGenerator = createKeyGenerator("", "#mobile", "#user.id");
+        Assertions.assertThat(keyGenerator.getName()).isEqualTo("redislockcontroller:testwithkeyprefix");
+
+        String mobile = "123456789012345678901234567890";
+        String suffix = keyGenerator.getSuffix(new Object[]{createUser(), mobile});
+        Assertions.assertThat(suffix).isEqualTo(DigestUtils.md5Hex(mobile + ":100"));
+    }
+
+    private RedisKeyGenerator<RedisLock> createKeyGenerator(String name, String... expressions) throws NoSuchMethodException {
+        Method method = RedisLockController.class.getMethod("testWithKeyPrefix", User.class, String.class);
+        return new RedisKeyGenerator<>(method.getAnnotation(RedisLock.class), name, expressions, method);
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setId(100L);
+        user.setMobile("18700000000");
+        return user;
+    }
+
+}
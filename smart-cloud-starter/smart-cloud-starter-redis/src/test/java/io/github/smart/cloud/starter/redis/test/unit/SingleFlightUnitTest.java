@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2019 collin (1634753825@qq.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.smart.cloud.starter.redis.test.unit;
+
+import io.github.smart.cloud.exception.AcquiredLockFailException;
+import io.github.smart.cloud.starter.redis.cache.SingleFlight;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightUnitTest {
+
+    @Test
+    void testConcurrentLoadOnce() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loadCount = new AtomicInteger();
+        int threadCount = 50;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Object>> futures = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    try {
+                        return singleFlight.execute("key", 5, TimeUnit.SECONDS, () -> {
+                            loadCount.incrementAndGet();
+                            TimeUnit.MILLISECONDS.sleep(500);
+                            return "value";
+                        });
+                    } catch (Throwable e) {
+                        throw new ExecutionException(e);
+                    }
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<Object> future : futures) {
+                Assertions.assertThat(future.get()).isEqualTo("value");
+            }
+            Assertions.assertThat(loadCount.get()).isEqualTo(1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testException() {
+        SingleFlight singleFlight = new SingleFlight();
+        Assertions.assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> singleFlight.execute("key", 1, TimeUnit.SECONDS, () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    void testWaitTimeout() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch loadingLatch = new CountDownLatch(1);
+        Thread loader = new Thread(() -> {
+            try {
+                singleFlight.execute("key", 1, TimeUnit.SECONDS, () -> {
+                    loadingLatch.countDown();
+                    TimeUnit.SECONDS.sleep(2);
+                    return "value";
+                });
+            } catch (Throwable e) {
+                // ignore
+            }
+        });
+        loader.start();
+        loadingLatch.await();
+
+        Assertions.assertThatExceptionOfType(AcquiredLockFailException.class)
+                .isThrownBy(() -> singleFlight.execute("key", 100, TimeUnit.MILLISECONDS, () -> "other"));
+        loader.join();
+    }
+
+}